@@ -8,17 +8,120 @@ import com.pleased.ticket.dispatcher.server.filter.CorrelationIdFilter;
 import com.pleased.ticket.dispatcher.server.filter.IdempotencyFilter;
 import com.pleased.ticket.dispatcher.server.filter.JwtAuthenticationFilter;
 import com.pleased.ticket.dispatcher.server.filter.LoggingFilter;
+import com.pleased.ticket.dispatcher.server.filter.PersistenceWaitFilter;
+import com.pleased.ticket.dispatcher.server.filter.RequestIdFilter;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.IdempotencyStore;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.InMemoryIdempotencyStore;
+import com.pleased.ticket.dispatcher.server.filter.logging.JsonMasker;
+import com.pleased.ticket.dispatcher.server.filter.logging.RouteSampler;
+import com.pleased.ticket.dispatcher.server.repository.TicketRepository;
+import com.pleased.ticket.dispatcher.server.service.ImportJobRegistry;
+import com.pleased.ticket.dispatcher.server.service.KafkaSendBatcher;
+import com.pleased.ticket.dispatcher.server.service.PersistenceAwaitRegistry;
+import com.pleased.ticket.dispatcher.server.service.ProjectEventFeed;
+import com.pleased.ticket.dispatcher.server.service.TicketCache;
+import com.pleased.ticket.dispatcher.server.service.TicketCounters;
+import com.pleased.ticket.dispatcher.server.service.TicketCreateIdempotency;
+import com.pleased.ticket.dispatcher.server.service.TicketSearchIndex;
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
 import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
 import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.UUID;
 
 @Configuration
-public class ApplicationConfig {
+public class ApplicationConfig implements WebFluxConfigurer {
+
+    @Value("${logging.http.sample-rate:1.0}")
+    private double logSampleRate;
+
+    @Value("${logging.http.route-sample-rates:}")
+    private String logRouteSampleRates;
+
+    @Value("${logging.http.max-body-bytes:1024}")
+    private int logMaxBodyBytes;
+
+    @Value("${logging.http.queue-capacity:8192}")
+    private int logQueueCapacity;
+
+    @Value("${logging.http.masked-fields:description,email}")
+    private String logMaskedFields;
+
+    @Value("${tickets.create-idempotency.max-entries:100000}")
+    private long createIdempotencyMaxEntries;
+
+    @Value("${tickets.create-idempotency.ttl-seconds:86400}")
+    private long createIdempotencyTtlSeconds;
+
+    @Value("${imports.jobs.max-entries:1000}")
+    private long importJobsMaxEntries;
+
+    @Value("${imports.jobs.ttl-seconds:86400}")
+    private long importJobsTtlSeconds;
+
+    @Value("${tickets.cache.max-entries:10000}")
+    private long ticketCacheMaxEntries;
+
+    @Value("${tickets.cache.ttl-seconds:300}")
+    private long ticketCacheTtlSeconds;
+
+    @Value("${tickets.cache.not-found-ttl-seconds:5}")
+    private long ticketCacheNotFoundTtlSeconds;
+
+    @Value("${tickets.feed.subscriber-buffer:256}")
+    private int feedSubscriberBuffer;
+
+    @Value("${tickets.feed.overflow:DROP_OLDEST}")
+    private ProjectEventFeed.Overflow feedOverflow;
+
+    @Value("${tickets.counters.flush-ms:1000}")
+    private long ticketCountersFlushMillis;
+
+    @Value("${tickets.counters.rebuild-quiet-ms:5000}")
+    private long ticketCountersRebuildQuietMillis;
+
+    @Value("${tickets.search.snapshot-path:ticket-search.idx}")
+    private String searchSnapshotPath;
+
+    @Value("${tickets.search.snapshot-interval-seconds:300}")
+    private long searchSnapshotIntervalSeconds;
+
+    @Value("${tickets.search.catch-up-margin-seconds:300}")
+    private long searchCatchUpMarginSeconds;
+
+    @Value("${kafka.producer.batching.max-batch-size:256}")
+    private int producerBatchMaxSize;
+
+    @Value("${kafka.producer.batching.max-delay-ms:5}")
+    private long producerBatchMaxDelayMillis;
+
+    @Value("${kafka.producer.batching.queue-capacity:10000}")
+    private int producerBatchQueueCapacity;
+
+    @Value("${tickets.persistence-wait.max-ms:5000}")
+    private long persistenceWaitMaxMillis;
+
+    @Value("${tickets.persistence-wait.max-pending:10000}")
+    private int persistenceWaitMaxPending;
 
     /**
      * Shared global object mapper.
@@ -35,16 +138,23 @@ public class ApplicationConfig {
     /**
      * Global REST Reactive Filters.
      */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)  // Request ID is needed by every later filter
+    public RequestIdFilter requestIdFilter() {
+        return new RequestIdFilter();
+    }
+
     @Bean
     @Order(1)
-    public LoggingFilter loggingFilter() {
-        return new LoggingFilter();
+    public LoggingFilter loggingFilter(MeterRegistry meterRegistry) {
+        return new LoggingFilter(RouteSampler.parse(logSampleRate, logRouteSampleRates),
+                logMaxBodyBytes, logQueueCapacity, JsonMasker.parse(logMaskedFields), meterRegistry);
     }
 
     @Bean
     @Order(2)
-    public IdempotencyFilter idempotencyFilter() {
-        return new IdempotencyFilter();
+    public IdempotencyFilter idempotencyFilter(IdempotencyStore idempotencyStore) {
+        return new IdempotencyFilter(idempotencyStore);
     }
 
     @Bean
@@ -54,11 +164,98 @@ public class ApplicationConfig {
     }
 
     @Bean
-    @Order(-100)  // High priority to run early in the filter chain
+    @Order(4)  // After the idempotency filter, replays are never held
+    public PersistenceWaitFilter persistenceWaitFilter(PersistenceAwaitRegistry persistenceAwaitRegistry) {
+        return new PersistenceWaitFilter(persistenceAwaitRegistry, Duration.ofMillis(persistenceWaitMaxMillis));
+    }
+
+    @Bean
+    @Order(-99)  // Right after the Spring Security chain (-100), which verifies the token
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
         return new JwtAuthenticationFilter();
     }
 
+    /**
+     * Progress of the ticket imports run by this node.
+     */
+    @Bean
+    public ImportJobRegistry importJobRegistry(MeterRegistry meterRegistry) {
+        return new ImportJobRegistry(importJobsMaxEntries, Duration.ofSeconds(importJobsTtlSeconds), meterRegistry);
+    }
+
+    /**
+     * Idempotency keys of the batch and import items, per node in a store of their own: a large import must not
+     * evict the responses replayed by the idempotency filter.
+     */
+    @Bean
+    public TicketCreateIdempotency ticketCreateIdempotency(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new TicketCreateIdempotency(new InMemoryIdempotencyStore(TicketCreateIdempotency.CACHE_NAME,
+                createIdempotencyMaxEntries, Duration.ofSeconds(createIdempotencyTtlSeconds), meterRegistry), objectMapper);
+    }
+
+    /**
+     * Tickets served by the read endpoints.
+     */
+    @Bean
+    public TicketCache ticketCache(TicketRepository ticketRepository, MeterRegistry meterRegistry) {
+        return new TicketCache(ticketRepository, ticketCacheMaxEntries, Duration.ofSeconds(ticketCacheTtlSeconds),
+                Duration.ofSeconds(ticketCacheNotFoundTtlSeconds), meterRegistry);
+    }
+
+    /**
+     * Ticket counts per project and assignee, the changes of this node are written on an interval.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public TicketCounters ticketCounters(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        return new TicketCounters(databaseClient, transactionalOperator, Duration.ofMillis(ticketCountersFlushMillis),
+                Duration.ofMillis(ticketCountersRebuildQuietMillis));
+    }
+
+    /**
+     * Full-text index of the ticket subjects and descriptions, loaded from its snapshot once the application is ready.
+     */
+    @Bean(destroyMethod = "stop")
+    public TicketSearchIndex ticketSearchIndex(TicketRepository ticketRepository) {
+        return new TicketSearchIndex(ticketRepository, Paths.get(searchSnapshotPath),
+                Duration.ofSeconds(searchSnapshotIntervalSeconds), Duration.ofSeconds(searchCatchUpMarginSeconds));
+    }
+
+    /**
+     * Event sends of every request batched through one pipeline, only when enabled.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "kafka.producer.batching.enabled", havingValue = "true")
+    public KafkaSendBatcher kafkaSendBatcher(ReactiveKafkaProducerTemplate<ByteBuffer, Object> reactiveKafkaProducerTemplate,
+                                             MeterRegistry meterRegistry) {
+        return new KafkaSendBatcher(reactiveKafkaProducerTemplate, producerBatchMaxSize,
+                Duration.ofMillis(producerBatchMaxDelayMillis), producerBatchQueueCapacity, meterRegistry);
+    }
+
+    /**
+     * Events that write requests wait on until they are saved.
+     */
+    @Bean
+    public PersistenceAwaitRegistry persistenceAwaitRegistry(MeterRegistry meterRegistry) {
+        return new PersistenceAwaitRegistry(persistenceWaitMaxPending, meterRegistry);
+    }
+
+    /**
+     * Project events pushed to the SSE subscribers of this node.
+     */
+    @Bean
+    public ProjectEventFeed projectEventFeed(MeterRegistry meterRegistry) {
+        return new ProjectEventFeed(feedSubscriberBuffer, feedOverflow, meterRegistry);
+    }
+
+    /**
+     * Request UUIDs (headers, path variables) parsed by the shared codec; blank values stay null as by default.
+     */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, UUID.class,
+                source -> StringUtils.hasText(source) ? UUIDCodec.parse(source.trim()) : null);
+    }
+
     /**
      * DB schema initializer on startup.
      */
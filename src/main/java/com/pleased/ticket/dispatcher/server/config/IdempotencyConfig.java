@@ -0,0 +1,161 @@
+package com.pleased.ticket.dispatcher.server.config;
+
+import com.pleased.ticket.dispatcher.server.filter.idempotency.IdempotencyStore;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.InMemoryIdempotencyStore;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.JournalIdempotencyStore;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.NearCachingIdempotencyStore;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.R2dbcIdempotencyStore;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.RedisIdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Idempotency store selection, driven by {@code idempotency.store}.
+ * <p>
+ * {@code memory} (default) keeps responses on the local node only.
+ * {@code journal} keeps them on the local node in memory-mapped files, so they survive a restart.
+ * {@code r2dbc} and {@code redis} share responses across nodes and are fronted by a small near cache.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    public static final String NEAR_CACHE_NAME = "idempotency.near";
+
+    @Value("${idempotency.cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${idempotency.cache.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    /**
+     * Local bounded store, per node.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(MeterRegistry meterRegistry) {
+        return new InMemoryIdempotencyStore(maxEntries, Duration.ofSeconds(ttlSeconds), meterRegistry);
+    }
+
+    /**
+     * Local store on memory-mapped journal segments.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "journal")
+    public static class JournalStoreConfig {
+
+        private static final int MAX_SEGMENT_SIZE_MB = Integer.MAX_VALUE / (1024 * 1024);
+
+        @Value("${idempotency.cache.ttl-seconds:86400}")
+        private long ttlSeconds;
+
+        @Value("${idempotency.journal.directory:./data/idempotency}")
+        private String directory;
+
+        @Value("${idempotency.journal.segment-size-mb:64}")
+        private int segmentSizeMb;
+
+        @Value("${idempotency.journal.compaction-interval-seconds:300}")
+        private long compactionIntervalSeconds;
+
+        @Bean(initMethod = "start", destroyMethod = "stop")
+        public IdempotencyStore journalIdempotencyStore() {
+            // Segments are mapped and addressed with int offsets
+            if (segmentSizeMb < 1 || segmentSizeMb > MAX_SEGMENT_SIZE_MB) {
+                throw new IllegalStateException("idempotency.journal.segment-size-mb must be between 1 and "
+                        + MAX_SEGMENT_SIZE_MB + ", was " + segmentSizeMb);
+            }
+            return new JournalIdempotencyStore(Paths.get(directory), segmentSizeMb * 1024 * 1024,
+                    Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(compactionIntervalSeconds));
+        }
+    }
+
+    /**
+     * Shared store on the application database.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "r2dbc")
+    public static class R2dbcStoreConfig extends NearCachedStoreConfig {
+
+        @Value("${idempotency.r2dbc.purge-interval-seconds:300}")
+        private long purgeIntervalSeconds;
+
+        @Bean(initMethod = "start", destroyMethod = "stop")
+        public R2dbcIdempotencyStore r2dbcIdempotencyStore(DatabaseClient databaseClient) {
+            return new R2dbcIdempotencyStore(databaseClient,
+                    Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(purgeIntervalSeconds));
+        }
+
+        @Bean
+        @Primary
+        public IdempotencyStore idempotencyStore(R2dbcIdempotencyStore r2dbcIdempotencyStore, MeterRegistry meterRegistry) {
+            return new NearCachingIdempotencyStore(nearCache(meterRegistry), r2dbcIdempotencyStore);
+        }
+    }
+
+    /**
+     * Shared store on a Redis compatible server.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "redis")
+    public static class RedisStoreConfig extends NearCachedStoreConfig {
+
+        @Value("${idempotency.redis.host:localhost}")
+        private String host;
+
+        @Value("${idempotency.redis.port:6379}")
+        private int port;
+
+        @Bean
+        public LettuceConnectionFactory idempotencyRedisConnectionFactory() {
+            return new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        }
+
+        @Bean
+        public ReactiveRedisTemplate<String, byte[]> idempotencyRedisTemplate(LettuceConnectionFactory idempotencyRedisConnectionFactory) {
+            RedisSerializationContext<String, byte[]> serializationContext = RedisSerializationContext
+                    .<String, byte[]>newSerializationContext(RedisSerializer.string())
+                    .value(RedisSerializer.byteArray())
+                    .build();
+            return new ReactiveRedisTemplate<>(idempotencyRedisConnectionFactory, serializationContext);
+        }
+
+        @Bean
+        public IdempotencyStore idempotencyStore(ReactiveRedisTemplate<String, byte[]> idempotencyRedisTemplate, MeterRegistry meterRegistry) {
+            return new NearCachingIdempotencyStore(nearCache(meterRegistry),
+                    new RedisIdempotencyStore(idempotencyRedisTemplate, Duration.ofSeconds(ttlSeconds)));
+        }
+    }
+
+    /**
+     * Settings shared by the remote stores.
+     */
+    abstract static class NearCachedStoreConfig {
+
+        @Value("${idempotency.cache.ttl-seconds:86400}")
+        protected long ttlSeconds;
+
+        @Value("${idempotency.near-cache.max-entries:1000}")
+        private long nearCacheMaxEntries;
+
+        @Value("${idempotency.near-cache.ttl-seconds:60}")
+        private long nearCacheTtlSeconds;
+
+        protected InMemoryIdempotencyStore nearCache(MeterRegistry meterRegistry) {
+            return new InMemoryIdempotencyStore(NEAR_CACHE_NAME, nearCacheMaxEntries,
+                    Duration.ofSeconds(nearCacheTtlSeconds), meterRegistry);
+        }
+    }
+}
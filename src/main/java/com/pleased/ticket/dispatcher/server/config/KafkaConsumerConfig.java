@@ -2,10 +2,12 @@ package com.pleased.ticket.dispatcher.server.config;
 
 import com.pleased.ticket.dispatcher.server.model.events.TicketAssigned;
 import com.pleased.ticket.dispatcher.server.model.events.TicketCreated;
+import com.pleased.ticket.dispatcher.server.model.events.TicketDetailsUpdated;
 import com.pleased.ticket.dispatcher.server.model.events.TicketStatusUpdated;
 import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import io.confluent.kafka.serializers.KafkaAvroDeserializerConfig;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecord;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -20,6 +22,7 @@ import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.util.backoff.FixedBackOff;
 import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverPartition;
 
 import java.nio.ByteBuffer;
 import java.time.Duration;
@@ -217,4 +220,47 @@ public class KafkaConsumerConfig {
 
         return new ReactiveKafkaConsumerTemplate<>(receiverOptions);
     }
+
+    /**
+     * Reactive Kafka consumer template for TicketDetailsUpdated events
+     * Control concurrency at the processing level, not consumer level
+     */
+    @Bean
+    public ReactiveKafkaConsumerTemplate<ByteBuffer, TicketDetailsUpdated> reactiveTicketDetailsConsumer() {
+        Map<String, Object> props = getBaseConsumerProperties("ticket-service-details-consumer-reactive");
+
+        ReceiverOptions<ByteBuffer, TicketDetailsUpdated> receiverOptions = ReceiverOptions
+                .<ByteBuffer, TicketDetailsUpdated>create(props)
+                .subscription(Collections.singleton(KafkaTopicConfig.TICKET_DETAILS_TOPIC))
+                .addAssignListener(partitions ->
+                        log.info("Reactive ticket details consumer assigned partitions: {}", partitions))
+                .addRevokeListener(partitions ->
+                        log.info("Reactive ticket details consumer revoked partitions: {}", partitions))
+                .commitInterval(Duration.ofSeconds(5))
+                .commitBatchSize(100);
+
+        return new ReactiveKafkaConsumerTemplate<>(receiverOptions);
+    }
+
+    /**
+     * Reactive Kafka receiver options for the project event feed, over the created, assignment and update topics.
+     * Every node reads every event: the partitions are assigned manually and read from their end, without a consumer
+     * group, so nothing is left behind on the broker when a node goes away. The partitions are looked up by
+     * {@link com.pleased.ticket.dispatcher.server.service.ProjectEventFeedConsumer} once the topics exist.
+     */
+    @Bean
+    public ReceiverOptions<ByteBuffer, SpecificRecord> projectFeedReceiverOptions() {
+        Map<String, Object> props = getBaseConsumerProperties(null);
+        props.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        return ReceiverOptions
+                .<ByteBuffer, SpecificRecord>create(props)
+                .addAssignListener(assigned -> {
+                    log.info("Project feed consumer assigned partitions: {}", assigned);
+                    assigned.forEach(ReceiverPartition::seekToEnd);
+                })
+                // No group to commit to
+                .commitInterval(Duration.ZERO);
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.pleased.ticket.dispatcher.server.config;
 
 import com.pleased.ticket.dispatcher.server.model.events.TicketAssigned;
 import com.pleased.ticket.dispatcher.server.model.events.TicketCreated;
+import com.pleased.ticket.dispatcher.server.model.events.TicketDetailsUpdated;
 import com.pleased.ticket.dispatcher.server.model.events.TicketStatusUpdated;
 import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
@@ -30,6 +31,7 @@ public class KafkaTopicConfig {
     public static final String TICKET_CREATE_TOPIC = "ticket-create.v1";
     public static final String TICKET_ASSIGNMENTS_TOPIC = "ticket-assignments.v1";
     public static final String TICKET_UPDATES_TOPIC = "ticket-updates.v1";
+    public static final String TICKET_DETAILS_TOPIC = "ticket-details.v1";
 
     public static final Map<String, String> EVENT_TYPE_MAP;
     static {
@@ -37,6 +39,7 @@ public class KafkaTopicConfig {
         temp.put(TICKET_CREATE_TOPIC, "TicketCreated");
         temp.put(TICKET_ASSIGNMENTS_TOPIC, "TicketAssigned");
         temp.put(TICKET_UPDATES_TOPIC, "TicketStatusUpdated");
+        temp.put(TICKET_DETAILS_TOPIC, "TicketDetailsUpdated");
         EVENT_TYPE_MAP = Collections.unmodifiableMap(temp);
     }
 
@@ -70,6 +73,16 @@ public class KafkaTopicConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic ticketDetailsTopic() {
+        return TopicBuilder.name(TICKET_DETAILS_TOPIC)
+                .partitions(12)
+                .replicas(1)
+                .config(TopicConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+                .config(TopicConfig.SEGMENT_MS_CONFIG, "600000")
+                .build();
+    }
+
     /**
      * Avro Schema registration
      */
@@ -80,6 +93,7 @@ public class KafkaTopicConfig {
         register(TICKET_CREATE_TOPIC + "-value", TicketCreated.SCHEMA$);
         register(TICKET_ASSIGNMENTS_TOPIC + "-value", TicketAssigned.SCHEMA$);
         register(TICKET_UPDATES_TOPIC + "-value", TicketStatusUpdated.SCHEMA$);
+        register(TICKET_DETAILS_TOPIC + "-value", TicketDetailsUpdated.SCHEMA$);
     }
 
     private void register(String subject, Schema schema) throws IOException, RestClientException {
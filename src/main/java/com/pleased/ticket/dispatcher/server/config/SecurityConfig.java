@@ -1,17 +1,29 @@
 package com.pleased.ticket.dispatcher.server.config;
 
+import com.pleased.ticket.dispatcher.server.security.AlgorithmDispatchingJwtDecoder;
+import com.pleased.ticket.dispatcher.server.security.CachingReactiveJwtDecoder;
+import com.pleased.ticket.dispatcher.server.security.HmacJwtDecoder;
+import com.pleased.ticket.dispatcher.server.security.JwksJwtDecoder;
+import com.pleased.ticket.dispatcher.server.security.JwksKeySource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
-import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.util.StringUtils;
 
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 @Profile("!test") // active when NOT in test
 @Configuration
@@ -19,30 +31,98 @@ import java.nio.charset.StandardCharsets;
 public class SecurityConfig {
 
     public static final String JWT_SECRET = "a-string-secret-at-least-256-bits-long";
+    /**
+     * Authority of the {@code admin} token scope, needed by the cluster-wide operations.
+     */
+    public static final String ADMIN_AUTHORITY = "SCOPE_admin";
+
+    @Value("${security.jwt.cache.enabled:true}")
+    private boolean jwtCacheEnabled;
+
+    @Value("${security.jwt.cache.max-entries:10000}")
+    private long jwtCacheMaxEntries;
+
+    @Value("${security.jwt.cache.max-ttl-seconds:3600}")
+    private long jwtCacheMaxTtlSeconds;
+
+    @Value("${security.jwt.jwks.location:}")
+    private String jwksLocation;
+
+    @Value("${security.jwt.jwks.refresh-interval-seconds:300}")
+    private long jwksRefreshIntervalSeconds;
+
+    @Value("${security.jwt.hmac.enabled:false}")
+    private boolean hmacEnabled;
+
+    @Value("${security.jwt.hmac.secret:}")
+    private String hmacSecret;
 
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ReactiveJwtDecoder jwtDecoder) {
         return http
                 .csrf().disable()
                 .authorizeExchange(exchanges -> exchanges
+                        // Rewrites the counts of the whole cluster
+                        .pathMatchers(HttpMethod.POST, "/api/v1/ticket-counts:rebuild").hasAuthority(ADMIN_AUTHORITY)
                         .pathMatchers("/api/v1/**").authenticated()
                         .anyExchange().permitAll()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt ->
-                                jwt.jwtDecoder(jwtDecoder()))
+                                jwt.jwtDecoder(jwtDecoder))
                 )
                 .build();
     }
 
+    /**
+     * Identity provider keys, when {@code security.jwt.jwks.location} is set (file:, classpath: or http(s): location).
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "security.jwt.jwks.location")
+    public JwksKeySource jwksKeySource(ResourceLoader resourceLoader) {
+        return new JwksKeySource(resourceLoader.getResource(jwksLocation), Duration.ofSeconds(jwksRefreshIntervalSeconds));
+    }
+
+    /**
+     * Token decoder, fronted by a cache of verified tokens unless {@code security.jwt.cache.enabled=false}.
+     * Without a JWKS source, HS256 tokens are checked against the shared secret. With one, only RS256/ES256 tokens are
+     * accepted, unless HS256 is kept with {@code security.jwt.hmac.enabled} and its own {@code security.jwt.hmac.secret}.
+     */
     @Bean
-    public ReactiveJwtDecoder jwtDecoder() {
-        byte[] secretBytes = JWT_SECRET.getBytes(StandardCharsets.UTF_8);
+    public ReactiveJwtDecoder jwtDecoder(MeterRegistry meterRegistry, ObjectProvider<JwksKeySource> jwksKeySource) {
+        ReactiveJwtDecoder decoder = signatureDecoder(jwksKeySource.getIfAvailable(), hmacEnabled, hmacSecret);
+        if (!jwtCacheEnabled) {
+            return decoder;
+        }
+        return new CachingReactiveJwtDecoder(decoder, jwtCacheMaxEntries,
+                Duration.ofSeconds(jwtCacheMaxTtlSeconds), meterRegistry);
+    }
 
-        return NimbusReactiveJwtDecoder.withSecretKey(
-                        new SecretKeySpec(secretBytes, "HmacSHA256")
-                )
-                .macAlgorithm(MacAlgorithm.HS256)
-                .build();
+    static ReactiveJwtDecoder signatureDecoder(JwksKeySource jwksKeySource, boolean hmacEnabled, String hmacSecret) {
+        if (jwksKeySource == null) {
+            return StringUtils.hasText(hmacSecret)
+                    ? new HmacJwtDecoder(hmacSecret.getBytes(StandardCharsets.UTF_8))
+                    : hmacJwtDecoder();
+        }
+        Map<String, ReactiveJwtDecoder> decoders = new HashMap<>();
+        // The built-in secret is public, it never verifies tokens next to the identity provider keys
+        if (hmacEnabled) {
+            if (!StringUtils.hasText(hmacSecret)) {
+                throw new IllegalStateException("security.jwt.hmac.secret is required when security.jwt.hmac.enabled is set");
+            }
+            decoders.put(HmacJwtDecoder.ALGORITHM, new HmacJwtDecoder(hmacSecret.getBytes(StandardCharsets.UTF_8)));
+        }
+        JwksJwtDecoder jwksJwtDecoder = new JwksJwtDecoder(jwksKeySource);
+        for (String algorithm : JwksJwtDecoder.ALGORITHMS) {
+            decoders.put(algorithm, jwksJwtDecoder);
+        }
+        return new AlgorithmDispatchingJwtDecoder(decoders);
+    }
+
+    /**
+     * HS256 decoder on the built-in shared secret, only used without a JWKS source.
+     */
+    static ReactiveJwtDecoder hmacJwtDecoder() {
+        return new HmacJwtDecoder(JWT_SECRET.getBytes(StandardCharsets.UTF_8));
     }
 }
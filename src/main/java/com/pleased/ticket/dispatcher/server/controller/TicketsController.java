@@ -62,6 +62,33 @@ public class TicketsController {
                 .map(response -> ResponseEntity.ok(response));
     }
 
+    @ApiOperation(value = "Create a batch of tickets", nickname = "createTickets", notes = "Each item carries its own idempotency key; the outcome of every item is reported in request order.", response = TicketBatchCreateResponse.class, authorizations = {
+            @Authorization(value = "jwt"),
+            @Authorization(value = "oauth2", scopes = {
+                    @AuthorizationScope(scope = "read", description = "Read access"),
+                    @AuthorizationScope(scope = "write", description = "Write access")
+            })
+    }, tags = {"Tickets"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Batch processed", response = TicketBatchCreateResponse.class)
+    })
+    @PostMapping(value = "/tickets:batch",
+            produces = {"application/json"},
+            consumes = {"application/json"})
+    public Mono<ResponseEntity<TicketBatchCreateResponse>> createTickets(
+            @ApiParam(value = "", required = true)
+            @Valid @RequestBody TicketBatchCreateRequest body,
+
+            @ApiParam(value = "")
+            @RequestHeader(value = "X-Correlation-ID", required = false) UUID xCorrelationID,
+
+            @ApiParam(value = "")
+            @RequestHeader(value = "User-Agent", required = false) String userAgent) {
+
+        return ticketsDelegate.createTickets(body, xCorrelationID, userAgent)
+                .map(response -> ResponseEntity.ok(response));
+    }
+
     @ApiOperation(value = "Assign a ticket to a user", nickname = "assignTicket", notes = "", response = TicketAssignmentResponse.class, authorizations = {
             @Authorization(value = "jwt"),
             @Authorization(value = "oauth2", scopes = {
@@ -0,0 +1,248 @@
+package com.pleased.ticket.dispatcher.server.delegate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pleased.ticket.dispatcher.server.exception.ConflictException;
+import com.pleased.ticket.dispatcher.server.exception.EntityNotFoundException;
+import com.pleased.ticket.dispatcher.server.model.api.TicketCreateAPIRequest;
+import com.pleased.ticket.dispatcher.server.model.rest.ImportJobResponse;
+import com.pleased.ticket.dispatcher.server.model.rest.TicketBatchCreateItem;
+import com.pleased.ticket.dispatcher.server.service.ImportJob;
+import com.pleased.ticket.dispatcher.server.service.ImportJobRegistry;
+import com.pleased.ticket.dispatcher.server.service.TicketsApiService;
+import com.pleased.ticket.dispatcher.server.util.CorrelationIdHolder;
+import com.pleased.ticket.dispatcher.server.util.ReactiveSecurityContextHolder;
+import com.pleased.ticket.dispatcher.server.util.mapper.TicketsMapper;
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+/**
+ * Ticket imports: an NDJSON body of {@link TicketBatchCreateItem} lines, decoded and published as it streams in.
+ * <p>
+ * Lines are split off the body buffers one at a time (at most {@link #MAX_LINE_BYTES} each), the body is never held
+ * in memory as a whole. An invalid line is counted as failed and skipped, so is a longer line, whose bytes are dropped
+ * up to its end.
+ */
+@Slf4j
+@Component
+public class ImportsDelegate {
+
+    public static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final TicketsApiService ticketsApiService;
+    private final TicketsMapper ticketsMapper;
+    private final ImportJobRegistry importJobRegistry;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Autowired
+    public ImportsDelegate(TicketsApiService ticketsApiService, TicketsMapper ticketsMapper,
+                           ImportJobRegistry importJobRegistry, ObjectMapper objectMapper, Validator validator) {
+        this.ticketsApiService = ticketsApiService;
+        this.ticketsMapper = ticketsMapper;
+        this.importJobRegistry = importJobRegistry;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Runs the import under the given job ID, completing with the final progress once the body was fully read and
+     * every ticket was published or failed.
+     */
+    public Mono<ImportJobResponse> importTickets(
+            Flux<DataBuffer> body,
+            UUID jobId,
+            UUID xCorrelationID,
+            String userAgent) {
+
+        // Without a correlation ID, the job ID correlates the events of the import
+        return Mono.zip(ReactiveSecurityContextHolder.getUserId(),
+                        CorrelationIdHolder.getCorrelationIdOrEmpty()
+                                .map(UUIDCodec::parse)
+                                .defaultIfEmpty(xCorrelationID != null ? xCorrelationID : jobId))
+                .flatMap(context -> {
+                    UUID userId = UUIDCodec.parse(context.getT1());
+                    ImportJob job = importJobRegistry.start(jobId, userId).orElse(null);
+                    if (job == null) {
+                        return Mono.error(new ConflictException("Import job " + jobId + " already exists"));
+                    }
+                    UUID correlationId = context.getT2();
+
+                    Flux<TicketCreateAPIRequest> requests = lines(body, lineNumber -> {
+                                job.accepted();
+                                job.failed();
+                                log.warn("Import {} line {} skipped: longer than {} bytes", jobId, lineNumber, MAX_LINE_BYTES);
+                            })
+                            .filter(line -> StringUtils.hasText(line.getT2()))
+                            .handle((line, sink) -> {
+                                job.accepted();
+                                TicketCreateAPIRequest request = toAPIRequest(jobId, line.getT1(), line.getT2());
+                                if (request == null) {
+                                    job.failed();
+                                    return;
+                                }
+                                request.setUserId(userId);
+                                request.setCorrelationID(correlationId);
+                                request.setUserAgent(userAgent);
+                                sink.next(request);
+                            });
+
+                    return ticketsApiService.importTickets(job, requests, correlationId);
+                })
+                .map(ImportsDelegate::toResponse);
+    }
+
+    /**
+     * Progress of a job started by the calling user, the jobs of other users are not found.
+     */
+    public Mono<ImportJobResponse> getImportJob(UUID jobId) {
+        return ReactiveSecurityContextHolder.getUserId()
+                .map(userId -> importJobRegistry.get(jobId, UUIDCodec.parse(userId))
+                        .map(ImportsDelegate::toResponse)
+                        .orElseThrow(() -> new EntityNotFoundException("Import job " + jobId + " not found")));
+    }
+
+    /**
+     * The lines of the body with their number, from 1. A line longer than {@link #MAX_LINE_BYTES} is passed to
+     * {@code oversized} by number instead.
+     */
+    private static Flux<Tuple2<Long, String>> lines(Flux<DataBuffer> body, LongConsumer oversized) {
+        return Flux.defer(() -> {
+            LineSplitter splitter = new LineSplitter(MAX_LINE_BYTES, oversized);
+            return body.concatMapIterable(buffer -> {
+                        try {
+                            return splitter.split(buffer);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(splitter.finish())));
+        });
+    }
+
+    /**
+     * Null if the line is not a valid item.
+     */
+    private TicketCreateAPIRequest toAPIRequest(UUID jobId, long lineNumber, String line) {
+        try {
+            TicketBatchCreateItem item = objectMapper.readValue(line, TicketBatchCreateItem.class);
+            Set<ConstraintViolation<TicketBatchCreateItem>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                log.warn("Import {} line {} skipped: {} constraint violation(s)", jobId, lineNumber, violations.size());
+                return null;
+            }
+            TicketCreateAPIRequest request = ticketsMapper.fromRestToAPICreateRequest(item.getTicket());
+            request.setIdempotencyKey(UUIDCodec.parse(item.getIdempotencyKey()));
+            return request;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Import {} line {} skipped: {}", jobId, lineNumber, e.getMessage());
+            return null;
+        }
+    }
+
+    private static ImportJobResponse toResponse(ImportJob job) {
+        return new ImportJobResponse()
+                .jobId(UUIDCodec.format(job.getJobId()))
+                .state(ImportJobResponse.StateEnum.valueOf(job.getState().name()))
+                .accepted(job.getAccepted())
+                .published(job.getPublished())
+                .failed(job.getFailed())
+                .startedAt(job.getStartedAt().atOffset(ZoneOffset.UTC))
+                .completedAt(toOffsetDateTime(job.getCompletedAt()))
+                .error(job.getError());
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Instant instant) {
+        return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Splits buffers on {@code \n}, holding at most one line. The bytes of a line past the limit are dropped as they
+     * come, the line is only reported once its end is reached.
+     */
+    private static final class LineSplitter {
+
+        private final int maxLineBytes;
+        private final LongConsumer oversized;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        private long lineNumber = 1;
+        private boolean overflowed;
+
+        private LineSplitter(int maxLineBytes, LongConsumer oversized) {
+            this.maxLineBytes = maxLineBytes;
+            this.oversized = oversized;
+        }
+
+        List<Tuple2<Long, String>> split(DataBuffer buffer) {
+            List<Tuple2<Long, String>> lines = new ArrayList<>();
+            while (buffer.readableByteCount() > 0) {
+                int end = buffer.indexOf(b -> b == '\n', buffer.readPosition());
+                append(buffer, (end < 0 ? buffer.writePosition() : end) - buffer.readPosition());
+                if (end < 0) {
+                    break;
+                }
+                buffer.readPosition(end + 1);
+                endLine(lines);
+            }
+            return lines;
+        }
+
+        /**
+         * The last line, when the body does not end with a newline.
+         */
+        List<Tuple2<Long, String>> finish() {
+            List<Tuple2<Long, String>> lines = new ArrayList<>(1);
+            if (line.size() > 0 || overflowed) {
+                endLine(lines);
+            }
+            return lines;
+        }
+
+        private void append(DataBuffer buffer, int length) {
+            if (overflowed || line.size() + length > maxLineBytes) {
+                overflowed = true;
+                line.reset();
+                buffer.readPosition(buffer.readPosition() + length);
+                return;
+            }
+            byte[] bytes = new byte[length];
+            buffer.read(bytes);
+            line.write(bytes, 0, length);
+        }
+
+        private void endLine(List<Tuple2<Long, String>> lines) {
+            if (overflowed) {
+                oversized.accept(lineNumber);
+            } else {
+                String text = new String(line.toByteArray(), StandardCharsets.UTF_8);
+                lines.add(Tuples.of(lineNumber, text.endsWith("\r") ? text.substring(0, text.length() - 1) : text));
+            }
+            line.reset();
+            overflowed = false;
+            lineNumber++;
+        }
+    }
+}
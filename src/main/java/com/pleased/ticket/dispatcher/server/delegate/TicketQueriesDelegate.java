@@ -0,0 +1,102 @@
+package com.pleased.ticket.dispatcher.server.delegate;
+
+import com.pleased.ticket.dispatcher.server.model.rest.ProjectEventResponse;
+import com.pleased.ticket.dispatcher.server.model.rest.TicketCountsResponse;
+import com.pleased.ticket.dispatcher.server.model.rest.TicketResponse;
+import com.pleased.ticket.dispatcher.server.service.ProjectEventFeed;
+import com.pleased.ticket.dispatcher.server.service.TicketCounters;
+import com.pleased.ticket.dispatcher.server.service.TicketQueryService;
+import com.pleased.ticket.dispatcher.server.util.mapper.TicketsMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Component
+public class TicketQueriesDelegate {
+
+    private final TicketQueryService ticketQueryService;
+    private final ProjectEventFeed projectEventFeed;
+    private final TicketCounters ticketCounters;
+    private final TicketsMapper ticketsMapper;
+
+    @Autowired
+    public TicketQueriesDelegate(TicketQueryService ticketQueryService, ProjectEventFeed projectEventFeed,
+                                 TicketCounters ticketCounters, TicketsMapper ticketsMapper) {
+        this.ticketQueryService = ticketQueryService;
+        this.projectEventFeed = projectEventFeed;
+        this.ticketCounters = ticketCounters;
+        this.ticketsMapper = ticketsMapper;
+    }
+
+    public Mono<TicketResponse> getTicket(UUID ticketID) {
+        return ticketQueryService.getTicket(ticketID)
+                .map(ticketsMapper::fromAPIToRestTicketResponse);
+    }
+
+    public Flux<TicketResponse> getProjectTickets(UUID projectId, OffsetDateTime afterCreatedAt, UUID afterTicketId,
+                                                  int limit) {
+        checkCursor(afterCreatedAt, afterTicketId);
+        return ticketQueryService.getProjectTickets(projectId, afterCreatedAt, afterTicketId, limit)
+                .map(ticketsMapper::fromAPIToRestTicketResponse);
+    }
+
+    public Flux<TicketResponse> getReportedTickets(UUID userId, OffsetDateTime afterCreatedAt, UUID afterTicketId,
+                                                   int limit) {
+        checkCursor(afterCreatedAt, afterTicketId);
+        return ticketQueryService.getReportedTickets(userId, afterCreatedAt, afterTicketId, limit)
+                .map(ticketsMapper::fromAPIToRestTicketResponse);
+    }
+
+    public Flux<TicketResponse> getAssignedTickets(UUID assigneeId, OffsetDateTime afterCreatedAt, UUID afterTicketId,
+                                                   int limit) {
+        checkCursor(afterCreatedAt, afterTicketId);
+        return ticketQueryService.getAssignedTickets(assigneeId, afterCreatedAt, afterTicketId, limit)
+                .map(ticketsMapper::fromAPIToRestTicketResponse);
+    }
+
+    public Flux<TicketResponse> searchTickets(UUID projectId, String query, int limit) {
+        return ticketQueryService.searchTickets(projectId, query, limit)
+                .map(ticketsMapper::fromAPIToRestTicketResponse);
+    }
+
+    /**
+     * Ticket events of the project as server-sent events, named after their type and identified by their event ID.
+     */
+    public Flux<ServerSentEvent<ProjectEventResponse>> getProjectEvents(UUID projectId) {
+        return projectEventFeed.subscribe(projectId)
+                .map(ticketsMapper::fromAPIToRestProjectEvent)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(event.getEventId())
+                        .event(event.getType().toString())
+                        .build());
+    }
+
+    public Mono<TicketCountsResponse> getProjectTicketCounts(UUID projectId) {
+        return ticketCounters.getProjectCounts(projectId)
+                .map(ticketsMapper::fromAPIToRestTicketCounts);
+    }
+
+    public Mono<TicketCountsResponse> getAssignedTicketCounts(UUID assigneeId) {
+        return ticketCounters.getAssigneeCounts(assigneeId)
+                .map(ticketsMapper::fromAPIToRestTicketCounts);
+    }
+
+    public Mono<Void> rebuildTicketCounts() {
+        return ticketCounters.rebuild();
+    }
+
+    /**
+     * A cursor is the createdAt and ticketId of the last ticket read, both or none are given.
+     */
+    private static void checkCursor(OffsetDateTime afterCreatedAt, UUID afterTicketId) {
+        if ((afterCreatedAt == null) != (afterTicketId == null)) {
+            throw new ServerWebInputException("afterCreatedAt and afterTicketId must be given together");
+        }
+    }
+}
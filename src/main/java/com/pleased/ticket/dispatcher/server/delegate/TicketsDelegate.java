@@ -1,17 +1,26 @@
 package com.pleased.ticket.dispatcher.server.delegate;
 
 import com.pleased.ticket.dispatcher.server.model.api.TicketAssignmentAPIRequest;
+import com.pleased.ticket.dispatcher.server.model.api.TicketBatchItemAPIResult;
 import com.pleased.ticket.dispatcher.server.model.api.TicketCreateAPIRequest;
+import com.pleased.ticket.dispatcher.server.model.api.TicketDetailsAPIRequest;
 import com.pleased.ticket.dispatcher.server.model.api.TicketStatusAPIRequest;
 import com.pleased.ticket.dispatcher.server.model.rest.*;
 import com.pleased.ticket.dispatcher.server.service.TicketsApiService;
+import com.pleased.ticket.dispatcher.server.util.CorrelationIdHolder;
 import com.pleased.ticket.dispatcher.server.util.ReactiveSecurityContextHolder;
 import com.pleased.ticket.dispatcher.server.util.mapper.TicketsMapper;
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Component
@@ -32,16 +41,17 @@ public class TicketsDelegate {
             UUID idempotencyKey,
             String userAgent) {
 
-        return ReactiveSecurityContextHolder.getUserId()
-                .flatMap(userId -> {
+        return Mono.zip(ReactiveSecurityContextHolder.getUserId(),
+                        correlationId(xCorrelationID != null ? xCorrelationID.toString() : null))
+                .flatMap(context -> {
                     // Map REST request to API request
                     TicketCreateAPIRequest apiRequest = ticketsMapper.fromRestToAPICreateRequest(restRequest);
 
                     // Set user ID from reactive security context
-                    apiRequest.setUserId(UUID.fromString(userId));
+                    apiRequest.setUserId(UUIDCodec.parse(context.getT1()));
 
                     // Set additional context information
-                    apiRequest.setCorrelationID(xCorrelationID);
+                    apiRequest.setCorrelationID(context.getT2().orElse(null));
                     apiRequest.setIdempotencyKey(idempotencyKey);
                     apiRequest.setUserAgent(userAgent);
 
@@ -50,6 +60,65 @@ public class TicketsDelegate {
                 .map(ticketsMapper::fromAPIToRestTicketResponse);
     }
 
+    /**
+     * Creates the tickets of the batch, reporting each item's outcome in request order.
+     * <p>
+     * An item whose identifiers are not UUIDs, or whose idempotency key repeats an earlier item of the batch, fails on
+     * its own; the remaining items are published together.
+     */
+    public Mono<TicketBatchCreateResponse> createTickets(
+            TicketBatchCreateRequest restRequest,
+            UUID xCorrelationID,
+            String userAgent) {
+
+        return Mono.zip(ReactiveSecurityContextHolder.getUserId(),
+                        correlationId(xCorrelationID != null ? xCorrelationID.toString() : null))
+                .flatMap(context -> {
+                    UUID userId = UUIDCodec.parse(context.getT1());
+                    List<TicketBatchCreateItem> items = restRequest.getItems();
+                    TicketBatchCreateResult[] results = new TicketBatchCreateResult[items.size()];
+                    List<TicketCreateAPIRequest> apiRequests = new ArrayList<>(items.size());
+                    List<Integer> positions = new ArrayList<>(items.size());
+                    Set<UUID> idempotencyKeys = new HashSet<>();
+
+                    for (int i = 0; i < items.size(); i++) {
+                        TicketBatchCreateItem item = items.get(i);
+                        TicketCreateAPIRequest apiRequest;
+                        try {
+                            apiRequest = ticketsMapper.fromRestToAPICreateRequest(item.getTicket());
+                            apiRequest.setIdempotencyKey(UUIDCodec.parse(item.getIdempotencyKey()));
+                        } catch (IllegalArgumentException e) {
+                            results[i] = failedItem(item.getIdempotencyKey(), e.getMessage());
+                            continue;
+                        }
+                        if (!idempotencyKeys.add(apiRequest.getIdempotencyKey())) {
+                            results[i] = failedItem(item.getIdempotencyKey(), "Duplicate idempotency key in batch");
+                            continue;
+                        }
+                        apiRequest.setUserId(userId);
+                        apiRequest.setCorrelationID(context.getT2().orElse(null));
+                        apiRequest.setUserAgent(userAgent);
+                        apiRequests.add(apiRequest);
+                        positions.add(i);
+                    }
+
+                    return ticketsApiService.createTickets(apiRequests)
+                            .map(apiResults -> {
+                                for (int i = 0; i < apiResults.size(); i++) {
+                                    TicketBatchItemAPIResult apiResult = apiResults.get(i);
+                                    String idempotencyKey = UUIDCodec.format(apiResult.getIdempotencyKey());
+                                    results[positions.get(i)] = apiResult.getTicket() != null
+                                            ? new TicketBatchCreateResult()
+                                                    .idempotencyKey(idempotencyKey)
+                                                    .status(TicketBatchCreateResult.StatusEnum.CREATED)
+                                                    .ticket(ticketsMapper.fromAPIToRestTicketResponse(apiResult.getTicket()))
+                                            : failedItem(idempotencyKey, apiResult.getError());
+                                }
+                                return new TicketBatchCreateResponse().items(Arrays.asList(results));
+                            });
+                });
+    }
+
     public Mono<TicketAssignmentResponse> assignTicket(
             TicketAssignmentRequest restRequest,
             String ticketID,
@@ -61,12 +130,15 @@ public class TicketsDelegate {
         TicketAssignmentAPIRequest apiRequest = ticketsMapper.fromRestToAPIAssignmentRequest(restRequest);
 
         // Set additional context information
-        apiRequest.setTicketID(UUID.fromString(ticketID));
-        apiRequest.setCorrelationID(UUID.fromString(xCorrelationID));
-        apiRequest.setIdempotencyKey(UUID.fromString(idempotencyKey));
+        apiRequest.setTicketID(UUIDCodec.parse(ticketID));
+        apiRequest.setIdempotencyKey(UUIDCodec.parse(idempotencyKey));
         apiRequest.setUserAgent(userAgent);
 
-        return ticketsApiService.assignTicket(apiRequest)
+        return correlationId(xCorrelationID)
+                .flatMap(correlationId -> {
+                    apiRequest.setCorrelationID(correlationId.orElse(null));
+                    return ticketsApiService.assignTicket(apiRequest);
+                })
                 .map(ticketsMapper::fromAPIToRestAssignmentResponse);
     }
 
@@ -81,12 +153,15 @@ public class TicketsDelegate {
         TicketStatusAPIRequest apiRequest = ticketsMapper.fromRestToAPIStatusRequest(restRequest);
 
         // Set additional context information
-        apiRequest.setTicketID(UUID.fromString(ticketID));
-        apiRequest.setCorrelationID(UUID.fromString(xCorrelationID));
-        apiRequest.setIdempotencyKey(UUID.fromString(idempotencyKey));
+        apiRequest.setTicketID(UUIDCodec.parse(ticketID));
+        apiRequest.setIdempotencyKey(UUIDCodec.parse(idempotencyKey));
         apiRequest.setUserAgent(userAgent);
 
-        return ticketsApiService.updateTicketStatus(apiRequest)
+        return correlationId(xCorrelationID)
+                .flatMap(correlationId -> {
+                    apiRequest.setCorrelationID(correlationId.orElse(null));
+                    return ticketsApiService.updateTicketStatus(apiRequest);
+                })
                 .map(ticketsMapper::fromAPIToRestStatusResponse);
     }
 
@@ -97,20 +172,36 @@ public class TicketsDelegate {
             String idempotencyKey,
             String userAgent) {
 
-        //TODO: out of scope and time.
-        // Simulating this part
-        return Mono.delay(Duration.ofMillis(100))
-                .then(Mono.fromCallable(() -> {
+        // Map REST request to API request
+        TicketDetailsAPIRequest apiRequest = ticketsMapper.fromRestToAPIDetailsRequest(restRequest);
 
-                    TicketResponse response = new TicketResponse();
-                    response.setTicketId(ticketID);
-                    response.setStatus(TicketResponse.StatusEnum.IN_PROGRESS);
+        // Set additional context information
+        apiRequest.setTicketID(UUIDCodec.parse(ticketID));
+        apiRequest.setIdempotencyKey(UUIDCodec.parse(idempotencyKey));
+        apiRequest.setUserAgent(userAgent);
 
-                    if (restRequest != null) {
-                        response.setDescription(restRequest.getDescription());
-                    }
+        return correlationId(xCorrelationID)
+                .flatMap(correlationId -> {
+                    apiRequest.setCorrelationID(correlationId.orElse(null));
+                    return ticketsApiService.updateTicketDetails(apiRequest);
+                })
+                .map(ticketsMapper::fromAPIToRestTicketResponse);
+    }
+
+    private static TicketBatchCreateResult failedItem(String idempotencyKey, String error) {
+        return new TicketBatchCreateResult()
+                .idempotencyKey(idempotencyKey)
+                .status(TicketBatchCreateResult.StatusEnum.FAILED)
+                .error(error);
+    }
 
-                    return response;
-                }));
+    /**
+     * Correlation ID resolved by the correlation filter, or the header value when called outside of it.
+     */
+    private static Mono<Optional<UUID>> correlationId(String headerValue) {
+        return CorrelationIdHolder.getCorrelationIdOrEmpty()
+                .switchIfEmpty(Mono.justOrEmpty(headerValue))
+                .map(correlationId -> Optional.of(UUIDCodec.parse(correlationId)))
+                .defaultIfEmpty(Optional.empty());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.pleased.ticket.dispatcher.server.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
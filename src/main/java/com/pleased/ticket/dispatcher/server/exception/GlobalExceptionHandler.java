@@ -1,6 +1,7 @@
 package com.pleased.ticket.dispatcher.server.exception;
 
 import com.pleased.ticket.dispatcher.server.model.rest.ErrorResponse;
+import com.pleased.ticket.dispatcher.server.util.RequestIdHolder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.core.annotation.Order;
@@ -19,7 +20,6 @@ import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import java.util.List;
 import java.util.Set;
-import java.util.UUID;
 
 @Slf4j
 @RestControllerAdvice
@@ -33,7 +33,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ServerWebInputException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleServerWebInputException(ServerWebInputException ex, ServerWebExchange exchange) {
-        String requestId = generateRequestId();
+        String requestId = RequestIdHolder.getOrCreate(exchange);
 
         ErrorResponse errorResponse = new ErrorResponse()
                 .timestamp(System.currentTimeMillis())
@@ -69,7 +69,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(WebExchangeBindException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleWebExchangeBindException(WebExchangeBindException ex, ServerWebExchange exchange) {
-        String requestId = generateRequestId();
+        String requestId = RequestIdHolder.getOrCreate(exchange);
         String errorMessage = "Validation failed. Check logs for more details.";
 
         ErrorResponse errorResponse = new ErrorResponse()
@@ -94,7 +94,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ConstraintViolationException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleConstraintViolationException(ConstraintViolationException violationException, ServerWebExchange exchange) {
-        String requestId = generateRequestId();
+        String requestId = RequestIdHolder.getOrCreate(exchange);
         String detailedErrorMessage = prepareValidationErrorMessage(violationException.getConstraintViolations());
         String errorMessage = "Constraint violation. Schema validation errors. Check logs for more details.";
 
@@ -115,7 +115,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(UnsupportedMediaTypeStatusException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleUnsupportedMediaType(UnsupportedMediaTypeStatusException ex, ServerWebExchange exchange) {
-        String requestId = generateRequestId();
+        String requestId = RequestIdHolder.getOrCreate(exchange);
         String errorMessage = "Unsupported media type: " + ex.getContentType();
 
         ErrorResponse errorResponse = new ErrorResponse()
@@ -130,9 +130,41 @@ public class GlobalExceptionHandler {
         return Mono.just(new ResponseEntity<>(errorResponse, HttpStatus.UNSUPPORTED_MEDIA_TYPE));
     }
 
+    @ExceptionHandler(EntityNotFoundException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleEntityNotFound(EntityNotFoundException ex, ServerWebExchange exchange) {
+        String requestId = RequestIdHolder.getOrCreate(exchange);
+
+        ErrorResponse errorResponse = new ErrorResponse()
+                .timestamp(System.currentTimeMillis())
+                .path(exchange.getRequest().getPath().value())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error(HttpStatus.NOT_FOUND.getReasonPhrase())
+                .message(ex.getMessage())
+                .requestId(requestId);
+
+        log.warn("Entity not found. RequestId: {}, Message: {}", requestId, ex.getMessage());
+        return Mono.just(new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND));
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleConflict(ConflictException ex, ServerWebExchange exchange) {
+        String requestId = RequestIdHolder.getOrCreate(exchange);
+
+        ErrorResponse errorResponse = new ErrorResponse()
+                .timestamp(System.currentTimeMillis())
+                .path(exchange.getRequest().getPath().value())
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message(ex.getMessage())
+                .requestId(requestId);
+
+        log.warn("Conflict. RequestId: {}, Message: {}", requestId, ex.getMessage());
+        return Mono.just(new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT));
+    }
+
     @ExceptionHandler(Exception.class)
     public Mono<ResponseEntity<ErrorResponse>> handleGenericException(Exception ex, ServerWebExchange exchange) {
-        String requestId = generateRequestId();
+        String requestId = RequestIdHolder.getOrCreate(exchange);
 
         ErrorResponse errorResponse = new ErrorResponse()
                 .timestamp(System.currentTimeMillis())
@@ -152,7 +184,7 @@ public class GlobalExceptionHandler {
             UnauthorizedException ex,
             ServerWebExchange exchange) {
 
-        String requestId = generateRequestId();
+        String requestId = RequestIdHolder.getOrCreate(exchange);
         ErrorResponse errorResponse = new ErrorResponse()
                 .timestamp(System.currentTimeMillis())
                 .path(exchange.getRequest().getPath().value())
@@ -172,7 +204,7 @@ public class GlobalExceptionHandler {
             SecurityException ex,
             ServerWebExchange exchange) {
 
-        String requestId = generateRequestId();
+        String requestId = RequestIdHolder.getOrCreate(exchange);
         ErrorResponse errorResponse = new ErrorResponse()
                 .timestamp(System.currentTimeMillis())
                 .path(exchange.getRequest().getPath().value())
@@ -192,7 +224,7 @@ public class GlobalExceptionHandler {
             JWTVerificationException ex,
             ServerWebExchange exchange) {
 
-        String requestId = generateRequestId();
+        String requestId = RequestIdHolder.getOrCreate(exchange);
         ErrorResponse errorResponse = new ErrorResponse()
                 .timestamp(System.currentTimeMillis())
                 .path(exchange.getRequest().getPath().value())
@@ -207,13 +239,6 @@ public class GlobalExceptionHandler {
         return Mono.just(new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED));
     }
 
-    /**
-     * Convenience method to generate a unique request ID
-     */
-    private String generateRequestId() {
-        return UUID.randomUUID().toString().substring(0, 8);
-    }
-
     /**
      * Convenience method to join validation error messages in a single string
      */
@@ -1,16 +1,21 @@
 package com.pleased.ticket.dispatcher.server.filter;
 
+import com.pleased.ticket.dispatcher.server.util.CorrelationIdHolder;
+import com.pleased.ticket.dispatcher.server.util.RequestIdHolder;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
-import java.util.UUID;
-
-
+/**
+ * Resolves the correlation ID of the call and echoes it in the response.
+ * <p>
+ * The ID is carried downstream in the Reactor Context, the request itself is left untouched.
+ */
 public class CorrelationIdFilter implements WebFilter {
 
-    private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
@@ -18,21 +23,15 @@ public class CorrelationIdFilter implements WebFilter {
                 .getHeaders()
                 .getFirst(CORRELATION_ID_HEADER);
 
-        // Generate correlation ID if not present or empty
+        // Fall back to the request ID if not present or empty
         if (correlationId == null || correlationId.trim().isEmpty()) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = RequestIdHolder.getOrCreate(exchange);
         }
 
         // Add correlation ID to response headers
         exchange.getResponse().getHeaders().add(CORRELATION_ID_HEADER, correlationId);
 
-        // Create a new exchange with the correlation ID header added to the request
-        ServerWebExchange modifiedExchange = exchange.mutate()
-                .request(exchange.getRequest().mutate()
-                        .header(CORRELATION_ID_HEADER, correlationId)
-                        .build())
-                .build();
-
-        return chain.filter(modifiedExchange);
+        return chain.filter(exchange)
+                .contextWrite(Context.of(CorrelationIdHolder.CORRELATION_ID_CONTEXT_KEY, correlationId));
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,12 @@
 package com.pleased.ticket.dispatcher.server.filter;
 
+import com.pleased.ticket.dispatcher.server.filter.idempotency.CachedResponse;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.IdempotencyStore;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.InMemoryIdempotencyStore;
+import com.pleased.ticket.dispatcher.server.util.Murmur3Hasher;
+import com.pleased.ticket.dispatcher.server.util.ReactiveSecurityContextHolder;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
@@ -8,99 +15,288 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
-import org.springframework.stereotype.Component;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-
-import java.nio.charset.StandardCharsets;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 /**
- * Hashmap implementation is NOT suitable for a production ready distributed service.
+ * Replays the stored response for requests carrying an already seen Idempotency-Key.
+ * <p>
+ * Responses are kept in a pluggable {@link IdempotencyStore}: a bounded in-memory store by default,
+ * or a shared R2DBC/Redis backend so that retries landing on another node are deduplicated too.
+ * Concurrent duplicates are coalesced: the first request owns the key and runs the chain,
+ * later requests with the same key subscribe to its pending result instead of publishing again.
+ * In-flight coalescing is per node.
  * <p>
- * To be replaced with an in memory data store solution like Redis.
+ * Keys are scoped by user, method and path. The request body is hashed while it streams to the controller and the
+ * fingerprint is stored with the response; a replay whose body hashes differently is rejected with 422.
  */
+@Slf4j
 public class IdempotencyFilter implements WebFilter {
 
-    private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String ANONYMOUS_USER = "anonymous";
+
+    private static final long DEFAULT_MAX_ENTRIES = 10_000L;
+    private static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    private static final Duration IN_FLIGHT_WAIT_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Per request or per connection headers that must not be replayed.
+     */
+    private static final Set<String> NON_REPLAYABLE_HEADERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase(),
+            "x-correlation-id"
+    )));
+
+    private final IdempotencyStore store;
+    private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter() {
+        this(new InMemoryIdempotencyStore(DEFAULT_MAX_ENTRIES, DEFAULT_TTL, Metrics.globalRegistry));
+    }
+
+    public IdempotencyFilter(IdempotencyStore store) {
+        this.store = store;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
-        ServerHttpResponse response = exchange.getResponse();
 
         // Extract idempotency key from headers
-        List<String> idempotencyHeaders = request.getHeaders().get("Idempotency-Key");
-        String idempotencyKey = (idempotencyHeaders != null && !idempotencyHeaders.isEmpty())
-                ? idempotencyHeaders.get(0) : null;
+        String idempotencyKey = request.getHeaders().getFirst(IDEMPOTENCY_KEY_HEADER);
 
-        // Check if we have a cached response
-        if (idempotencyKey != null && cache.containsKey(idempotencyKey)) {
-            CachedResponse cached = cache.get(idempotencyKey);
+        if (idempotencyKey == null) {
+            // No idempotency key, just proceed normally
+            return chain.filter(exchange);
+        }
 
-            // Set response status and headers
-            response.setStatusCode(org.springframework.http.HttpStatus.valueOf(cached.getStatus()));
-            response.getHeaders().add("Content-Type", "application/json");
+        // Check if we have a cached response
+        return ReactiveSecurityContextHolder.getUserIdOrEmpty()
+                .defaultIfEmpty(ANONYMOUS_USER)
+                .flatMap(userId -> {
+                    String scopedKey = scopedKey(userId, request, idempotencyKey);
+                    return lookup(scopedKey)
+                            .flatMap(cached -> {
+                                if (cached.isPresent()) {
+                                    return replay(exchange, cached.get());
+                                }
+                                return acquireAndProceed(exchange, chain, scopedKey);
+                            });
+                });
+    }
 
-            // Write cached response body
-            DataBufferFactory bufferFactory = response.bufferFactory();
-            DataBuffer buffer = bufferFactory.wrap(cached.getBody().getBytes(StandardCharsets.UTF_8));
+    private static String scopedKey(String userId, ServerHttpRequest request, String idempotencyKey) {
+        return userId + ':' + request.getMethodValue() + ':' + request.getPath().pathWithinApplication().value()
+                + ':' + idempotencyKey;
+    }
 
-            return response.writeWith(Mono.just(buffer));
+    private Mono<Void> acquireAndProceed(ServerWebExchange exchange, WebFilterChain chain, String idempotencyKey) {
+        // Join the request already processing this key, if any
+        Sinks.One<CachedResponse> pending = Sinks.one();
+        Sinks.One<CachedResponse> owner = inFlight.putIfAbsent(idempotencyKey, pending);
+        if (owner != null) {
+            return awaitInFlightResponse(exchange, chain, owner);
         }
 
-        // If no cached response, proceed with the request and capture the response
-        if (idempotencyKey != null) {
-            return captureAndCacheResponse(exchange, chain, idempotencyKey);
-        } else {
-            // No idempotency key, just proceed normally
-            return chain.filter(exchange);
+        // The owner may have completed between the store lookup and acquiring the key
+        return lookup(idempotencyKey)
+                .flatMap(completed -> {
+                    if (completed.isPresent()) {
+                        inFlight.remove(idempotencyKey, pending);
+                        return replay(exchange, completed.get());
+                    }
+
+                    // If no cached response, proceed with the request and capture the response
+                    return captureAndCacheResponse(exchange, chain, idempotencyKey, pending);
+                })
+                .doFinally(signal -> {
+                    inFlight.remove(idempotencyKey, pending);
+                    // Releases waiters when the chain failed or completed without a body
+                    pending.tryEmitEmpty();
+                });
+    }
+
+    /**
+     * Store lookup that never fails the request, an unavailable store degrades to "not seen yet".
+     */
+    private Mono<Optional<CachedResponse>> lookup(String idempotencyKey) {
+        return store.get(idempotencyKey)
+                .map(Optional::of)
+                .onErrorResume(error -> {
+                    log.warn("Idempotency store lookup failed for key {}", idempotencyKey, error);
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    /**
+     * Replays the owner's response once available.
+     * <p>
+     * If the owner finished without a replayable response the request is filtered again, and may become the new owner.
+     */
+    private Mono<Void> awaitInFlightResponse(ServerWebExchange exchange, WebFilterChain chain, Sinks.One<CachedResponse> owner) {
+        ServerHttpResponse response = exchange.getResponse();
+
+        return owner.asMono()
+                .timeout(IN_FLIGHT_WAIT_TIMEOUT)
+                .flatMap(cached -> replay(exchange, cached))
+                .switchIfEmpty(Mono.defer(() -> filter(exchange, chain)))
+                .onErrorResume(TimeoutException.class, ex -> {
+                    response.setStatusCode(HttpStatus.CONFLICT);
+                    return response.setComplete();
+                });
+    }
+
+    /**
+     * Replays the stored response if the incoming body matches the one it was produced for.
+     * <p>
+     * The incoming body is hashed chunk by chunk and released, it is never aggregated.
+     */
+    private Mono<Void> replay(ServerWebExchange exchange, CachedResponse cached) {
+        if (cached.getRequestFingerprint() == null) {
+            return writeCachedResponse(exchange.getResponse(), cached);
         }
+
+        return exchange.getRequest().getBody()
+                .reduceWith(Murmur3Hasher::new, (hasher, dataBuffer) -> {
+                    hasher.update(dataBuffer.asByteBuffer());
+                    DataBufferUtils.release(dataBuffer);
+                    return hasher;
+                })
+                .flatMap(hasher -> {
+                    if (cached.getRequestFingerprint().equals(hasher.hashHex())) {
+                        return writeCachedResponse(exchange.getResponse(), cached);
+                    }
+                    log.warn("Idempotency-Key reused with a different request body: {} {}",
+                            exchange.getRequest().getMethodValue(), exchange.getRequest().getPath());
+                    exchange.getResponse().setStatusCode(HttpStatus.UNPROCESSABLE_ENTITY);
+                    return exchange.getResponse().setComplete();
+                });
     }
 
-    private Mono<Void> captureAndCacheResponse(ServerWebExchange exchange, WebFilterChain chain, String idempotencyKey) {
+    private Mono<Void> writeCachedResponse(ServerHttpResponse response, CachedResponse cached) {
+        // Set response status and headers
+        response.setRawStatusCode(cached.getStatus());
+        response.getHeaders().putAll(cached.getHeaders());
+
+        // Write cached response body
+        DataBuffer buffer = response.bufferFactory().wrap(cached.getBody());
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private Mono<Void> captureAndCacheResponse(ServerWebExchange exchange, WebFilterChain chain, String idempotencyKey,
+                                               Sinks.One<CachedResponse> pending) {
         ServerHttpResponse response = exchange.getResponse();
         DataBufferFactory bufferFactory = response.bufferFactory();
+        BodyFingerprint fingerprint = new BodyFingerprint();
+
+        // Hash the request body as the controller consumes it
+        ServerHttpRequest fingerprintedRequest = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return super.getBody()
+                        .doOnNext(dataBuffer -> fingerprint.update(dataBuffer))
+                        .doOnComplete(fingerprint::complete);
+            }
+        };
 
         // Create a decorated response to capture the body
         ServerHttpResponseDecorator decoratedResponse = new ServerHttpResponseDecorator(response) {
             @Override
-            public Mono<Void> writeWith(org.reactivestreams.Publisher<? extends DataBuffer> body) {
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
                 return DataBufferUtils.join(body)
                         .flatMap(dataBuffer -> {
-                            // Extract response body as string
+                            // Keep the raw bytes, no String round trip
                             byte[] content = new byte[dataBuffer.readableByteCount()];
                             dataBuffer.read(content);
-                            String responseBody = new String(content, StandardCharsets.UTF_8);
-
-                            // Cache the response
-                            int statusCode = response.getStatusCode() != null ? response.getStatusCode().value() : 200;
-                            cache.put(idempotencyKey, new CachedResponse(statusCode, responseBody));
-
-                            // Release the original buffer and create a new one for writing
                             DataBufferUtils.release(dataBuffer);
-                            DataBuffer newBuffer = bufferFactory.wrap(content);
 
-                            return super.writeWith(Mono.just(newBuffer));
+                            // Cache the response
+                            Integer rawStatus = response.getRawStatusCode();
+                            int statusCode = rawStatus != null ? rawStatus : HttpStatus.OK.value();
+                            CachedResponse cached = new CachedResponse(statusCode, replayableHeaders(response.getHeaders()),
+                                    content, fingerprint.value());
+                            pending.tryEmitValue(cached);
+
+                            return store.put(idempotencyKey, cached)
+                                    .onErrorResume(error -> {
+                                        log.warn("Failed to store idempotent response for key {}", idempotencyKey, error);
+                                        return Mono.empty();
+                                    })
+                                    .then(Mono.defer(() -> super.writeWith(Mono.just(bufferFactory.wrap(content)))));
                         });
             }
         };
 
-        // Create new exchange with decorated response
+        // Create new exchange with decorated request and response
         ServerWebExchange decoratedExchange = exchange.mutate()
+                .request(fingerprintedRequest)
                 .response(decoratedResponse)
                 .build();
 
         return chain.filter(decoratedExchange);
     }
 
+    private static Map<String, List<String>> replayableHeaders(HttpHeaders headers) {
+        Map<String, List<String>> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (!NON_REPLAYABLE_HEADERS.contains(header.getKey().toLowerCase())) {
+                snapshot.put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Running hash of a request body, only usable once the body was fully read.
+     */
+    private static class BodyFingerprint {
+        private final Murmur3Hasher hasher = new Murmur3Hasher();
+        private volatile boolean complete;
+
+        void update(DataBuffer dataBuffer) {
+            hasher.update(dataBuffer.asByteBuffer());
+        }
+
+        void complete() {
+            complete = true;
+        }
+
+        /**
+         * Null when the chain did not read the whole body, such responses are replayed without a body check.
+         */
+        String value() {
+            return complete ? hasher.hashHex() : null;
+        }
+    }
+
     private static class ServerHttpResponseDecorator implements ServerHttpResponse {
         private final ServerHttpResponse delegate;
 
@@ -177,23 +373,4 @@ public class IdempotencyFilter implements WebFilter {
             delegate.addCookie(cookie);
         }
     }
-
-    // Inner class to represent cached response
-    private static class CachedResponse {
-        private final int status;
-        private final String body;
-
-        public CachedResponse(int status, String body) {
-            this.status = status;
-            this.body = body;
-        }
-
-        public int getStatus() {
-            return status;
-        }
-
-        public String getBody() {
-            return body;
-        }
-    }
-}
\ No newline at end of file
+}
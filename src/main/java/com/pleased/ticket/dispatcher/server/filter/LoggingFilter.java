@@ -1,105 +1,130 @@
 package com.pleased.ticket.dispatcher.server.filter;
 
+import com.pleased.ticket.dispatcher.server.filter.logging.AsyncLogWriter;
+import com.pleased.ticket.dispatcher.server.filter.logging.BodyCapture;
+import com.pleased.ticket.dispatcher.server.filter.logging.HttpExchangeLog;
+import com.pleased.ticket.dispatcher.server.filter.logging.JsonMasker;
+import com.pleased.ticket.dispatcher.server.filter.logging.RouteSampler;
+import com.pleased.ticket.dispatcher.server.util.RequestIdHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferUtils;
-import org.springframework.core.io.buffer.DefaultDataBufferFactory;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
-import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.UUID;
 
+/**
+ * Request/response logging, kept off the hot path.
+ * <p>
+ * Only sampled requests are captured (see {@link RouteSampler}), and only the first {@code maxBodyBytes} of each body,
+ * as retained slices of the buffers streaming through untouched: no heap copy is made on the event loop.
+ * Records are formatted and written by a background thread, which releases the slices afterwards;
+ * when it falls behind, records are dropped (and released) rather than slowing requests down.
+ * <p>
+ * JSON bodies are logged compacted, with the configured sensitive fields masked by {@link JsonMasker}.
+ */
 public class LoggingFilter implements WebFilter {
 
     private static final Logger log = LoggerFactory.getLogger(LoggingFilter.class);
 
+    private static final int DEFAULT_MAX_BODY_BYTES = 1024;
+    private static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    private static final String DEFAULT_MASKED_FIELDS = "description,email";
+
+    private final RouteSampler sampler;
+    private final int maxBodyBytes;
+    private final JsonMasker masker;
+    // Only touched by the writer thread
+    private final StringBuilder line = new StringBuilder(512);
+    private final AsyncLogWriter<HttpExchangeLog> writer;
+
+    public LoggingFilter() {
+        this(RouteSampler.always(), DEFAULT_MAX_BODY_BYTES, DEFAULT_QUEUE_CAPACITY,
+                JsonMasker.parse(DEFAULT_MASKED_FIELDS), Metrics.globalRegistry);
+    }
+
+    public LoggingFilter(RouteSampler sampler, int maxBodyBytes, int queueCapacity, JsonMasker masker,
+                         MeterRegistry meterRegistry) {
+        this.sampler = sampler;
+        this.maxBodyBytes = maxBodyBytes;
+        this.masker = masker;
+        this.writer = new AsyncLogWriter<>("http-log", queueCapacity, this::write, meterRegistry);
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        String traceId = UUID.randomUUID().toString();
         ServerHttpRequest request = exchange.getRequest();
+        if (!log.isInfoEnabled() || !sampler.sample(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+
+        String traceId = RequestIdHolder.getOrCreate(exchange);
+        Instant requestTime = Instant.now();
         ServerHttpResponse originalResponse = exchange.getResponse();
+        BodyCapture requestBody = new BodyCapture(maxBodyBytes);
+        BodyCapture responseBody = new BodyCapture(maxBodyBytes);
 
-        return DataBufferUtils.join(request.getBody())
-                .flatMap(requestBodyBuffer -> {
-                    byte[] reqBodyBytes = new byte[requestBodyBuffer.readableByteCount()];
-                    requestBodyBuffer.read(reqBodyBytes);
-                    DataBufferUtils.release(requestBodyBuffer);
+        // Capture the request body prefix as the controller reads it
+        ServerHttpRequest decoratedRequest = new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return super.getBody().doOnNext(requestBody::append);
+            }
+        };
 
-                    String requestBody = new String(reqBodyBytes, StandardCharsets.UTF_8);
+        // Capture the response body prefix on its way to the wire
+        ServerHttpResponseDecorator decoratedResponse = new ServerHttpResponseDecorator(originalResponse) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body).doOnNext(responseBody::append));
+            }
+        };
 
-                    log.info("Request Log | TraceID: {} | Time: {} | Method: {} | URI: {} | Headers: {} | Body: {}",
+        return chain.filter(exchange.mutate()
+                        .request(decoratedRequest)
+                        .response(decoratedResponse)
+                        .build())
+                .doFinally(signal -> {
+                    HttpExchangeLog record = new HttpExchangeLog(
                             traceId,
-                            Instant.now(),
-                            request.getMethod(),
+                            requestTime,
+                            request.getMethodValue(),
                             request.getURI(),
                             request.getHeaders(),
-                            compact(requestBody)
-                    );
-
-                    // Wrap request with body cached
-                    ServerHttpRequest decoratedRequest = new ServerHttpRequestDecorator(request) {
-                        @Override
-                        public Flux<DataBuffer> getBody() {
-                            return Flux.just(
-                                    new DefaultDataBufferFactory().wrap(reqBodyBytes)
-                            );
-                        }
-                    };
-
-                    // Decorate response to capture body
-                    ServerHttpResponseDecorator decoratedResponse = new ServerHttpResponseDecorator(originalResponse) {
-                        @Override
-                        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
-                            if (body instanceof Flux) {
-                                Flux<? extends DataBuffer> flux = (Flux<? extends DataBuffer>) body;
-                                return super.writeWith(
-                                        flux.buffer().map(dataBuffers -> {
-                                            DataBuffer joined = new DefaultDataBufferFactory().join(dataBuffers);
-                                            byte[] responseBytes = new byte[joined.readableByteCount()];
-                                            joined.read(responseBytes);
-                                            DataBufferUtils.release(joined);
-
-                                            String responseBody = new String(responseBytes, StandardCharsets.UTF_8);
-                                            HttpStatus status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
-
-                                            log.info("Response Log | TraceID: {} | Time: {} | Status: {} | Headers: {} | Body: {}",
-                                                    traceId,
-                                                    Instant.now(),
-                                                    status,
-                                                    getHeaders(),
-                                                    compact(responseBody)
-                                            );
-
-                                            return bufferFactory().wrap(responseBytes);
-                                        })
-                                );
-                            }
-                            return super.writeWith(body);
-                        }
-                    };
-
-                    return chain.filter(exchange.mutate()
-                            .request(decoratedRequest)
-                            .response(decoratedResponse)
-                            .build());
+                            requestBody,
+                            Instant.now(),
+                            originalResponse.getRawStatusCode(),
+                            originalResponse.getHeaders(),
+                            responseBody);
+                    if (!writer.offer(record)) {
+                        record.release();
+                    }
                 });
     }
 
-    private String compact(String body) {
-        if (body == null || body.trim().isEmpty()) return "[empty]";
-        return StringUtils.trimWhitespace(body.replaceAll("[\n\r]+", " "));
+    private void write(HttpExchangeLog record) {
+        try {
+            record.writeTo(log, masker, line);
+        } finally {
+            record.release();
+        }
+    }
+
+    /**
+     * Flushes pending records and stops the writer thread.
+     */
+    public void close() {
+        writer.close();
     }
 }
@@ -0,0 +1,119 @@
+package com.pleased.ticket.dispatcher.server.filter;
+
+import com.pleased.ticket.dispatcher.server.service.PersistenceAwaitRegistry;
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Holds a successful write response until its event is saved, when asked to with a {@code Prefer: wait=<ms>} header.
+ * <p>
+ * The event ID of a single ticket write is its Idempotency-Key, so requests without one, as well as batches and
+ * imports, are left alone. The wait is capped, and
+ * ends early once the event is saved; the response then carries {@code Preference-Applied: wait=<ms>}. A response
+ * sent on the timeout is the usual one, its change may not be visible yet. Replays of the idempotency filter, which
+ * runs before this one, are never held.
+ */
+public class PersistenceWaitFilter implements WebFilter {
+
+    public static final String PREFER_HEADER = "Prefer";
+    public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String WAIT_PREFERENCE = "wait=";
+
+    private static final List<PathPattern> TICKET_WRITES = Arrays.asList(
+            PathPatternParser.defaultInstance.parse("/api/v1/tickets"),
+            PathPatternParser.defaultInstance.parse("/api/v1/tickets/{ticketID}/{change}"));
+
+    private final PersistenceAwaitRegistry registry;
+    private final long maxWaitMillis;
+
+    public PersistenceWaitFilter(PersistenceAwaitRegistry registry, Duration maxWait) {
+        this.registry = registry;
+        this.maxWaitMillis = maxWait.toMillis();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        long waitMillis = Math.min(waitMillis(request.getHeaders().get(PREFER_HEADER)), maxWaitMillis);
+        UUID eventId = waitMillis > 0 && isTicketWrite(request)
+                ? eventId(request.getHeaders().getFirst(IDEMPOTENCY_KEY_HEADER))
+                : null;
+
+        if (eventId == null || !registry.expect(eventId)) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            HttpStatus status = response.getStatusCode();
+            if (status != null && !status.is2xxSuccessful()) {
+                return Mono.empty();
+            }
+            return registry.await(eventId, Duration.ofMillis(waitMillis))
+                    .doOnNext(persisted -> {
+                        if (persisted) {
+                            response.getHeaders().set(PREFERENCE_APPLIED_HEADER, WAIT_PREFERENCE + waitMillis);
+                        }
+                    })
+                    .then();
+        });
+
+        return chain.filter(exchange)
+                .doFinally(signal -> registry.forget(eventId));
+    }
+
+    /**
+     * The wait preference in milliseconds, 0 if absent or invalid: unknown or malformed preferences are ignored.
+     */
+    static long waitMillis(List<String> preferHeaders) {
+        if (preferHeaders == null) {
+            return 0;
+        }
+        for (String header : preferHeaders) {
+            for (String preference : header.split(",")) {
+                String token = preference.trim();
+                if (token.regionMatches(true, 0, WAIT_PREFERENCE, 0, WAIT_PREFERENCE.length())) {
+                    // Preference parameters, after a ';', do not apply to wait
+                    int end = token.indexOf(';');
+                    String value = token.substring(WAIT_PREFERENCE.length(), end >= 0 ? end : token.length());
+                    try {
+                        return Math.max(0, Long.parseLong(value.trim()));
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isTicketWrite(ServerHttpRequest request) {
+        return TICKET_WRITES.stream().anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+    }
+
+    private static UUID eventId(String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return null;
+        }
+        try {
+            return UUIDCodec.parse(idempotencyKey.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
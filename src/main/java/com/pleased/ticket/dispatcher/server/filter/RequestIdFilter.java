@@ -0,0 +1,25 @@
+package com.pleased.ticket.dispatcher.server.filter;
+
+import com.pleased.ticket.dispatcher.server.util.RequestIdHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Assigns the request ID once, first in the chain.
+ * <p>
+ * The ID is stored in the exchange attributes, also as the Spring log prefix, and in the Reactor Context.
+ */
+public class RequestIdFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String requestId = RequestIdHolder.getOrCreate(exchange);
+        exchange.getAttributes().put(ServerWebExchange.LOG_ID_ATTRIBUTE, requestId);
+
+        return chain.filter(exchange)
+                .contextWrite(Context.of(RequestIdHolder.REQUEST_ID_CONTEXT_KEY, requestId));
+    }
+}
@@ -0,0 +1,72 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of a completed response kept for idempotent replays.
+ * <p>
+ * The body is held as raw bytes exactly as written to the wire, so a replay does not pay for a decode/encode round trip.
+ * The fingerprint of the request body that produced it, when known, lets a reused key with another payload be rejected.
+ * A response read from a shared store carries the time it expires there, so that a local copy does not outlive it.
+ */
+public class CachedResponse {
+
+    private final int status;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final String requestFingerprint;
+    private final Instant expiresAt;
+
+    public CachedResponse(int status, Map<String, List<String>> headers, byte[] body) {
+        this(status, headers, body, null);
+    }
+
+    public CachedResponse(int status, Map<String, List<String>> headers, byte[] body, String requestFingerprint) {
+        this(status, headers, body, requestFingerprint, null);
+    }
+
+    private CachedResponse(int status, Map<String, List<String>> headers, byte[] body, String requestFingerprint,
+                           Instant expiresAt) {
+        this.status = status;
+        this.headers = headers != null ? headers : Collections.<String, List<String>>emptyMap();
+        this.body = body != null ? body : new byte[0];
+        this.requestFingerprint = requestFingerprint;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * The same response, as read from a store where it expires at the given time.
+     */
+    public CachedResponse withExpiresAt(Instant expiresAt) {
+        return new CachedResponse(status, headers, body, requestFingerprint, expiresAt);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Hex encoded 128-bit hash of the original request body, or null if it was not recorded.
+     */
+    public String getRequestFingerprint() {
+        return requestFingerprint;
+    }
+
+    /**
+     * When the response expires in the store it was read from, or null if unknown. Not part of the encoded form.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
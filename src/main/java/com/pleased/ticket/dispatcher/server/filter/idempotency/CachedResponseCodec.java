@@ -0,0 +1,88 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of a {@link CachedResponse} for out of process stores.
+ * <p>
+ * Layout: version, status, header count, (name, value count, values)*, body length, body, has fingerprint, fingerprint.
+ * Version 1 entries (no fingerprint) are still readable.
+ */
+public final class CachedResponseCodec {
+
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_FINGERPRINT = 1;
+
+    private CachedResponseCodec() {
+    }
+
+    public static byte[] encode(CachedResponse response) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(response.getBody().length + 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(response.getStatus());
+
+            out.writeShort(response.getHeaders().size());
+            for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeShort(header.getValue().size());
+                for (String value : header.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+
+            out.writeInt(response.getBody().length);
+            out.write(response.getBody());
+
+            out.writeBoolean(response.getRequestFingerprint() != null);
+            if (response.getRequestFingerprint() != null) {
+                out.writeUTF(response.getRequestFingerprint());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode cached response", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static CachedResponse decode(byte[] encoded) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            byte version = in.readByte();
+            if (version != VERSION && version != VERSION_WITHOUT_FINGERPRINT) {
+                throw new IllegalStateException("Unsupported cached response version: " + version);
+            }
+            int status = in.readUnsignedShort();
+
+            int headerCount = in.readUnsignedShort();
+            Map<String, List<String>> headers = new LinkedHashMap<>(headerCount * 2);
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readUnsignedShort();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, values);
+            }
+
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+
+            String requestFingerprint = null;
+            if (version != VERSION_WITHOUT_FINGERPRINT && in.readBoolean()) {
+                requestFingerprint = in.readUTF();
+            }
+            return new CachedResponse(status, headers, body, requestFingerprint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode cached response", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Storage SPI behind the {@link com.pleased.ticket.dispatcher.server.filter.IdempotencyFilter}.
+ * <p>
+ * Implementations own the expiry of their entries. A stored response is immutable for the lifetime of its key.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * @return the stored response, or empty when the key is unknown or expired.
+     */
+    Mono<CachedResponse> get(String key);
+
+    Mono<Void> put(String key, CachedResponse response);
+}
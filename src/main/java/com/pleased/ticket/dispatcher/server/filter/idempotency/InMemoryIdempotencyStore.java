@@ -0,0 +1,80 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded, TTL evicting store of idempotent responses.
+ * <p>
+ * Entries are evicted once the maximum size is reached (Window TinyLFU) or when their TTL elapses,
+ * so the heap footprint stays flat under sustained load. A response that carries its expiry in a shared store is
+ * evicted by then at the latest.
+ * <p>
+ * Exposes {@code cache.gets{result=hit|miss}}, {@code cache.evictions} and {@code cache.size} metrics tagged with the cache name.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    public static final String CACHE_NAME = "idempotency";
+
+    private final Cache<String, CachedResponse> cache;
+    private final Duration ttl;
+
+    public InMemoryIdempotencyStore(long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this(CACHE_NAME, maximumSize, ttl, meterRegistry);
+    }
+
+    public InMemoryIdempotencyStore(String cacheName, long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return ttlNanos(response);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return ttlNanos(response);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName);
+    }
+
+    @Override
+    public Mono<CachedResponse> get(String key) {
+        return Mono.fromSupplier(() -> cache.getIfPresent(key));
+    }
+
+    @Override
+    public Mono<Void> put(String key, CachedResponse response) {
+        return Mono.fromRunnable(() -> cache.put(key, response));
+    }
+
+    private long ttlNanos(CachedResponse response) {
+        if (response.getExpiresAt() == null) {
+            return ttl.toNanos();
+        }
+        Duration remaining = Duration.between(Instant.now(), response.getExpiresAt());
+        return remaining.isNegative() ? 0 : Math.min(ttl.toNanos(), remaining.toNanos());
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
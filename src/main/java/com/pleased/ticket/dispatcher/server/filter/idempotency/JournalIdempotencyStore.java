@@ -0,0 +1,345 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Local idempotency store that survives restarts, backed by memory-mapped, append-only segment files.
+ * <p>
+ * Each response is appended to the active segment as {@code size, crc, expiresAt, key length, key, encoded response};
+ * the segment is rotated once full. Only the key to (segment, offset) index lives on the heap, rebuilt by scanning the
+ * segments on {@link #start()}. A torn tail (process killed mid-append) fails the size/CRC check and is ignored.
+ * <p>
+ * Segments whose newest entry has expired are deleted by a background compactor, which drops the keys written to them
+ * from the index. Reads copy the payload out of the segment under a shared lock, which compaction takes exclusively
+ * only to close a segment.
+ */
+@Slf4j
+public class JournalIdempotencyStore implements IdempotencyStore {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    // size + crc + expiresAt + key length
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 2;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration ttl;
+    private final Duration compactionInterval;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReadWriteLock segmentLock = new ReentrantReadWriteLock();
+
+    private volatile Segment active;
+    private Disposable compactionTask;
+
+    public JournalIdempotencyStore(Path directory, int segmentSize, Duration ttl, Duration compactionInterval) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.ttl = ttl;
+        this.compactionInterval = compactionInterval;
+    }
+
+    @Override
+    public Mono<CachedResponse> get(String key) {
+        // Reads may fault pages in, like appends
+        return Mono.fromSupplier(() -> read(key))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> put(String key, CachedResponse response) {
+        // Appends may fault pages in or rotate segments, keep them off the event loop
+        return Mono.<Void>fromRunnable(() -> append(key, CachedResponseCodec.encode(response)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Opens the existing segments, rebuilds the index and schedules compaction.
+     */
+    public void start() {
+        try {
+            Files.createDirectories(directory);
+            for (Path path : segmentFiles()) {
+                Segment segment = Segment.open(path, segmentId(path), 0);
+                segments.put(segment.id, segment);
+                recover(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open idempotency journal in " + directory, e);
+        }
+
+        Map.Entry<Long, Segment> last = segments.lastEntry();
+        active = last != null ? last.getValue() : createSegment(0);
+        log.info("Idempotency journal opened with {} segment(s) and {} live key(s)", segments.size(), index.size());
+
+        compactionTask = Flux.interval(compactionInterval)
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(tick -> {
+                    try {
+                        int deleted = compact();
+                        if (deleted > 0) {
+                            log.debug("Deleted {} expired idempotency journal segment(s)", deleted);
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to compact idempotency journal", e);
+                    }
+                });
+    }
+
+    public synchronized void stop() {
+        if (compactionTask != null) {
+            compactionTask.dispose();
+        }
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    /**
+     * Deletes every sealed segment whose entries have all expired.
+     *
+     * @return number of deleted segments
+     */
+    public int compact() {
+        long now = System.currentTimeMillis();
+        int deleted = 0;
+        for (Segment segment : segments.values()) {
+            if (segment == active || segment.maxExpiresAt > now) {
+                continue;
+            }
+            segments.remove(segment.id);
+            for (String key : segment.keys) {
+                // Keys written again since then point to a later segment
+                index.computeIfPresent(key, (k, location) -> location.segment == segment ? null : location);
+            }
+            // A read holding a location into the segment finishes copying before it is closed
+            segmentLock.writeLock().lock();
+            try {
+                segment.close();
+            } finally {
+                segmentLock.writeLock().unlock();
+            }
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("Failed to delete idempotency journal segment {}", segment.path, e);
+            }
+            deleted++;
+        }
+        return deleted;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    private CachedResponse read(String key) {
+        byte[] payload;
+        segmentLock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            if (location.expiresAt <= System.currentTimeMillis()) {
+                index.remove(key, location);
+                return null;
+            }
+
+            payload = new byte[location.length];
+            ByteBuffer view = location.segment.buffer.duplicate();
+            view.position(location.offset);
+            view.get(payload);
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+        return CachedResponseCodec.decode(payload);
+    }
+
+    private synchronized void append(String key, byte[] payload) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int recordLength = RECORD_HEADER_SIZE + keyBytes.length + payload.length;
+        if (keyBytes.length > 0xFFFF || recordLength > segmentSize) {
+            log.warn("Idempotent response for key {} does not fit in a journal segment, not stored", key);
+            return;
+        }
+        if (active.writePosition + recordLength > active.buffer.capacity()) {
+            rotate();
+        }
+
+        Segment segment = active;
+        int start = segment.writePosition;
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+
+        ByteBuffer view = segment.buffer.duplicate();
+        view.position(start + 8);
+        view.putLong(expiresAt);
+        view.putShort((short) keyBytes.length);
+        view.put(keyBytes);
+        int payloadOffset = view.position();
+        view.put(payload);
+
+        view.putInt(start + 4, checksum(segment.buffer, start + 8, recordLength - 8));
+        // Size goes last, a record is only visible to recovery once complete
+        view.putInt(start, recordLength - 4);
+
+        segment.writePosition = start + recordLength;
+        segment.keys.add(key);
+        segment.maxExpiresAt = Math.max(segment.maxExpiresAt, expiresAt);
+        index.put(key, new Location(segment, payloadOffset, payload.length, expiresAt));
+    }
+
+    private void rotate() {
+        active.buffer.force();
+        active = createSegment(active.id + 1);
+    }
+
+    private Segment createSegment(long id) {
+        Path path = directory.resolve(String.format("%016d%s", id, SEGMENT_SUFFIX));
+        try {
+            Segment segment = Segment.open(path, id, segmentSize);
+            segments.put(id, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create idempotency journal segment " + path, e);
+        }
+    }
+
+    private void recover(Segment segment) {
+        long now = System.currentTimeMillis();
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int size = buffer.getInt(position);
+            int recordLength = size + 4;
+            if (recordLength < RECORD_HEADER_SIZE || position + recordLength > buffer.capacity()
+                    || buffer.getInt(position + 4) != checksum(buffer, position + 8, recordLength - 8)) {
+                break;
+            }
+
+            long expiresAt = buffer.getLong(position + 8);
+            int keyLength = buffer.getShort(position + 16) & 0xFFFF;
+            int payloadOffset = position + RECORD_HEADER_SIZE + keyLength;
+
+            segment.maxExpiresAt = Math.max(segment.maxExpiresAt, expiresAt);
+            if (expiresAt > now) {
+                byte[] keyBytes = new byte[keyLength];
+                ByteBuffer view = buffer.duplicate();
+                view.position(position + RECORD_HEADER_SIZE);
+                view.get(keyBytes);
+                String key = new String(keyBytes, StandardCharsets.UTF_8);
+                segment.keys.add(key);
+                // Segments are replayed oldest first, later writes win
+                index.put(key, new Location(segment, payloadOffset, position + recordLength - payloadOffset, expiresAt));
+            }
+            position += recordLength;
+        }
+        segment.writePosition = position;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                files.add(path);
+            }
+        }
+        // Zero padded ids, lexical order is creation order
+        Collections.sort(files);
+        return files;
+    }
+
+    private static long segmentId(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit(offset + length);
+        view.position(offset);
+        CRC32 crc = new CRC32();
+        crc.update(view);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        // Keys written to the segment, added before maxExpiresAt is raised so that compaction sees them all
+        private final List<String> keys = new ArrayList<>();
+
+        private int writePosition;
+        private volatile long maxExpiresAt;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Maps the file, growing it to {@code minimumSize} when needed.
+         */
+        static Segment open(Path path, long id, int minimumSize) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = Math.max(channel.size(), minimumSize);
+            return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close idempotency journal segment {}", path, e);
+            }
+        }
+    }
+
+    private static final class Location {
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+        private final long expiresAt;
+
+        private Location(Segment segment, int offset, int length, long expiresAt) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Small in-process cache in front of a remote {@link IdempotencyStore}.
+ * <p>
+ * Stored responses never change for a given key, so the near cache only has to be bounded, never invalidated.
+ * Retries hitting the same node are answered without a network round trip. A response read from the shared store is
+ * kept for the near cache TTL, or until it expires in the shared store if that is sooner.
+ */
+public class NearCachingIdempotencyStore implements IdempotencyStore {
+
+    private final InMemoryIdempotencyStore nearCache;
+    private final IdempotencyStore delegate;
+
+    public NearCachingIdempotencyStore(InMemoryIdempotencyStore nearCache, IdempotencyStore delegate) {
+        this.nearCache = nearCache;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<CachedResponse> get(String key) {
+        return nearCache.get(key)
+                .switchIfEmpty(Mono.defer(() -> delegate.get(key)
+                        .flatMap(response -> nearCache.put(key, response).thenReturn(response))));
+    }
+
+    @Override
+    public Mono<Void> put(String key, CachedResponse response) {
+        return delegate.put(key, response)
+                .then(nearCache.put(key, response));
+    }
+}
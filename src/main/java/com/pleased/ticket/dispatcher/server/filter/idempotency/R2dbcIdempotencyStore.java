@@ -0,0 +1,82 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Idempotency store backed by the {@code idempotency_response} table of the shared R2DBC connection factory.
+ * <p>
+ * Expired rows are filtered on read and purged in the background.
+ */
+@Slf4j
+public class R2dbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String SELECT_SQL =
+            "SELECT response, expires_at FROM idempotency_response WHERE idempotency_key = :key AND expires_at > :now";
+    private static final String MERGE_SQL =
+            "MERGE INTO idempotency_response (idempotency_key, response, expires_at) KEY (idempotency_key) " +
+                    "VALUES (:key, :response, :expiresAt)";
+    private static final String PURGE_SQL =
+            "DELETE FROM idempotency_response WHERE expires_at <= :now";
+
+    private final DatabaseClient databaseClient;
+    private final Duration ttl;
+    private final Duration purgeInterval;
+
+    private Disposable purgeTask;
+
+    public R2dbcIdempotencyStore(DatabaseClient databaseClient, Duration ttl, Duration purgeInterval) {
+        this.databaseClient = databaseClient;
+        this.ttl = ttl;
+        this.purgeInterval = purgeInterval;
+    }
+
+    @Override
+    public Mono<CachedResponse> get(String key) {
+        return databaseClient.sql(SELECT_SQL)
+                .bind("key", key)
+                .bind("now", OffsetDateTime.now())
+                .map(row -> CachedResponseCodec.decode(row.get("response", byte[].class))
+                        .withExpiresAt(row.get("expires_at", OffsetDateTime.class).toInstant()))
+                .one();
+    }
+
+    @Override
+    public Mono<Void> put(String key, CachedResponse response) {
+        return databaseClient.sql(MERGE_SQL)
+                .bind("key", key)
+                .bind("response", CachedResponseCodec.encode(response))
+                .bind("expiresAt", OffsetDateTime.now().plus(ttl))
+                .then();
+    }
+
+    public Mono<Integer> purgeExpired() {
+        return databaseClient.sql(PURGE_SQL)
+                .bind("now", OffsetDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public void start() {
+        purgeTask = Flux.interval(purgeInterval)
+                .concatMap(tick -> purgeExpired()
+                        .doOnNext(purged -> log.debug("Purged {} expired idempotency responses", purged))
+                        .onErrorResume(error -> {
+                            log.warn("Failed to purge expired idempotency responses", error);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    public void stop() {
+        if (purgeTask != null) {
+            purgeTask.dispose();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Idempotency store speaking the Redis protocol, shared by every dispatcher node.
+ * <p>
+ * Entries are written with {@code SET key value PX ttl}, so expiry is handled by the server. Reads also fetch the
+ * remaining TTL, which caps the near cache in front of the store.
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final Duration ttl;
+
+    public RedisIdempotencyStore(ReactiveRedisTemplate<String, byte[]> redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Mono<CachedResponse> get(String key) {
+        // Both commands are written on the shared connection without waiting for each other
+        return Mono.zip(redisTemplate.opsForValue().get(KEY_PREFIX + key), redisTemplate.getExpire(KEY_PREFIX + key))
+                .map(entry -> {
+                    CachedResponse response = CachedResponseCodec.decode(entry.getT1());
+                    // Zero when the key has no expiry
+                    return entry.getT2().isZero() ? response : response.withExpiresAt(Instant.now().plus(entry.getT2()));
+                });
+    }
+
+    @Override
+    public Mono<Void> put(String key, CachedResponse response) {
+        return redisTemplate.opsForValue()
+                .set(KEY_PREFIX + key, CachedResponseCodec.encode(response), ttl)
+                .then();
+    }
+}
@@ -0,0 +1,89 @@
+package com.pleased.ticket.dispatcher.server.filter.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hands log records over to a single background writer thread through a bounded ring buffer.
+ * <p>
+ * {@link #offer} never blocks the caller (an event loop thread): when the buffer is full the record is dropped and
+ * counted in {@code http.log.dropped}. The buffer depth is exposed as {@code http.log.queue.size}.
+ */
+@Slf4j
+public class AsyncLogWriter<T> {
+
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+    private final BlockingQueue<T> queue;
+    private final Consumer<T> sink;
+    private final Counter dropped;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public AsyncLogWriter(String name, int capacity, Consumer<T> sink, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.dropped = Counter.builder("http.log.dropped")
+                .description("Log records dropped because the writer queue was full")
+                .tag("writer", name)
+                .register(meterRegistry);
+        Gauge.builder("http.log.queue.size", queue, BlockingQueue::size)
+                .description("Log records waiting for the writer thread")
+                .tag("writer", name)
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::drain, name + "-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Enqueues the record, or drops it if the buffer is full.
+     *
+     * @return false if the record was dropped
+     */
+    public boolean offer(T record) {
+        if (queue.offer(record)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Stops the writer once the records already queued are written.
+     */
+    public void close() {
+        running = false;
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                T record = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (record != null) {
+                    sink.accept(record);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to write log record", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.pleased.ticket.dispatcher.server.filter.logging;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the first {@code maxBytes} of a body as it streams by, and counts the rest.
+ * <p>
+ * Nothing is copied on the event loop: the prefix is held as retained slices of the original (pooled) buffers, which
+ * continue downstream unchanged. The memory is shared until {@link #release()} is called once the record is written.
+ */
+public class BodyCapture {
+
+    private final int maxBytes;
+    private final List<DataBuffer> slices = new ArrayList<>(1);
+    private int captured;
+    private long totalBytes;
+    private boolean released;
+
+    public BodyCapture(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized void append(DataBuffer dataBuffer) {
+        int readable = dataBuffer.readableByteCount();
+        totalBytes += readable;
+
+        int count = Math.min(maxBytes - captured, readable);
+        if (count <= 0 || released) {
+            return;
+        }
+        slices.add(dataBuffer.retainedSlice(dataBuffer.readPosition(), count));
+        captured += count;
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized boolean isTruncated() {
+        return totalBytes > captured;
+    }
+
+    /**
+     * Captured prefix as text; a multi-byte char cut at the limit decodes as a replacement char.
+     */
+    public synchronized String prefixAsString() {
+        if (captured == 0) {
+            return "";
+        }
+        byte[] bytes = new byte[captured];
+        int offset = 0;
+        for (DataBuffer slice : slices) {
+            int length = slice.readableByteCount();
+            slice.asByteBuffer().get(bytes, offset, length);
+            offset += length;
+        }
+        return new String(bytes, 0, offset, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the captured prefix through the masker, straight from the slices.
+     */
+    public synchronized void maskTo(JsonMasker masker, StringBuilder out) {
+        List<ByteBuffer> chunks = new ArrayList<>(slices.size());
+        for (DataBuffer slice : slices) {
+            chunks.add(slice.asByteBuffer());
+        }
+        masker.mask(chunks, out);
+    }
+
+    /**
+     * Releases the retained slices, later appends are ignored.
+     */
+    public synchronized void release() {
+        released = true;
+        for (DataBuffer slice : slices) {
+            DataBufferUtils.release(slice);
+        }
+        slices.clear();
+    }
+}
@@ -0,0 +1,106 @@
+package com.pleased.ticket.dispatcher.server.filter.logging;
+
+import org.slf4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.time.Instant;
+
+/**
+ * Request and response of one exchange, captured on the event loop and formatted by the writer thread.
+ * <p>
+ * Holds retained body slices: {@link #release()} must be called once the record is written or dropped.
+ */
+public class HttpExchangeLog {
+
+    private final String traceId;
+    private final Instant requestTime;
+    private final String method;
+    private final URI uri;
+    private final HttpHeaders requestHeaders;
+    private final BodyCapture requestBody;
+    private final Instant responseTime;
+    private final Integer status;
+    private final HttpHeaders responseHeaders;
+    private final BodyCapture responseBody;
+
+    public HttpExchangeLog(String traceId, Instant requestTime, String method, URI uri, HttpHeaders requestHeaders,
+                           BodyCapture requestBody, Instant responseTime, Integer status, HttpHeaders responseHeaders,
+                           BodyCapture responseBody) {
+        this.traceId = traceId;
+        this.requestTime = requestTime;
+        this.method = method;
+        this.uri = uri;
+        this.requestHeaders = requestHeaders;
+        this.requestBody = requestBody;
+        this.responseTime = responseTime;
+        this.status = status;
+        this.responseHeaders = responseHeaders;
+        this.responseBody = responseBody;
+    }
+
+    /**
+     * Writes the request and response lines, JSON bodies masked by {@code masker}.
+     *
+     * @param scratch reusable line buffer, owned by the calling (writer) thread
+     */
+    public void writeTo(Logger log, JsonMasker masker, StringBuilder scratch) {
+        scratch.setLength(0);
+        scratch.append("Request Log | TraceID: ").append(traceId)
+                .append(" | Time: ").append(requestTime)
+                .append(" | Method: ").append(method)
+                .append(" | URI: ").append(uri)
+                .append(" | Headers: ").append(requestHeaders)
+                .append(" | Body: ");
+        appendBody(requestBody, requestHeaders, masker, scratch);
+        log.info(scratch.toString());
+
+        scratch.setLength(0);
+        scratch.append("Response Log | TraceID: ").append(traceId)
+                .append(" | Time: ").append(responseTime)
+                .append(" | Status: ").append(status != null ? status : 200)
+                .append(" | Headers: ").append(responseHeaders)
+                .append(" | Body: ");
+        appendBody(responseBody, responseHeaders, masker, scratch);
+        log.info(scratch.toString());
+    }
+
+    public void release() {
+        requestBody.release();
+        responseBody.release();
+    }
+
+    private static void appendBody(BodyCapture body, HttpHeaders headers, JsonMasker masker, StringBuilder out) {
+        int start = out.length();
+        if (isJson(headers)) {
+            body.maskTo(masker, out);
+        } else {
+            out.append(compact(body.prefixAsString()));
+        }
+
+        if (out.length() == start) {
+            out.append("[empty]");
+        } else if (body.isTruncated()) {
+            out.append("... [").append(body.getTotalBytes()).append(" bytes]");
+        }
+    }
+
+    private static boolean isJson(HttpHeaders headers) {
+        try {
+            MediaType contentType = headers.getContentType();
+            return contentType != null && (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                    || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                    || (contentType.getSubtype() != null && contentType.getSubtype().endsWith("+json")));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static String compact(String body) {
+        if (body == null || body.trim().isEmpty()) return "";
+        return StringUtils.trimWhitespace(body.replaceAll("[\n\r]+", " "));
+    }
+}
@@ -0,0 +1,371 @@
+package com.pleased.ticket.dispatcher.server.filter.logging;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Single pass JSON masking for logged payloads.
+ * <p>
+ * Reads raw UTF-8 bytes, possibly split over several chunks, and writes the compacted JSON (insignificant whitespace
+ * dropped) straight into a {@link StringBuilder}, replacing the value of every masked field with {@code "***"}.
+ * No token or intermediate String is created; field names are matched on their raw bytes.
+ * <p>
+ * A rule without a dot ({@code email}) masks that field at any depth. A dotted rule ({@code reporter.email}) is a path
+ * from the root object, array elements being transparent. Input cut mid-document (a captured prefix) is fine.
+ * Instances are immutable and thread safe.
+ */
+public class JsonMasker {
+
+    static final String MASK = "\"***\"";
+
+    private final byte[][] anyDepthFields;
+    private final PathNode root = new PathNode(null);
+
+    public JsonMasker(Collection<String> maskedFields) {
+        List<byte[]> anyDepth = new ArrayList<>();
+        for (String field : maskedFields) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.indexOf('.') < 0) {
+                anyDepth.add(trimmed.getBytes(StandardCharsets.UTF_8));
+                continue;
+            }
+            PathNode node = root;
+            for (String segment : trimmed.split("\\.")) {
+                node = node.childOrCreate(segment.getBytes(StandardCharsets.UTF_8));
+            }
+            node.masked = true;
+        }
+        this.anyDepthFields = anyDepth.toArray(new byte[0][]);
+    }
+
+    /**
+     * Parses comma separated field rules, e.g. {@code description,email,reporter.phone}.
+     */
+    public static JsonMasker parse(String maskedFields) {
+        if (maskedFields == null || maskedFields.trim().isEmpty()) {
+            return new JsonMasker(new ArrayList<>());
+        }
+        return new JsonMasker(Arrays.asList(maskedFields.split(",")));
+    }
+
+    public void mask(Iterable<ByteBuffer> chunks, StringBuilder out) {
+        Scanner scanner = new Scanner(out);
+        for (ByteBuffer chunk : chunks) {
+            for (int i = chunk.position(); i < chunk.limit(); i++) {
+                scanner.accept(chunk.get(i));
+            }
+        }
+        scanner.finish();
+    }
+
+    public void mask(byte[] json, StringBuilder out) {
+        Scanner scanner = new Scanner(out);
+        for (byte b : json) {
+            scanner.accept(b);
+        }
+        scanner.finish();
+    }
+
+    private boolean isAnyDepthField(byte[] key, int length) {
+        for (byte[] field : anyDepthFields) {
+            if (equals(field, key, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean equals(byte[] expected, byte[] actual, int actualLength) {
+        if (expected.length != actualLength) {
+            return false;
+        }
+        for (int i = 0; i < actualLength; i++) {
+            if (expected[i] != actual[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Segment of the dotted path rules.
+     */
+    private static final class PathNode {
+        private final byte[] name;
+        private final List<PathNode> children = new ArrayList<>(2);
+        private boolean masked;
+
+        private PathNode(byte[] name) {
+            this.name = name;
+        }
+
+        private PathNode childOrCreate(byte[] childName) {
+            for (PathNode child : children) {
+                if (Arrays.equals(child.name, childName)) {
+                    return child;
+                }
+            }
+            PathNode child = new PathNode(childName);
+            children.add(child);
+            return child;
+        }
+
+        private PathNode child(byte[] key, int length) {
+            for (PathNode child : children) {
+                if (JsonMasker.equals(child.name, key, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Per call tokenizer state.
+     */
+    private final class Scanner {
+        private static final int SKIP_NONE = 0;
+        private static final int SKIP_AWAIT_VALUE = 1;
+        private static final int SKIP_STRING = 2;
+        private static final int SKIP_CONTAINER = 3;
+        private static final int SKIP_SCALAR = 4;
+
+        private final StringBuilder out;
+
+        // Open containers, true for objects, with the path rule node each one is on (null when off every path)
+        private boolean[] objects = new boolean[16];
+        private PathNode[] nodes = new PathNode[16];
+        private int depth;
+
+        private boolean expectKey;
+        private boolean inString;
+        private boolean stringIsKey;
+        private boolean escape;
+
+        private byte[] key = new byte[64];
+        private int keyLength;
+        private PathNode keyNode;
+        private boolean maskNextValue;
+
+        private int skip = SKIP_NONE;
+        private int skipDepth;
+        private boolean skipInString;
+        private boolean skipEscape;
+
+        // Pending UTF-8 sequence
+        private int codePoint;
+        private int continuationBytes;
+
+        private Scanner(StringBuilder out) {
+            this.out = out;
+        }
+
+        private void accept(byte b) {
+            if (skip != SKIP_NONE) {
+                if (skipValue(b)) {
+                    return;
+                }
+            }
+            if (inString) {
+                acceptInString(b);
+                return;
+            }
+
+            switch (b) {
+                case '{':
+                case '[':
+                    out.append((char) b);
+                    push(b == '{', valueNode());
+                    expectKey = b == '{';
+                    break;
+                case '}':
+                case ']':
+                    out.append((char) b);
+                    if (depth > 0) {
+                        depth--;
+                    }
+                    expectKey = false;
+                    break;
+                case ',':
+                    out.append(',');
+                    expectKey = depth > 0 && objects[depth - 1];
+                    break;
+                case ':':
+                    out.append(':');
+                    expectKey = false;
+                    if (maskNextValue) {
+                        maskNextValue = false;
+                        out.append(MASK);
+                        skip = SKIP_AWAIT_VALUE;
+                    }
+                    break;
+                case '"':
+                    out.append('"');
+                    inString = true;
+                    stringIsKey = expectKey && depth > 0 && objects[depth - 1];
+                    keyLength = 0;
+                    break;
+                case ' ':
+                case '\t':
+                case '\r':
+                case '\n':
+                    break;
+                default:
+                    appendByte(b);
+            }
+        }
+
+        private void acceptInString(byte b) {
+            if (escape) {
+                escape = false;
+            } else if (b == '\\') {
+                escape = true;
+            } else if (b == '"') {
+                inString = false;
+                out.append('"');
+                if (stringIsKey) {
+                    resolveKey();
+                }
+                return;
+            }
+            if (stringIsKey) {
+                if (keyLength == key.length) {
+                    key = Arrays.copyOf(key, key.length * 2);
+                }
+                key[keyLength++] = b;
+            }
+            appendByte(b);
+        }
+
+        private void resolveKey() {
+            PathNode parent = nodes[depth - 1];
+            keyNode = parent != null ? parent.child(key, keyLength) : null;
+            maskNextValue = (keyNode != null && keyNode.masked) || isAnyDepthField(key, keyLength);
+        }
+
+        /**
+         * Consumes the masked value.
+         *
+         * @return true if the byte was part of it, false if it ended the value and must be processed normally
+         */
+        private boolean skipValue(byte b) {
+            switch (skip) {
+                case SKIP_AWAIT_VALUE:
+                    if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                        return true;
+                    }
+                    if (b == '"') {
+                        skip = SKIP_STRING;
+                    } else if (b == '{' || b == '[') {
+                        skip = SKIP_CONTAINER;
+                        skipDepth = 1;
+                    } else {
+                        skip = SKIP_SCALAR;
+                    }
+                    return true;
+                case SKIP_STRING:
+                    if (skipEscape) {
+                        skipEscape = false;
+                    } else if (b == '\\') {
+                        skipEscape = true;
+                    } else if (b == '"') {
+                        skip = SKIP_NONE;
+                    }
+                    return true;
+                case SKIP_CONTAINER:
+                    if (skipInString) {
+                        if (skipEscape) {
+                            skipEscape = false;
+                        } else if (b == '\\') {
+                            skipEscape = true;
+                        } else if (b == '"') {
+                            skipInString = false;
+                        }
+                    } else if (b == '"') {
+                        skipInString = true;
+                    } else if (b == '{' || b == '[') {
+                        skipDepth++;
+                    } else if ((b == '}' || b == ']') && --skipDepth == 0) {
+                        skip = SKIP_NONE;
+                    }
+                    return true;
+                default:
+                    if (b == ',' || b == '}' || b == ']' || b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                        skip = SKIP_NONE;
+                        return false;
+                    }
+                    return true;
+            }
+        }
+
+        private PathNode valueNode() {
+            if (depth == 0) {
+                return root;
+            }
+            // Array elements stay on the array's path
+            return objects[depth - 1] ? keyNode : nodes[depth - 1];
+        }
+
+        private void push(boolean object, PathNode node) {
+            if (depth == objects.length) {
+                objects = Arrays.copyOf(objects, depth * 2);
+                nodes = Arrays.copyOf(nodes, depth * 2);
+            }
+            objects[depth] = object;
+            nodes[depth] = node;
+            depth++;
+        }
+
+        private void appendByte(byte b) {
+            if (b >= 0) {
+                flushMalformed();
+                out.append((char) b);
+            } else if ((b & 0xC0) == 0x80) {
+                if (continuationBytes == 0) {
+                    out.append('\uFFFD');
+                    return;
+                }
+                codePoint = (codePoint << 6) | (b & 0x3F);
+                if (--continuationBytes == 0) {
+                    if (Character.isValidCodePoint(codePoint)) {
+                        out.appendCodePoint(codePoint);
+                    } else {
+                        out.append('\uFFFD');
+                    }
+                }
+            } else {
+                flushMalformed();
+                if ((b & 0xE0) == 0xC0) {
+                    codePoint = b & 0x1F;
+                    continuationBytes = 1;
+                } else if ((b & 0xF0) == 0xE0) {
+                    codePoint = b & 0x0F;
+                    continuationBytes = 2;
+                } else if ((b & 0xF8) == 0xF0) {
+                    codePoint = b & 0x07;
+                    continuationBytes = 3;
+                } else {
+                    out.append('\uFFFD');
+                }
+            }
+        }
+
+        private void flushMalformed() {
+            if (continuationBytes > 0) {
+                continuationBytes = 0;
+                out.append('\uFFFD');
+            }
+        }
+
+        private void finish() {
+            flushMalformed();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.pleased.ticket.dispatcher.server.filter.logging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which requests get logged, with a sampling rate per path prefix.
+ * <p>
+ * The longest matching prefix wins, other paths use the default rate. A rate of 1.0 logs every request, 0.0 none.
+ */
+public class RouteSampler {
+
+    private final double defaultRate;
+    private final List<Map.Entry<String, Double>> routeRates;
+
+    public RouteSampler(double defaultRate, Map<String, Double> routeRates) {
+        this.defaultRate = defaultRate;
+        this.routeRates = new ArrayList<>(routeRates.entrySet());
+        // Longest prefix first
+        this.routeRates.sort((a, b) -> Integer.compare(b.getKey().length(), a.getKey().length()));
+    }
+
+    public static RouteSampler always() {
+        return new RouteSampler(1.0, Collections.<String, Double>emptyMap());
+    }
+
+    /**
+     * Parses comma separated {@code prefix=rate} pairs, e.g. {@code /actuator=0,/api/v1/tickets=0.25}.
+     */
+    public static RouteSampler parse(double defaultRate, String routeRates) {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        if (routeRates != null) {
+            for (String route : routeRates.split(",")) {
+                if (route.trim().isEmpty()) {
+                    continue;
+                }
+                int separator = route.lastIndexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Invalid route sampling rate: " + route);
+                }
+                rates.put(route.substring(0, separator).trim(), Double.parseDouble(route.substring(separator + 1).trim()));
+            }
+        }
+        return new RouteSampler(defaultRate, rates);
+    }
+
+    public boolean sample(String path) {
+        double rate = rateFor(path);
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    double rateFor(String path) {
+        for (Map.Entry<String, Double> route : routeRates) {
+            if (path.startsWith(route.getKey())) {
+                return route.getValue();
+            }
+        }
+        return defaultRate;
+    }
+}
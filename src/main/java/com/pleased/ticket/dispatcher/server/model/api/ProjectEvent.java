@@ -0,0 +1,23 @@
+package com.pleased.ticket.dispatcher.server.model.api;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Ticket change pushed to the subscribers of a project, only the fields of its type are set
+ */
+@Getter
+@Setter
+public class ProjectEvent {
+    private UUID eventId;
+    private ProjectEventTypeEnum type;
+    private UUID projectId;
+    private UUID ticketId;
+    private String subject;
+    private UUID assigneeId;
+    private String status;
+    private OffsetDateTime occurredAt;
+}
@@ -0,0 +1,5 @@
+package com.pleased.ticket.dispatcher.server.model.api;
+
+public enum ProjectEventTypeEnum {
+    TICKET_CREATED, TICKET_ASSIGNED, TICKET_STATUS_UPDATED
+}
@@ -3,6 +3,7 @@ package com.pleased.ticket.dispatcher.server.model.api;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -16,6 +17,8 @@ public class TicketAPIResponse extends BaseAPIResponse {
     private String subject;
     private String description;
     private String priority;
+    private LocalDate dueDate;
+    private Boolean notify;
     private UUID projectId;
     private UUID userId;
     private String status;
@@ -0,0 +1,17 @@
+package com.pleased.ticket.dispatcher.server.model.api;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * API Result of one item of a batch ticket creation, either the created ticket or the failure reason
+ */
+@Getter
+@Setter
+public class TicketBatchItemAPIResult {
+    private UUID idempotencyKey;
+    private TicketAPIResponse ticket;
+    private String error;
+}
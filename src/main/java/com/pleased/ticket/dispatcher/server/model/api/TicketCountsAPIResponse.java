@@ -0,0 +1,17 @@
+package com.pleased.ticket.dispatcher.server.model.api;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * API Response for the open and in progress ticket counts of a project or an assignee
+ */
+@Getter
+@Setter
+public class TicketCountsAPIResponse {
+    private UUID ownerId;
+    private long open;
+    private long inProgress;
+}
@@ -3,15 +3,19 @@ package com.pleased.ticket.dispatcher.server.model.api;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDate;
+import java.util.UUID;
+
 /**
- * API Request for ticket details update
+ * API Request for ticket details update, fields left null are not changed
  */
 @Getter
 @Setter
 public class TicketDetailsAPIRequest extends BaseAPIRequest {
-    private String ticketID;
-    private String title;
+    private UUID ticketID;
+    private String subject;
     private String description;
     private String priority;
-    private String category;
+    private LocalDate dueDate;
+    private Boolean notify;
 }
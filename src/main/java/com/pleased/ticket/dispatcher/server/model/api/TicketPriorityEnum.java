@@ -0,0 +1,32 @@
+package com.pleased.ticket.dispatcher.server.model.api;
+
+/**
+ * Ticket priorities, persisted as their level so that tickets sort by urgency.
+ */
+public enum TicketPriorityEnum {
+    LOW(1), MEDIUM(2), HIGH(3), URGENT(4);
+
+    private final int level;
+
+    TicketPriorityEnum(int level) {
+        this.level = level;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * The priority persisted with the given level.
+     *
+     * @throws IllegalArgumentException if no priority has that level
+     */
+    public static TicketPriorityEnum fromLevel(int level) {
+        for (TicketPriorityEnum priority : values()) {
+            if (priority.level == level) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown priority level: " + level);
+    }
+}
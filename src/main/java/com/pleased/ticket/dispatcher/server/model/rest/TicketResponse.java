@@ -39,6 +39,8 @@ public class TicketResponse   {
     
     IN_PROGRESS("in_progress"),
     
+    RESOLVED("resolved"),
+    
     CLOSED("closed");
 
     private String value;
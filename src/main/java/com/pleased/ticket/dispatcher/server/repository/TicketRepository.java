@@ -1,12 +1,50 @@
 package com.pleased.ticket.dispatcher.server.repository;
 
 import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
+/**
+ * Tickets, listed by project, reporter or assignee.
+ * <p>
+ * Pages are read with keyset pagination on (created_at, ticket_id): a page starts right after the last ticket of the
+ * previous one and is served from the matching (owner, created_at, ticket_id) index, so a deep page costs the same as
+ * the first one.
+ * <p>
+ * Tickets changed since a given time are read by the {@link com.pleased.ticket.dispatcher.server.service.TicketSearchIndex}
+ * on start, to catch up with its snapshot.
+ */
 public interface TicketRepository extends ReactiveCrudRepository<TicketEntity, UUID> {
+
+    String AFTER_CURSOR = " AND created_at >= :createdAt AND (created_at > :createdAt OR ticket_id > :ticketId)";
+    String KEYSET_ORDER = " ORDER BY created_at, ticket_id LIMIT :limit";
+
     Flux<TicketEntity> findByProjectId(UUID projectId);
     Flux<TicketEntity> findByUserId(UUID userId);
+    Flux<TicketEntity> findByAssigneeId(UUID assigneeId);
+
+    @Query("SELECT * FROM ticket WHERE project_id = :projectId" + KEYSET_ORDER)
+    Flux<TicketEntity> findFirstPageByProjectId(UUID projectId, int limit);
+
+    @Query("SELECT * FROM ticket WHERE project_id = :projectId" + AFTER_CURSOR + KEYSET_ORDER)
+    Flux<TicketEntity> findPageByProjectIdAfter(UUID projectId, OffsetDateTime createdAt, UUID ticketId, int limit);
+
+    @Query("SELECT * FROM ticket WHERE user_id = :userId" + KEYSET_ORDER)
+    Flux<TicketEntity> findFirstPageByUserId(UUID userId, int limit);
+
+    @Query("SELECT * FROM ticket WHERE user_id = :userId" + AFTER_CURSOR + KEYSET_ORDER)
+    Flux<TicketEntity> findPageByUserIdAfter(UUID userId, OffsetDateTime createdAt, UUID ticketId, int limit);
+
+    @Query("SELECT * FROM ticket WHERE assignee_id = :assigneeId" + KEYSET_ORDER)
+    Flux<TicketEntity> findFirstPageByAssigneeId(UUID assigneeId, int limit);
+
+    @Query("SELECT * FROM ticket WHERE assignee_id = :assigneeId" + AFTER_CURSOR + KEYSET_ORDER)
+    Flux<TicketEntity> findPageByAssigneeIdAfter(UUID assigneeId, OffsetDateTime createdAt, UUID ticketId, int limit);
+
+    @Query("SELECT * FROM ticket WHERE created_at > :since OR updated_at > :since")
+    Flux<TicketEntity> findChangedSince(OffsetDateTime since);
 }
@@ -0,0 +1,55 @@
+package com.pleased.ticket.dispatcher.server.security;
+
+import com.nimbusds.jose.util.JSONObjectUtils;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes each token to the decoder of the algorithm named in its header, e.g. HS256 to the shared secret decoder
+ * and RS256/ES256 to the JWKS one. Tokens with any other algorithm are rejected.
+ */
+public class AlgorithmDispatchingJwtDecoder implements ReactiveJwtDecoder {
+
+    private final Map<String, ReactiveJwtDecoder> decoders;
+
+    public AlgorithmDispatchingJwtDecoder(Map<String, ReactiveJwtDecoder> decoders) {
+        this.decoders = new HashMap<>(decoders);
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        String algorithm;
+        try {
+            algorithm = algorithm(token);
+        } catch (RuntimeException e) {
+            return Mono.error(new BadJwtException(JwtAssembler.DECODING_ERROR + "Malformed token", e));
+        }
+        ReactiveJwtDecoder decoder = algorithm != null ? decoders.get(algorithm) : null;
+        if (decoder == null) {
+            return Mono.error(new BadJwtException(JwtAssembler.DECODING_ERROR + "Unsupported algorithm " + algorithm));
+        }
+        return decoder.decode(token);
+    }
+
+    private static String algorithm(String token) {
+        int headerEnd = token.indexOf('.');
+        if (headerEnd < 0) {
+            throw new IllegalArgumentException("No header");
+        }
+        byte[] header = Base64.getUrlDecoder().decode(token.substring(0, headerEnd));
+        try {
+            Object algorithm = JSONObjectUtils.parse(new String(header, StandardCharsets.UTF_8)).get("alg");
+            return algorithm instanceof String ? (String) algorithm : null;
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Malformed header", e);
+        }
+    }
+}
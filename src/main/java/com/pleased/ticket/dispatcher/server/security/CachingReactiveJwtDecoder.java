@@ -0,0 +1,119 @@
+package com.pleased.ticket.dispatcher.server.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers verified tokens, so that a token reused across calls is parsed and verified only once.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token, never by the token itself, and expire at the token's
+ * {@code exp} claim or after {@code maxTtl}, whichever comes first. Failed verifications are not cached.
+ * <p>
+ * Exposes {@code cache.gets{result=hit|miss}}, {@code cache.evictions} and {@code cache.size} metrics tagged with the cache name.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    public static final String CACHE_NAME = "jwt";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final ReactiveJwtDecoder delegate;
+    private final Cache<ByteBuffer, Jwt> cache;
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, long maximumSize, Duration maxTtl,
+                                     MeterRegistry meterRegistry) {
+        this(delegate, maximumSize, maxTtl, meterRegistry, Ticker.systemTicker());
+    }
+
+    CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, long maximumSize, Duration maxTtl,
+                              MeterRegistry meterRegistry, Ticker ticker) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilExpiry(maxTtl))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        ByteBuffer digest = digest(token);
+        Jwt cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return delegate.decode(token)
+                .doOnNext(jwt -> {
+                    // Already expired tokens would be evicted right away
+                    if (jwt.getExpiresAt() == null || jwt.getExpiresAt().isAfter(Instant.now())) {
+                        cache.put(digest, jwt);
+                    }
+                });
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static ByteBuffer digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Keeps each entry until the token's expiry, capped to the max TTL.
+     */
+    private static final class UntilExpiry implements Expiry<ByteBuffer, Jwt> {
+
+        private final long maxTtlNanos;
+
+        private UntilExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return maxTtlNanos;
+            }
+            // Saturates instead of overflowing for far away expiries
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(expiresAt.toEpochMilli() - System.currentTimeMillis());
+            return Math.max(0, Math.min(maxTtlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
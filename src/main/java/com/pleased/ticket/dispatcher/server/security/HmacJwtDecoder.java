@@ -0,0 +1,109 @@
+package com.pleased.ticket.dispatcher.server.security;
+
+import com.nimbusds.jose.util.JSONObjectUtils;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.text.ParseException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * HS256 token decoder cheap enough to run inline on the event loop.
+ * <p>
+ * The key is prepared once and each thread reuses its own initialized {@link Mac}; the signature is computed straight
+ * over the ASCII bytes of the token. Claims are then checked by {@link JwtAssembler}.
+ */
+public class HmacJwtDecoder implements ReactiveJwtDecoder {
+
+    public static final String ALGORITHM = "HS256";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final String DECODING_ERROR = JwtAssembler.DECODING_ERROR;
+
+    private final ThreadLocal<Mac> mac;
+
+    public HmacJwtDecoder(byte[] secret) {
+        SecretKeySpec key = new SecretKeySpec(secret, MAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(MAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to initialize " + MAC_ALGORITHM, e);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        try {
+            return Mono.just(verify(token));
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Verifies the token synchronously.
+     *
+     * @throws BadJwtException        if the token is malformed or its signature does not match
+     * @throws JwtValidationException if a claim is not valid, e.g. the token has expired
+     */
+    public Jwt verify(String token) {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            throw new BadJwtException(DECODING_ERROR + "Malformed token");
+        }
+
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+
+        // Signature first, nothing else of a forged token gets parsed
+        Mac hmac = mac.get();
+        hmac.update(bytes, 0, payloadEnd);
+        byte[] expected = hmac.doFinal();
+        byte[] actual = base64Url(bytes, payloadEnd + 1, bytes.length - payloadEnd - 1);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new BadJwtException(DECODING_ERROR + "Invalid signature");
+        }
+
+        Map<String, Object> headers = json(bytes, 0, headerEnd);
+        if (!ALGORITHM.equals(headers.get("alg"))) {
+            throw new BadJwtException(DECODING_ERROR + "Unsupported algorithm " + headers.get("alg"));
+        }
+        return JwtAssembler.assemble(token, headers, json(bytes, headerEnd + 1, payloadEnd - headerEnd - 1));
+    }
+
+    private static Map<String, Object> json(byte[] bytes, int offset, int length) {
+        try {
+            return JSONObjectUtils.parse(new String(base64Url(bytes, offset, length), StandardCharsets.UTF_8));
+        } catch (ParseException e) {
+            throw new BadJwtException(DECODING_ERROR + "Malformed JSON", e);
+        }
+    }
+
+    private static byte[] base64Url(byte[] bytes, int offset, int length) {
+        try {
+            ByteBuffer decoded = Base64.getUrlDecoder().decode(ByteBuffer.wrap(bytes, offset, length));
+            if (decoded.hasArray() && decoded.arrayOffset() == 0 && decoded.remaining() == decoded.array().length) {
+                return decoded.array();
+            }
+            byte[] result = new byte[decoded.remaining()];
+            decoded.get(result);
+            return result;
+        } catch (IllegalArgumentException e) {
+            throw new BadJwtException(DECODING_ERROR + "Malformed Base64URL", e);
+        }
+    }
+}
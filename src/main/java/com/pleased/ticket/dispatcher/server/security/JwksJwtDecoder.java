@@ -0,0 +1,77 @@
+package com.pleased.ticket.dispatcher.server.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RS256/ES256 (and stronger) token decoder on the keys of a {@link JwksKeySource}.
+ * <p>
+ * Verifies inline: the keys are already parsed and in memory, nothing is fetched on the request path.
+ */
+public class JwksJwtDecoder implements ReactiveJwtDecoder {
+
+    public static final List<String> ALGORITHMS = Collections.unmodifiableList(Arrays.asList(
+            "RS256", "RS384", "RS512", "ES256", "ES384", "ES512"));
+
+    private static final String DECODING_ERROR = JwtAssembler.DECODING_ERROR;
+
+    private final JwksKeySource keySource;
+
+    public JwksJwtDecoder(JwksKeySource keySource) {
+        this.keySource = keySource;
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        try {
+            return Mono.just(verify(token));
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Verifies the token synchronously.
+     *
+     * @throws BadJwtException        if the token is malformed, signed with an unknown key or its signature does not match
+     * @throws JwtValidationException if a claim is not valid, e.g. the token has expired
+     */
+    public Jwt verify(String token) {
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+            JWSHeader header = signedJWT.getHeader();
+            if (!ALGORITHMS.contains(header.getAlgorithm().getName())) {
+                throw new BadJwtException(DECODING_ERROR + "Unsupported algorithm " + header.getAlgorithm());
+            }
+
+            JwksKeySource.VerificationKey key = keySource.key(header.getKeyID());
+            if (key == null) {
+                throw new BadJwtException(DECODING_ERROR + "Unknown key " + header.getKeyID());
+            }
+            if (!key.supports(header.getAlgorithm())) {
+                throw new BadJwtException(DECODING_ERROR + "Key " + header.getKeyID()
+                        + " does not support " + header.getAlgorithm());
+            }
+            if (!signedJWT.verify(key.getVerifier())) {
+                throw new BadJwtException(DECODING_ERROR + "Invalid signature");
+            }
+
+            return JwtAssembler.assemble(token, header.toJSONObject(), signedJWT.getJWTClaimsSet().toJSONObject());
+        } catch (ParseException e) {
+            throw new BadJwtException(DECODING_ERROR + "Malformed token", e);
+        } catch (JOSEException e) {
+            throw new BadJwtException(DECODING_ERROR + e.getMessage(), e);
+        }
+    }
+}
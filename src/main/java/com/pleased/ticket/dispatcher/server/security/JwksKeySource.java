@@ -0,0 +1,180 @@
+package com.pleased.ticket.dispatcher.server.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Public keys of the identity provider, loaded from a JWK set document (file, classpath or URL).
+ * <p>
+ * Each signing key is turned once into a ready to use verifier, holding the parsed public key, and looked up by
+ * {@code kid}. The set is reloaded in the background every {@code refreshInterval}; an unknown {@code kid} (key
+ * rotation) also triggers a background reload, at most every {@link #MIN_ON_DEMAND_REFRESH}. Lookups never fetch:
+ * a request signed with a key not loaded yet is rejected. A failed reload keeps the previous keys.
+ */
+@Slf4j
+public class JwksKeySource {
+
+    static final Duration MIN_ON_DEMAND_REFRESH = Duration.ofSeconds(30);
+
+    private final Resource location;
+    private final Duration refreshInterval;
+
+    private volatile Map<String, VerificationKey> keys = Collections.emptyMap();
+    private volatile long lastRefreshMillis;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private Disposable refreshTask;
+
+    public JwksKeySource(Resource location, Duration refreshInterval) {
+        this.location = location;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Loads the keys, failing if they can't be, and schedules the refresh.
+     */
+    public void start() {
+        refresh();
+        log.info("Loaded {} JWKS key(s) from {}", keys.size(), location);
+
+        refreshTask = Flux.interval(refreshInterval)
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(tick -> refreshQuietly());
+    }
+
+    public void stop() {
+        if (refreshTask != null) {
+            refreshTask.dispose();
+        }
+    }
+
+    /**
+     * Returns the key with the given ID, or the only key when the token names none.
+     *
+     * @return the key, or null when not known (yet)
+     */
+    public VerificationKey key(String keyId) {
+        Map<String, VerificationKey> current = keys;
+        VerificationKey key;
+        if (keyId != null) {
+            key = current.get(keyId);
+        } else {
+            key = current.size() == 1 ? current.values().iterator().next() : null;
+        }
+        if (key == null) {
+            requestRefresh();
+        }
+        return key;
+    }
+
+    /**
+     * Reloads the key set synchronously.
+     */
+    public synchronized void refresh() {
+        JWKSet jwkSet;
+        try (InputStream in = location.getInputStream()) {
+            jwkSet = JWKSet.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read JWKS from " + location, e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Malformed JWKS at " + location, e);
+        }
+
+        Map<String, VerificationKey> loaded = new HashMap<>();
+        for (JWK jwk : jwkSet.getKeys()) {
+            if (jwk.getKeyUse() != null && !KeyUse.SIGNATURE.equals(jwk.getKeyUse())) {
+                continue;
+            }
+            try {
+                VerificationKey key = VerificationKey.of(jwk);
+                if (key != null) {
+                    // Keys without kid can only be picked as the single key of the set
+                    loaded.put(jwk.getKeyID() != null ? jwk.getKeyID() : "", key);
+                }
+            } catch (JOSEException e) {
+                log.warn("Skipping unusable JWKS key {}", jwk.getKeyID(), e);
+            }
+        }
+        keys = Collections.unmodifiableMap(loaded);
+        lastRefreshMillis = System.currentTimeMillis();
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh JWKS from {}, keeping the {} current key(s)", location, keys.size(), e);
+        }
+    }
+
+    private void requestRefresh() {
+        if (System.currentTimeMillis() - lastRefreshMillis < MIN_ON_DEMAND_REFRESH.toMillis()
+                || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Mono.fromRunnable(this::refreshQuietly)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe();
+    }
+
+    /**
+     * Verifier built once per key, with the algorithm the key is restricted to, if any.
+     */
+    public static final class VerificationKey {
+        private final JWSVerifier verifier;
+        private final JWSAlgorithm algorithm;
+
+        private VerificationKey(JWSVerifier verifier, JWSAlgorithm algorithm) {
+            this.verifier = verifier;
+            this.algorithm = algorithm;
+        }
+
+        static VerificationKey of(JWK jwk) throws JOSEException {
+            JWSAlgorithm algorithm = jwk.getAlgorithm() != null ? JWSAlgorithm.parse(jwk.getAlgorithm().getName()) : null;
+            if (jwk instanceof RSAKey) {
+                return new VerificationKey(new RSASSAVerifier((RSAKey) jwk), algorithm);
+            }
+            if (jwk instanceof ECKey) {
+                return new VerificationKey(new ECDSAVerifier((ECKey) jwk), algorithm);
+            }
+            return null;
+        }
+
+        public boolean supports(JWSAlgorithm requested) {
+            return (algorithm == null || algorithm.equals(requested))
+                    && verifier.supportedJWSAlgorithms().contains(requested);
+        }
+
+        public JWSVerifier getVerifier() {
+            return verifier;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.pleased.ticket.dispatcher.server.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Builds the {@link Jwt} of a token whose signature has been verified, converting and validating its claims
+ * (expiry, not-before, 60s clock skew) the same way as {@code NimbusReactiveJwtDecoder} does.
+ */
+final class JwtAssembler {
+
+    static final String DECODING_ERROR = "An error occurred while attempting to decode the Jwt: ";
+
+    private static final Converter<Map<String, Object>, Map<String, Object>> CLAIM_SET_CONVERTER =
+            MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+    private static final OAuth2TokenValidator<Jwt> VALIDATOR = JwtValidators.createDefault();
+
+    private JwtAssembler() {
+    }
+
+    /**
+     * @throws JwtValidationException if a claim is not valid, e.g. the token has expired
+     */
+    static Jwt assemble(String token, Map<String, Object> headers, Map<String, Object> claims) {
+        Map<String, Object> convertedClaims = CLAIM_SET_CONVERTER.convert(claims);
+        Jwt jwt = Jwt.withTokenValue(token)
+                .headers(values -> values.putAll(headers))
+                .claims(values -> values.putAll(convertedClaims))
+                .build();
+
+        OAuth2TokenValidatorResult result = VALIDATOR.validate(jwt);
+        if (result.hasErrors()) {
+            OAuth2Error error = result.getErrors().iterator().next();
+            throw new JwtValidationException(DECODING_ERROR + error.getDescription(), result.getErrors());
+        }
+        return jwt;
+    }
+}
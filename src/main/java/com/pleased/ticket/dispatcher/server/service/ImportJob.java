@@ -0,0 +1,104 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of a ticket import, updated concurrently by the line decoder and the producer callbacks.
+ * <p>
+ * {@code accepted} counts the lines read, {@code published} the tickets acknowledged by Kafka or created earlier with
+ * the same key and {@code failed} the lines that were invalid, repeated or whose ticket was rejected; the difference is
+ * in flight. A job is only visible to the user who started it.
+ */
+public class ImportJob {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final UUID jobId;
+    private final UUID userId;
+    private final Instant startedAt = Instant.now();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile State state = State.RUNNING;
+    private volatile Instant completedAt;
+    private volatile String error;
+
+    public ImportJob(UUID jobId, UUID userId) {
+        this.jobId = jobId;
+        this.userId = userId;
+    }
+
+    public void accepted() {
+        accepted.increment();
+    }
+
+    public void published() {
+        published.increment();
+    }
+
+    public void failed() {
+        failed.increment();
+    }
+
+    synchronized void complete() {
+        if (state == State.RUNNING) {
+            completedAt = Instant.now();
+            state = State.COMPLETED;
+        }
+    }
+
+    synchronized void fail(String reason) {
+        if (state == State.RUNNING) {
+            error = reason;
+            completedAt = Instant.now();
+            state = State.FAILED;
+        }
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getPublished() {
+        return published.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Null while running.
+     */
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    /**
+     * Null unless the job failed as a whole, individual failures are only counted.
+     */
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,50 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Import jobs of this node, kept for their progress to be polled.
+ * <p>
+ * Bounded and expiring after the last access, so finished jobs are forgotten once nobody asks for them.
+ */
+public class ImportJobRegistry {
+
+    public static final String CACHE_NAME = "imports";
+
+    private final Cache<UUID, ImportJob> jobs;
+
+    public ImportJobRegistry(long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, jobs, CACHE_NAME);
+    }
+
+    /**
+     * Registers a new running job started by the user.
+     *
+     * @return the job, or empty if the ID is already taken
+     */
+    public Optional<ImportJob> start(UUID jobId, UUID userId) {
+        ImportJob job = new ImportJob(jobId, userId);
+        return jobs.asMap().putIfAbsent(jobId, job) == null ? Optional.of(job) : Optional.empty();
+    }
+
+    /**
+     * @return the job, or empty if it is unknown or was started by another user
+     */
+    public Optional<ImportJob> get(UUID jobId, UUID userId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+                .filter(job -> job.getUserId().equals(userId));
+    }
+}
@@ -0,0 +1,173 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.exception.EventPublishingException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.kafka.sender.SenderRecord;
+import reactor.util.concurrent.Queues;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the records of every request through one long-lived pipeline, in batches, instead of one send per record.
+ * <p>
+ * Records are queued on a single sink backed by a multi-producer queue, so concurrent requests never wait on each
+ * other to queue. They are grouped by up to {@code maxBatchSize} or for at most {@code maxDelay}, and
+ * each group is written with one {@code send(Flux)}. Each caller gets the result of its own record. Batches are sent
+ * one after the other, so records keep their order; a batch fills up while the previous one is being acknowledged.
+ * Past {@code queueCapacity} queued records, sends fail right away rather than waiting.
+ * <p>
+ * Metrics: {@code kafka.producer.batch.size}, {@code kafka.producer.batch.queue.delay} from queueing to sending, and
+ * {@code kafka.producer.batch.queued}.
+ */
+@Slf4j
+public class KafkaSendBatcher {
+
+    private final ReactiveKafkaProducerTemplate<ByteBuffer, Object> reactiveKafkaTemplate;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final int queueCapacity;
+
+    // Multi-producer queue, requests emit concurrently without being serialized or retried
+    private final Sinks.Many<PendingSend> queue = Sinks.unsafe().many().unicast()
+            .onBackpressureBuffer(Queues.<PendingSend>unboundedMultiproducer().get());
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private final AtomicInteger queued = new AtomicInteger();
+    private final DistributionSummary batchSize;
+    private final Timer queueDelay;
+    private Disposable pipeline;
+
+    public KafkaSendBatcher(ReactiveKafkaProducerTemplate<ByteBuffer, Object> reactiveKafkaTemplate, int maxBatchSize,
+                            Duration maxDelay, int queueCapacity, MeterRegistry meterRegistry) {
+        this.reactiveKafkaTemplate = reactiveKafkaTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = DistributionSummary.builder("kafka.producer.batch.size")
+                .description("Records written per batched send")
+                .register(meterRegistry);
+        this.queueDelay = Timer.builder("kafka.producer.batch.queue.delay")
+                .description("Time a record waits in the queue before its batch is sent")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.batch.queued", queued, AtomicInteger::get)
+                .description("Records queued for a batched send")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the record for the next batch.
+     *
+     * @return the metadata of the record once acknowledged, or its send error
+     */
+    public Mono<RecordMetadata> send(ProducerRecord<ByteBuffer, Object> record) {
+        return Mono.create(sink -> {
+            if (queued.incrementAndGet() > queueCapacity) {
+                queued.decrementAndGet();
+                sink.error(new EventPublishingException("Kafka send queue is full"));
+                return;
+            }
+            Sinks.EmitResult result = queue.tryEmitNext(new PendingSend(record, sink));
+            if (result.isFailure()) {
+                queued.decrementAndGet();
+                sink.error(new EventPublishingException("Kafka send queue is closed: " + result));
+            }
+        });
+    }
+
+    public void start() {
+        pipeline = queue.asFlux()
+                .bufferTimeout(maxBatchSize, maxDelay)
+                // Batches wait while the previous one is being acknowledged, the queued records are what is bounded
+                .onBackpressureBuffer()
+                .concatMap(this::sendBatch)
+                .doFinally(signal -> drained.countDown())
+                .subscribe();
+    }
+
+    /**
+     * Stops taking records and sends the ones already queued.
+     */
+    public void stop() {
+        queue.tryEmitComplete();
+        if (pipeline == null) {
+            return;
+        }
+        try {
+            if (!drained.await(5, TimeUnit.SECONDS)) {
+                log.warn("Kafka send queue not drained on shutdown, {} records dropped", queued.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pipeline.dispose();
+    }
+
+    private Mono<Void> sendBatch(List<PendingSend> batch) {
+        long sentAt = System.nanoTime();
+        queued.addAndGet(-batch.size());
+        batchSize.record(batch.size());
+        batch.forEach(pending -> queueDelay.record(sentAt - pending.queuedAt, TimeUnit.NANOSECONDS));
+
+        return reactiveKafkaTemplate.send(Flux.fromIterable(batch)
+                        .map(pending -> SenderRecord.create(pending.record, pending)))
+                .doOnNext(result -> {
+                    if (result.exception() == null) {
+                        result.correlationMetadata().success(result.recordMetadata());
+                    } else {
+                        result.correlationMetadata().error(result.exception());
+                    }
+                })
+                .then()
+                .onErrorResume(error -> {
+                    // The whole batch failed, records without a result get the error
+                    log.error("Failed to send a batch of {} records", batch.size(), error);
+                    batch.forEach(pending -> pending.error(error));
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * A queued record and the caller waiting on it, completed once.
+     */
+    private static final class PendingSend {
+
+        private final ProducerRecord<ByteBuffer, Object> record;
+        private final MonoSink<RecordMetadata> sink;
+        private final long queuedAt = System.nanoTime();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private PendingSend(ProducerRecord<ByteBuffer, Object> record, MonoSink<RecordMetadata> sink) {
+            this.record = record;
+            this.sink = sink;
+        }
+
+        void success(RecordMetadata metadata) {
+            if (completed.compareAndSet(false, true)) {
+                sink.success(metadata);
+            }
+        }
+
+        void error(Throwable error) {
+            if (completed.compareAndSet(false, true)) {
+                sink.error(error);
+            }
+        }
+    }
+}
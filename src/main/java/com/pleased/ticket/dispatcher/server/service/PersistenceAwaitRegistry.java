@@ -0,0 +1,75 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Events a request waits on until {@link TicketEventConsumer} has saved them, for read-your-writes responses.
+ * <p>
+ * An event is expected before it is published, so that a save completing before the wait starts is not missed, and
+ * forgotten once the request is done. The number of pending events is bounded; past it, requests are not held.
+ * Only saves done by this node are seen: a wait for an event consumed by another node ends on its timeout.
+ */
+public class PersistenceAwaitRegistry {
+
+    private final int maxPending;
+    private final ConcurrentMap<UUID, Sinks.Empty<Void>> pending = new ConcurrentHashMap<>();
+
+    public PersistenceAwaitRegistry(int maxPending, MeterRegistry meterRegistry) {
+        this.maxPending = maxPending;
+        Gauge.builder("tickets.persistence.pending", pending, Map::size)
+                .description("Requests waiting for their event to be saved")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts tracking the event, before it is published.
+     *
+     * @return false if too many events are pending or this one already is
+     */
+    public boolean expect(UUID eventId) {
+        if (pending.size() >= maxPending) {
+            return false;
+        }
+        return pending.putIfAbsent(eventId, Sinks.empty()) == null;
+    }
+
+    /**
+     * Called once the event was saved, a no-op if nobody expects it.
+     */
+    public void persisted(UUID eventId) {
+        Sinks.Empty<Void> saved = pending.get(eventId);
+        if (saved != null) {
+            saved.tryEmitEmpty();
+        }
+    }
+
+    /**
+     * True once the expected event was saved, or false after the timeout or if the event is not expected.
+     */
+    public Mono<Boolean> await(UUID eventId, Duration timeout) {
+        Sinks.Empty<Void> saved = pending.get(eventId);
+        if (saved == null) {
+            return Mono.just(false);
+        }
+        return saved.asMono()
+                .thenReturn(true)
+                .timeout(timeout, Mono.just(false));
+    }
+
+    public void forget(UUID eventId) {
+        pending.remove(eventId);
+    }
+
+    public int size() {
+        return pending.size();
+    }
+}
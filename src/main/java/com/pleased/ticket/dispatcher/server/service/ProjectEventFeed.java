@@ -0,0 +1,124 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.model.api.ProjectEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live ticket events of each project, fanned out to the subscribers of this node.
+ * <p>
+ * There is one multicast sink per project with at least one subscriber; an event of a project nobody follows costs a
+ * single map lookup. Each subscriber reads through its own bounded buffer, so a slow client never holds back the
+ * others nor the Kafka receiver: once its buffer is full, the {@link Overflow} policy either drops its oldest events
+ * or disconnects it (an EventSource reconnects on its own).
+ */
+public class ProjectEventFeed {
+
+    public enum Overflow {
+        DROP_OLDEST, DISCONNECT
+    }
+
+    private final int bufferSize;
+    private final Overflow overflow;
+    private final ConcurrentMap<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    public ProjectEventFeed(int bufferSize, Overflow overflow, MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.overflow = overflow;
+        this.dropped = Counter.builder("tickets.feed.dropped")
+                .description("Project events dropped because a subscriber buffer was full")
+                .register(meterRegistry);
+        this.disconnected = Counter.builder("tickets.feed.disconnected")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("tickets.feed.subscribers", subscribers, AtomicInteger::get)
+                .description("Subscribers of the project event feed")
+                .register(meterRegistry);
+        Gauge.builder("tickets.feed.projects", channels, Map::size)
+                .description("Projects with at least one subscriber")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Events of the project published from now on, until cancelled.
+     */
+    public Flux<ProjectEvent> subscribe(UUID projectId) {
+        return Flux.defer(() -> {
+            Channel channel = channels.compute(projectId, (id, existing) -> {
+                Channel retained = existing != null ? existing : new Channel();
+                retained.subscribers++;
+                return retained;
+            });
+            subscribers.incrementAndGet();
+            return buffered(channel.sink.asFlux())
+                    .doFinally(signal -> release(projectId));
+        });
+    }
+
+    /**
+     * Pushes the event to the subscribers of its project. Not thread safe, events are published by one receiver.
+     */
+    public void publish(ProjectEvent event) {
+        Channel channel = channels.get(event.getProjectId());
+        if (channel != null) {
+            channel.sink.tryEmitNext(event);
+        }
+    }
+
+    public boolean hasSubscribers() {
+        return !channels.isEmpty();
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * Completes every subscription, on shutdown.
+     */
+    public void close() {
+        channels.values().forEach(channel -> channel.sink.tryEmitComplete());
+    }
+
+    private Flux<ProjectEvent> buffered(Flux<ProjectEvent> events) {
+        if (overflow == Overflow.DROP_OLDEST) {
+            return events.onBackpressureBuffer(bufferSize, event -> dropped.increment(),
+                    BufferOverflowStrategy.DROP_OLDEST);
+        }
+        return events.onBackpressureBuffer(bufferSize, event -> dropped.increment(), BufferOverflowStrategy.ERROR)
+                .onErrorResume(Exceptions::isOverflow, error -> {
+                    disconnected.increment();
+                    return Flux.empty();
+                });
+    }
+
+    private void release(UUID projectId) {
+        subscribers.decrementAndGet();
+        channels.computeIfPresent(projectId, (id, channel) -> --channel.subscribers == 0 ? null : channel);
+    }
+
+    /**
+     * The sink of a project, dropped with its last subscriber.
+     */
+    private static final class Channel {
+
+        private final Sinks.Many<ProjectEvent> sink = Sinks.many().multicast().directBestEffort();
+
+        // Only changed within ConcurrentHashMap.compute for its project, which serializes the updates
+        private int subscribers;
+    }
+}
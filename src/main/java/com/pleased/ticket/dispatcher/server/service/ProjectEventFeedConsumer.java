@@ -0,0 +1,147 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.config.KafkaTopicConfig;
+import com.pleased.ticket.dispatcher.server.model.api.ProjectEvent;
+import com.pleased.ticket.dispatcher.server.model.api.ProjectEventTypeEnum;
+import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import com.pleased.ticket.dispatcher.server.model.events.TicketAssigned;
+import com.pleased.ticket.dispatcher.server.model.events.TicketCreated;
+import com.pleased.ticket.dispatcher.server.model.events.TicketStatusUpdated;
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.kafka.receiver.ReceiverOptions;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Feeds the {@link ProjectEventFeed} from a single Kafka receiver per node, over the created, assignment and update
+ * topics.
+ * <p>
+ * The receiver is assigned every partition of the topics, as found on the broker when the application is ready.
+ * Partitions added to a topic later are read after a restart.
+ * <p>
+ * Assignment and status events do not carry the project of their ticket, it is read through the {@link TicketCache}.
+ * Nothing is looked up while nobody is subscribed on this node.
+ */
+@Slf4j
+@Service
+public class ProjectEventFeedConsumer {
+
+    private static final List<String> TOPICS = Arrays.asList(KafkaTopicConfig.TICKET_CREATE_TOPIC,
+            KafkaTopicConfig.TICKET_ASSIGNMENTS_TOPIC, KafkaTopicConfig.TICKET_UPDATES_TOPIC);
+
+    private final ProjectEventFeed projectEventFeed;
+    private final TicketCache ticketCache;
+    private final ReceiverOptions<ByteBuffer, SpecificRecord> projectFeedReceiverOptions;
+
+    @Autowired
+    public ProjectEventFeedConsumer(ProjectEventFeed projectEventFeed, TicketCache ticketCache, ReceiverOptions<ByteBuffer, SpecificRecord> projectFeedReceiverOptions) {
+        this.projectEventFeed = projectEventFeed;
+        this.ticketCache = ticketCache;
+        this.projectFeedReceiverOptions = projectFeedReceiverOptions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startConsuming() {
+        // Offsets are not committed, the feed is live only
+        Mono.fromCallable(this::feedPartitions)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(partitions -> new ReactiveKafkaConsumerTemplate<>(
+                        projectFeedReceiverOptions.assignment(partitions)).receive())
+                .filter(record -> projectEventFeed.hasSubscribers())
+                .concatMap(record -> toProjectEvent(record.value())
+                        .onErrorResume(error -> {
+                            log.warn("Project event skipped: topic={}, offset={}, error={}",
+                                    record.topic(), record.offset(), error.getMessage());
+                            return Mono.empty();
+                        }))
+                .doOnNext(projectEventFeed::publish)
+                .doOnError(error -> log.error("Error reading the project event feed", error))
+                .retry(3)
+                .subscribe();
+    }
+
+    /**
+     * The event for the feed, or empty for another record type or a ticket not found.
+     */
+    Mono<ProjectEvent> toProjectEvent(SpecificRecord record) {
+        if (record instanceof TicketCreated) {
+            TicketCreated created = (TicketCreated) record;
+            ProjectEvent event = projectEvent(ProjectEventTypeEnum.TICKET_CREATED, created.getEventId(),
+                    created.getTicketId(), created.getCreatedAt());
+            event.setProjectId(UUIDCodec.fromBytes(created.getProjectId()));
+            event.setSubject(created.getSubject());
+            return Mono.just(event);
+        }
+        if (record instanceof TicketAssigned) {
+            TicketAssigned assigned = (TicketAssigned) record;
+            ProjectEvent event = projectEvent(ProjectEventTypeEnum.TICKET_ASSIGNED, assigned.getEventId(),
+                    assigned.getTicketId(), assigned.getAssignedAt());
+            event.setAssigneeId(UUIDCodec.fromBytes(assigned.getAssigneeId()));
+            return withProjectId(event);
+        }
+        if (record instanceof TicketStatusUpdated) {
+            TicketStatusUpdated updated = (TicketStatusUpdated) record;
+            ProjectEvent event = projectEvent(ProjectEventTypeEnum.TICKET_STATUS_UPDATED, updated.getEventId(),
+                    updated.getTicketId(), updated.getUpdatedAt());
+            event.setStatus(updated.getStatus());
+            return withProjectId(event);
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * Every partition of the feed topics, as the broker has them.
+     */
+    private List<TopicPartition> feedPartitions() {
+        List<TopicPartition> partitions = new ArrayList<>();
+        try (Consumer<ByteBuffer, SpecificRecord> consumer = new KafkaConsumer<>(projectFeedReceiverOptions.consumerProperties())) {
+            for (String topic : TOPICS) {
+                List<PartitionInfo> infos = consumer.partitionsFor(topic);
+                if (infos == null || infos.isEmpty()) {
+                    throw new IllegalStateException("No partitions found for topic " + topic);
+                }
+                for (PartitionInfo info : infos) {
+                    partitions.add(new TopicPartition(info.topic(), info.partition()));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private Mono<ProjectEvent> withProjectId(ProjectEvent event) {
+        return ticketCache.get(event.getTicketId())
+                .map(TicketEntity::getProjectId)
+                .map(projectId -> {
+                    event.setProjectId(projectId);
+                    return event;
+                });
+    }
+
+    private static ProjectEvent projectEvent(ProjectEventTypeEnum type, ByteBuffer eventId, ByteBuffer ticketId,
+                                             Instant occurredAt) {
+        ProjectEvent event = new ProjectEvent();
+        event.setEventId(UUIDCodec.fromBytes(eventId));
+        event.setType(type);
+        event.setTicketId(UUIDCodec.fromBytes(ticketId));
+        event.setOccurredAt(occurredAt.atOffset(ZoneOffset.UTC));
+        return event;
+    }
+}
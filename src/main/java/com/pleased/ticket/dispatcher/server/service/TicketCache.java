@@ -0,0 +1,106 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import com.pleased.ticket.dispatcher.server.repository.TicketRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Read-through cache of tickets by ID, in front of {@link TicketRepository#findById}.
+ * <p>
+ * Concurrent misses for the same ticket share a single load. Unknown tickets are cached as well, for a shorter time,
+ * so that polling for a ticket not consumed yet does not reach the database on every call. Failed loads are not
+ * cached.
+ * <p>
+ * {@link TicketEventConsumer} invalidates a ticket once its change is saved; the TTL bounds how stale a ticket saved
+ * by another node can be.
+ */
+public class TicketCache {
+
+    public static final String CACHE_NAME = "tickets";
+
+    private final TicketRepository ticketRepository;
+    private final AsyncCache<UUID, Optional<TicketEntity>> tickets;
+
+    public TicketCache(TicketRepository ticketRepository, long maximumSize, Duration ttl, Duration notFoundTtl,
+                       MeterRegistry meterRegistry) {
+        this(ticketRepository, maximumSize, ttl, notFoundTtl, meterRegistry, Ticker.systemTicker());
+    }
+
+    TicketCache(TicketRepository ticketRepository, long maximumSize, Duration ttl, Duration notFoundTtl,
+                MeterRegistry meterRegistry, Ticker ticker) {
+        this.ticketRepository = ticketRepository;
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new FoundOrNotExpiry(ttl, notFoundTtl))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tickets.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * The ticket, or empty if there is none with that ID.
+     */
+    public Mono<TicketEntity> get(UUID ticketId) {
+        // A dependent stage, so that a cancelled read does not cancel the load shared with other readers
+        return Mono.defer(() -> Mono.fromFuture(tickets.get(ticketId, this::load)
+                .thenApply(ticket -> ticket.orElse(null))));
+    }
+
+    public void invalidate(UUID ticketId) {
+        tickets.synchronous().invalidate(ticketId);
+    }
+
+    public long size() {
+        return tickets.synchronous().estimatedSize();
+    }
+
+    private CompletableFuture<Optional<TicketEntity>> load(UUID ticketId, Executor executor) {
+        return ticketRepository.findById(ticketId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .toFuture();
+    }
+
+    /**
+     * Keeps found tickets for the TTL and unknown ones for the shorter not found TTL.
+     */
+    private static final class FoundOrNotExpiry implements Expiry<UUID, Optional<TicketEntity>> {
+
+        private final long ttlNanos;
+        private final long notFoundTtlNanos;
+
+        private FoundOrNotExpiry(Duration ttl, Duration notFoundTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.notFoundTtlNanos = notFoundTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(UUID key, Optional<TicketEntity> ticket, long currentTime) {
+            return ticket.isPresent() ? ttlNanos : notFoundTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Optional<TicketEntity> ticket, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, ticket, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Optional<TicketEntity> ticket, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
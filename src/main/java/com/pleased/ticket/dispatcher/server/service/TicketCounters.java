@@ -0,0 +1,283 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.exception.ConflictException;
+import com.pleased.ticket.dispatcher.server.model.api.TicketCountsAPIResponse;
+import com.pleased.ticket.dispatcher.server.model.api.TicketStatusEnum;
+import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open and in progress ticket counts per project and per assignee, kept up to date by {@link TicketEventConsumer}.
+ * <p>
+ * Changes are summed per counter in {@link LongAdder}s and flushed to the {@code ticket_counter} table as
+ * increments on an interval, so a burst of events on a busy project costs one row update per flush. Increments
+ * compose: each node flushes only the changes it consumed. Reads are a primary key lookup, at most one flush behind.
+ * <p>
+ * Changes not flushed when a node dies, or counted twice on a redelivered event, make the counts drift until
+ * {@link #rebuild()} recomputes them from the ticket table.
+ * <p>
+ * A rebuild needs a quiesced cluster, with no ticket events being consumed: a change that another node counted before
+ * the rebuild but flushes after it would be counted twice. As a guard, it is refused while this node has changes to
+ * flush or while any node flushed changes within the quiet period, which is kept longer than the flush interval.
+ */
+@Slf4j
+public class TicketCounters {
+
+    static final String PROJECT = "PROJECT";
+    static final String ASSIGNEE = "ASSIGNEE";
+
+    private static final String INCREMENT_SQL =
+            "MERGE INTO ticket_counter c USING (VALUES (CAST(:scope AS VARCHAR(16)), CAST(:ownerId AS UUID), " +
+                    "CAST(:status AS VARCHAR(50)), CAST(:delta AS BIGINT))) d (scope, owner_id, status, delta) " +
+                    "ON c.scope = d.scope AND c.owner_id = d.owner_id AND c.status = d.status " +
+                    "WHEN MATCHED THEN UPDATE SET ticket_count = c.ticket_count + d.delta, updated_at = CURRENT_TIMESTAMP " +
+                    "WHEN NOT MATCHED THEN INSERT (scope, owner_id, status, ticket_count, updated_at) " +
+                    "VALUES (d.scope, d.owner_id, d.status, d.delta, CURRENT_TIMESTAMP)";
+    private static final String SELECT_SQL =
+            "SELECT status, ticket_count FROM ticket_counter WHERE scope = :scope AND owner_id = :ownerId";
+    private static final String RECENT_FLUSHES_SQL =
+            "SELECT COUNT(*) AS flushes FROM ticket_counter WHERE updated_at > :since";
+    private static final String DELETE_SQL = "DELETE FROM ticket_counter";
+    private static final String REBUILD_SQL =
+            "INSERT INTO ticket_counter (scope, owner_id, status, ticket_count) " +
+                    "SELECT '%1$s', %2$s, UPPER(status), COUNT(*) FROM ticket " +
+                    "WHERE %2$s IS NOT NULL AND UPPER(status) IN ('OPEN', 'IN_PROGRESS') GROUP BY %2$s, UPPER(status)";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final Duration flushInterval;
+    private final Duration rebuildQuietPeriod;
+
+    private final ConcurrentMap<CounterKey, LongAdder> changes = new ConcurrentHashMap<>();
+    // Flushes and rebuilds never overlap, a rebuild would otherwise lose or double the flushed changes
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private Disposable flushTask;
+
+    public TicketCounters(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+                          Duration flushInterval, Duration rebuildQuietPeriod) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.flushInterval = flushInterval;
+        this.rebuildQuietPeriod = rebuildQuietPeriod;
+    }
+
+    public void created(TicketEntity ticket) {
+        count(ticket.getProjectId(), ticket.getAssigneeId(), ticket.getStatus(), 1);
+    }
+
+    /**
+     * Moves the ticket from its previous status and assignee to its current ones.
+     */
+    public void changed(String previousStatus, UUID previousAssigneeId, TicketEntity ticket) {
+        count(ticket.getProjectId(), previousAssigneeId, previousStatus, -1);
+        count(ticket.getProjectId(), ticket.getAssigneeId(), ticket.getStatus(), 1);
+    }
+
+    public Mono<TicketCountsAPIResponse> getProjectCounts(UUID projectId) {
+        return read(PROJECT, projectId);
+    }
+
+    public Mono<TicketCountsAPIResponse> getAssigneeCounts(UUID assigneeId) {
+        return read(ASSIGNEE, assigneeId);
+    }
+
+    /**
+     * Writes the changes counted since the last flush. A change that fails to be written is kept for the next one,
+     * counters left at zero are dropped.
+     */
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            if (!writing.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            return Flux.fromIterable(changes.entrySet())
+                    .concatMap(change -> {
+                        // Taken off by subtraction, changes counted meanwhile stay for the next flush
+                        long delta = change.getValue().sum();
+                        if (delta == 0) {
+                            dropIfZero(change.getKey());
+                            return Mono.empty();
+                        }
+                        change.getValue().add(-delta);
+                        return increment(change.getKey(), delta)
+                                .doOnSuccess(done -> dropIfZero(change.getKey()))
+                                .onErrorResume(error -> {
+                                    change.getValue().add(delta);
+                                    log.warn("Failed to flush ticket counter {}", change.getKey(), error);
+                                    return Mono.empty();
+                                });
+                    })
+                    .then()
+                    .doFinally(signal -> writing.set(false));
+        });
+    }
+
+    /**
+     * Recomputes every count from the ticket table, on a quiesced cluster only.
+     *
+     * @throws ConflictException (as error signal) while this node has changes to flush, or a node flushed changes
+     *                           within the quiet period
+     */
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            if (!writing.compareAndSet(false, true)) {
+                return Mono.error(new ConflictException("Ticket counters are being flushed or rebuilt, retry later"));
+            }
+            if (changes.values().stream().anyMatch(adder -> adder.sum() != 0)) {
+                writing.set(false);
+                return Mono.error(new ConflictException("Ticket counters have changes to flush, rebuild on a quiesced cluster"));
+            }
+            return databaseClient.sql(RECENT_FLUSHES_SQL)
+                    .bind("since", OffsetDateTime.now().minus(rebuildQuietPeriod))
+                    .map(row -> row.get("flushes", Long.class))
+                    .one()
+                    .flatMap(flushes -> flushes > 0
+                            ? Mono.<Void>error(new ConflictException("Ticket counters were flushed within the last "
+                                    + rebuildQuietPeriod.getSeconds() + "s, rebuild on a quiesced cluster"))
+                            : recompute())
+                    .doFinally(signal -> writing.set(false));
+        });
+    }
+
+    private Mono<Void> recompute() {
+        return databaseClient.sql(DELETE_SQL).then()
+                    .then(databaseClient.sql(String.format(REBUILD_SQL, PROJECT, "project_id")).then())
+                    .then(databaseClient.sql(String.format(REBUILD_SQL, ASSIGNEE, "assignee_id")).then())
+                    .as(transactionalOperator::transactional)
+                    .doOnSuccess(done -> log.info("Rebuilt ticket counters from the ticket table"));
+    }
+
+    public void start() {
+        flushTask = Flux.interval(flushInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> flush())
+                .subscribe();
+    }
+
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.dispose();
+        }
+        try {
+            flush().block(Duration.ofSeconds(5));
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush ticket counters on shutdown", e);
+        }
+    }
+
+    private void count(UUID projectId, UUID assigneeId, String status, long delta) {
+        String countedStatus = countedStatus(status);
+        if (countedStatus == null) {
+            return;
+        }
+        add(PROJECT, projectId, countedStatus, delta);
+        add(ASSIGNEE, assigneeId, countedStatus, delta);
+    }
+
+    private void add(String scope, UUID ownerId, String status, long delta) {
+        if (ownerId != null) {
+            // Under the key's lock, so that a counter is never dropped while a change is added to it
+            changes.compute(new CounterKey(scope, ownerId, status), (key, adder) -> {
+                LongAdder counter = adder != null ? adder : new LongAdder();
+                counter.add(delta);
+                return counter;
+            });
+        }
+    }
+
+    private void dropIfZero(CounterKey key) {
+        changes.computeIfPresent(key, (k, adder) -> adder.sum() == 0 ? null : adder);
+    }
+
+    /**
+     * The counter of the status, either case as stored by the consumer, or null if tickets in it are not counted.
+     */
+    private static String countedStatus(String status) {
+        if (TicketStatusEnum.OPEN.name().equalsIgnoreCase(status)) {
+            return TicketStatusEnum.OPEN.name();
+        }
+        if (TicketStatusEnum.IN_PROGRESS.name().equalsIgnoreCase(status)) {
+            return TicketStatusEnum.IN_PROGRESS.name();
+        }
+        return null;
+    }
+
+    private Mono<Void> increment(CounterKey key, long delta) {
+        return databaseClient.sql(INCREMENT_SQL)
+                .bind("scope", key.scope)
+                .bind("ownerId", key.ownerId)
+                .bind("status", key.status)
+                .bind("delta", delta)
+                .then();
+    }
+
+    private Mono<TicketCountsAPIResponse> read(String scope, UUID ownerId) {
+        return databaseClient.sql(SELECT_SQL)
+                .bind("scope", scope)
+                .bind("ownerId", ownerId)
+                .map(row -> Tuples.of(row.get("status", String.class), row.get("ticket_count", Long.class)))
+                .all()
+                .collectMap(Tuple2::getT1, Tuple2::getT2)
+                .map(counts -> counts(ownerId, counts));
+    }
+
+    private static TicketCountsAPIResponse counts(UUID ownerId, Map<String, Long> counts) {
+        TicketCountsAPIResponse response = new TicketCountsAPIResponse();
+        response.setOwnerId(ownerId);
+        response.setOpen(counts.getOrDefault(TicketStatusEnum.OPEN.name(), 0L));
+        response.setInProgress(counts.getOrDefault(TicketStatusEnum.IN_PROGRESS.name(), 0L));
+        return response;
+    }
+
+    private static final class CounterKey {
+
+        private final String scope;
+        private final UUID ownerId;
+        private final String status;
+
+        private CounterKey(String scope, UUID ownerId, String status) {
+            this.scope = scope;
+            this.ownerId = ownerId;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CounterKey that = (CounterKey) o;
+            return scope.equals(that.scope) && ownerId.equals(that.ownerId) && status.equals(that.status);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, ownerId, status);
+        }
+
+        @Override
+        public String toString() {
+            return scope + ':' + ownerId + ':' + status;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.CachedResponse;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.IdempotencyStore;
+import com.pleased.ticket.dispatcher.server.model.api.TicketAPIResponse;
+import com.pleased.ticket.dispatcher.server.model.api.TicketCreateAPIRequest;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Idempotency keys of the tickets created by the batch and import endpoints, which carry one key per item rather than
+ * one per request.
+ * <p>
+ * Each published ticket is recorded in the {@link IdempotencyStore} under its user and key, so an item sent again by a
+ * later request is answered with the ticket created the first time instead of being published again. Like the
+ * idempotency filter, an unavailable store degrades to "not seen yet". Two requests racing with the same key may both
+ * publish, the ticket consumer ignores the second insert.
+ * <p>
+ * The store is not the one of the idempotency filter: an import records one entry per line, which would evict the
+ * replayed HTTP responses.
+ */
+@Slf4j
+public class TicketCreateIdempotency {
+
+    public static final String CACHE_NAME = "idempotency.ticket-create";
+
+    private static final String SCOPE = ":ticket-create:";
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    public TicketCreateIdempotency(IdempotencyStore store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the ticket created earlier with the request's key, or empty when the key was not seen
+     */
+    public Mono<Optional<TicketAPIResponse>> lookup(TicketCreateAPIRequest request) {
+        String key = key(request.getUserId(), request.getIdempotencyKey());
+        return store.get(key)
+                .map(cached -> Optional.of(decode(cached)))
+                .onErrorResume(error -> {
+                    log.warn("Ticket create lookup failed for key {}", key, error);
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    /**
+     * Records a published ticket under its user and ID, which is the key of the item it was created for. A failure is
+     * logged and ignored.
+     */
+    public Mono<Void> record(TicketAPIResponse ticket) {
+        String key = key(ticket.getUserId(), ticket.getTicketID());
+        return Mono.fromCallable(() -> new CachedResponse(201, Collections.emptyMap(), objectMapper.writeValueAsBytes(ticket)))
+                .flatMap(cached -> store.put(key, cached))
+                .onErrorResume(error -> {
+                    log.warn("Failed to record ticket create for key {}", key, error);
+                    return Mono.empty();
+                });
+    }
+
+    private static String key(UUID userId, UUID idempotencyKey) {
+        return userId + SCOPE + idempotencyKey;
+    }
+
+    private TicketAPIResponse decode(CachedResponse cached) {
+        try {
+            return objectMapper.readValue(cached.getBody(), TicketAPIResponse.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable ticket create record", e);
+        }
+    }
+}
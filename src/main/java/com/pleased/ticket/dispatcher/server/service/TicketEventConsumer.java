@@ -1,49 +1,71 @@
 package com.pleased.ticket.dispatcher.server.service;
 
 import com.pleased.ticket.dispatcher.server.exception.EntityNotFoundException;
+import com.pleased.ticket.dispatcher.server.model.api.TicketPriorityEnum;
 import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
 import com.pleased.ticket.dispatcher.server.model.events.TicketAssigned;
 import com.pleased.ticket.dispatcher.server.model.events.TicketCreated;
+import com.pleased.ticket.dispatcher.server.model.events.TicketDetailsUpdated;
 import com.pleased.ticket.dispatcher.server.model.events.TicketStatusUpdated;
 import com.pleased.ticket.dispatcher.server.model.rest.TicketResponse;
 import com.pleased.ticket.dispatcher.server.repository.TicketRepository;
-import com.pleased.ticket.dispatcher.server.util.mapper.UUIDConverter;
+import com.pleased.ticket.dispatcher.server.util.CorrelationIdHolder;
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.query.Update;
 import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import java.nio.ByteBuffer;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.UUID;
 
 @Slf4j
 @Service
 public class TicketEventConsumer {
 
     private final TicketRepository ticketRepository;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final TicketCache ticketCache;
+    private final PersistenceAwaitRegistry persistenceAwaitRegistry;
+    private final TicketCounters ticketCounters;
+    private final TicketSearchIndex ticketSearchIndex;
 
     private final ReactiveKafkaConsumerTemplate<ByteBuffer, TicketCreated> reactiveTicketCreatedConsumer;
     private final ReactiveKafkaConsumerTemplate<ByteBuffer, TicketAssigned> reactiveTicketAssignmentConsumer;
     private final ReactiveKafkaConsumerTemplate<ByteBuffer, TicketStatusUpdated> reactiveTicketUpdateConsumer;
+    private final ReactiveKafkaConsumerTemplate<ByteBuffer, TicketDetailsUpdated> reactiveTicketDetailsConsumer;
 
     @Autowired
-    public TicketEventConsumer(TicketRepository ticketRepository, ReactiveKafkaConsumerTemplate<ByteBuffer, TicketCreated> reactiveTicketCreatedConsumer, ReactiveKafkaConsumerTemplate<ByteBuffer, TicketAssigned> reactiveTicketAssignmentConsumer, ReactiveKafkaConsumerTemplate<ByteBuffer, TicketStatusUpdated> reactiveTicketUpdateConsumer) {
+    public TicketEventConsumer(TicketRepository ticketRepository, R2dbcEntityTemplate entityTemplate, TicketCache ticketCache, PersistenceAwaitRegistry persistenceAwaitRegistry, TicketCounters ticketCounters, TicketSearchIndex ticketSearchIndex, ReactiveKafkaConsumerTemplate<ByteBuffer, TicketCreated> reactiveTicketCreatedConsumer, ReactiveKafkaConsumerTemplate<ByteBuffer, TicketAssigned> reactiveTicketAssignmentConsumer, ReactiveKafkaConsumerTemplate<ByteBuffer, TicketStatusUpdated> reactiveTicketUpdateConsumer, ReactiveKafkaConsumerTemplate<ByteBuffer, TicketDetailsUpdated> reactiveTicketDetailsConsumer) {
         this.ticketRepository = ticketRepository;
+        this.entityTemplate = entityTemplate;
+        this.ticketCache = ticketCache;
+        this.persistenceAwaitRegistry = persistenceAwaitRegistry;
+        this.ticketCounters = ticketCounters;
+        this.ticketSearchIndex = ticketSearchIndex;
         this.reactiveTicketCreatedConsumer = reactiveTicketCreatedConsumer;
         this.reactiveTicketAssignmentConsumer = reactiveTicketAssignmentConsumer;
         this.reactiveTicketUpdateConsumer = reactiveTicketUpdateConsumer;
+        this.reactiveTicketDetailsConsumer = reactiveTicketDetailsConsumer;
     }
 
     @EventListener(ApplicationReadyEvent.class) //Delays consumers to subscribe after the app context is ready.
     public void startConsuming() {
         //Start create consumer
         reactiveTicketCreatedConsumer.receiveAutoAck()
-                .doOnNext(record -> log.info("Processing ticket creation: {}", record.value()))
                 .flatMap(this::handleTicketCreated)
                 .doOnError(error -> log.error("Error processing ticket creation", error))
                 .retry(3)
@@ -51,7 +73,6 @@ public class TicketEventConsumer {
 
         // Start assignment consumer
         reactiveTicketAssignmentConsumer.receiveAutoAck()
-                .doOnNext(record -> log.info("Processing ticket assignment: {}", record.value()))
                 .flatMap(this::handleTicketAssigned)
                 .doOnError(error -> log.error("Error processing assignment", error))
                 .retry(3)
@@ -59,75 +80,182 @@ public class TicketEventConsumer {
 
         // Start update consumer
         reactiveTicketUpdateConsumer.receiveAutoAck()
-                .doOnNext(record -> log.info("Processing ticket update: {}", record.value()))
                 .flatMap(this::handleTicketStatusUpdated)
                 .doOnError(error -> log.error("Error processing ticket update", error))
                 .retry(3)
                 .subscribe();
+
+        // Start details consumer
+        reactiveTicketDetailsConsumer.receiveAutoAck()
+                .flatMap(this::handleTicketDetailsUpdated)
+                .doOnError(error -> log.error("Error processing ticket details update", error))
+                .retry(3)
+                .subscribe();
     }
 
     public Mono<Void> handleTicketCreated(ConsumerRecord<ByteBuffer, TicketCreated> record) {
 
         TicketCreated event = record.value();
+        Context correlation = correlationContext(record);
+        CorrelationIdHolder.withMdc(correlation, () -> log.info("Processing ticket creation: {}", event));
 
         // Create entity directly in the reactive chain
         TicketEntity entity = new TicketEntity();
-        entity.setTicketId(UUIDConverter.bytesToUUID(event.getTicketId()));
+        entity.setTicketId(UUIDCodec.fromBytes(event.getTicketId()));
         entity.setSubject(event.getSubject());
         entity.setDescription(event.getDescription());
         entity.setStatus(TicketResponse.StatusEnum.OPEN.toString());
         entity.setCreatedAt(OffsetDateTime.now());
-        entity.setUserId(UUIDConverter.bytesToUUID(event.getUserId()));
-        entity.setProjectId(UUIDConverter.bytesToUUID(event.getProjectId()));
+        entity.setUserId(UUIDCodec.fromBytes(event.getUserId()));
+        entity.setProjectId(UUIDCodec.fromBytes(event.getProjectId()));
 
 
         return ticketRepository.save(entity)
+                .onErrorResume(DataIntegrityViolationException.class, error -> alreadyCreated(event, correlation, error))
                 .doOnSubscribe(subscription -> log.info("Someone subscribed to the save operation!"))
-                .doOnNext(saved -> log.info("Successfully created ticket in DB: {}", saved.getTicketId()))
-                .doOnError(error -> log.error("Failed to create ticket: {}", event.getTicketId(), error))
-                .then(); // Convert Mono<TicketEntity> to Mono<Void>
+                .doOnNext(saved -> ticketCache.invalidate(saved.getTicketId())) // Drops a cached not found
+                .doOnNext(ticketCounters::created)
+                .doOnNext(ticketSearchIndex::index)
+                .doOnNext(saved -> persistenceAwaitRegistry.persisted(UUIDCodec.fromBytes(event.getEventId())))
+                .doOnEach(CorrelationIdHolder.onNext(saved -> log.info("Successfully created ticket in DB: {}", saved.getTicketId())))
+                .doOnEach(CorrelationIdHolder.onError(error -> log.error("Failed to create ticket: {}", event.getTicketId(), error)))
+                .then() // Convert Mono<TicketEntity> to Mono<Void>
+                .contextWrite(correlation);
+    }
+
+    /**
+     * A redelivered or republished creation finds its ticket already saved, it is skipped rather than failed.
+     */
+    private Mono<TicketEntity> alreadyCreated(TicketCreated event, Context correlation, DataIntegrityViolationException error) {
+        UUID ticketId = UUIDCodec.fromBytes(event.getTicketId());
+        return ticketRepository.existsById(ticketId)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.error(error);
+                    }
+                    CorrelationIdHolder.withMdc(correlation, () -> log.info("Ticket {} already created, duplicate skipped", ticketId));
+                    persistenceAwaitRegistry.persisted(UUIDCodec.fromBytes(event.getEventId()));
+                    return Mono.empty();
+                });
     }
 
     public Mono<Void> handleTicketAssigned(ConsumerRecord<ByteBuffer, TicketAssigned> record) {
 
         TicketAssigned event = record.value();
+        Context correlation = correlationContext(record);
+        CorrelationIdHolder.withMdc(correlation, () -> log.info("Processing ticket assignment: {}", event));
 
-        return ticketRepository.findById(UUIDConverter.bytesToUUID(event.getTicketId()))
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("Ticket not found: " + UUIDConverter.bytesToUUID(event.getTicketId()))))
+        return ticketRepository.findById(UUIDCodec.fromBytes(event.getTicketId()))
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Ticket not found: " + UUIDCodec.fromBytes(event.getTicketId()))))
                 .flatMap(ticket -> {
-                    ticket.setAssigneeId(UUIDConverter.bytesToUUID(event.getAssigneeId()));
+                    UUID previousAssigneeId = ticket.getAssigneeId();
+                    ticket.setAssigneeId(UUIDCodec.fromBytes(event.getAssigneeId()));
                     ticket.setUpdatedAt(event.getAssignedAt().atOffset(ZoneOffset.UTC));
 
                     // Mark as not new since we're updating
                     ticket.setNew(false);
-                    return ticketRepository.save(ticket);
+                    return ticketRepository.save(ticket)
+                            .doOnNext(saved -> ticketCounters.changed(saved.getStatus(), previousAssigneeId, saved));
                 })
-                .doOnSuccess(updated -> log.info("Successfully assigned ticket: {} to user: {}",
-                        updated.getTicketId(), updated.getAssigneeId()))
-                .doOnError(error -> log.error("Failed to assign ticket: {}", event.getTicketId(), error))
-                .then();
+                .doOnNext(updated -> ticketCache.invalidate(updated.getTicketId()))
+                .doOnNext(updated -> persistenceAwaitRegistry.persisted(UUIDCodec.fromBytes(event.getEventId())))
+                .doOnEach(CorrelationIdHolder.onNext(updated -> log.info("Successfully assigned ticket: {} to user: {}",
+                        updated.getTicketId(), updated.getAssigneeId())))
+                .doOnEach(CorrelationIdHolder.onError(error -> log.error("Failed to assign ticket: {}", event.getTicketId(), error)))
+                .then()
+                .contextWrite(correlation);
     }
 
     public Mono<Void> handleTicketStatusUpdated(ConsumerRecord<ByteBuffer, TicketStatusUpdated> record) {
 
         TicketStatusUpdated event = record.value();
+        Context correlation = correlationContext(record);
+        CorrelationIdHolder.withMdc(correlation, () -> log.info("Processing ticket update: {}", event));
 
-        return ticketRepository.findById(UUIDConverter.bytesToUUID(event.getTicketId()))
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("Ticket not found: " +  UUIDConverter.bytesToUUID(event.getTicketId()))))
+        return ticketRepository.findById(UUIDCodec.fromBytes(event.getTicketId()))
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Ticket not found: " +  UUIDCodec.fromBytes(event.getTicketId()))))
                 .flatMap(ticket -> {
+                    String previousStatus = ticket.getStatus();
                     ticket.setStatus(event.getStatus().toUpperCase());
                     ticket.setUpdatedAt(event.getUpdatedAt().atOffset(ZoneOffset.UTC));
 
                     // Mark as not new since we're updating
                     ticket.setNew(false);
-                    return ticketRepository.save(ticket);
+                    return ticketRepository.save(ticket)
+                            .doOnNext(saved -> ticketCounters.changed(previousStatus, saved.getAssigneeId(), saved));
                 })
-                .doOnSuccess(updated -> log.info("Successfully updated ticket status: {} to {}",
-                        updated.getTicketId(), updated.getStatus()))
-                .doOnError(error -> log.error("Failed to update ticket status: {}", event.getTicketId(), error))
+                .doOnNext(updated -> ticketCache.invalidate(updated.getTicketId()))
+                .doOnNext(updated -> persistenceAwaitRegistry.persisted(UUIDCodec.fromBytes(event.getEventId())))
+                .doOnEach(CorrelationIdHolder.onNext(updated -> log.info("Successfully updated ticket status: {} to {}",
+                        updated.getTicketId(), updated.getStatus())))
+                .doOnEach(CorrelationIdHolder.onError(error -> log.error("Failed to update ticket status: {}", event.getTicketId(), error)))
+                .then()
+                .contextWrite(correlation);
+    }
+
+    /**
+     * Writes only the columns set on the event with a single UPDATE, the ticket is not read first. The notify flag is
+     * a hint for notifications rather than ticket state, it is not persisted.
+     */
+    public Mono<Void> handleTicketDetailsUpdated(ConsumerRecord<ByteBuffer, TicketDetailsUpdated> record) {
+
+        TicketDetailsUpdated event = record.value();
+        Context correlation = correlationContext(record);
+        CorrelationIdHolder.withMdc(correlation, () -> log.info("Processing ticket details update: {}", event));
+
+        UUID ticketId = UUIDCodec.fromBytes(event.getTicketId());
+        Update update = Update.update("updatedAt", event.getUpdatedAt().atOffset(ZoneOffset.UTC));
+        if (event.getSubject() != null) {
+            update = update.set("subject", event.getSubject());
+        }
+        if (event.getDescription() != null) {
+            update = update.set("description", event.getDescription());
+        }
+        if (event.getPriority() != null) {
+            update = update.set("priority", TicketPriorityEnum.valueOf(event.getPriority().toUpperCase()).getLevel());
+        }
+        if (event.getDueDate() != null) {
+            update = update.set("dueDate", event.getDueDate());
+        }
+
+        return entityTemplate.update(TicketEntity.class)
+                .matching(Query.query(Criteria.where("ticketId").is(ticketId)))
+                .apply(update)
+                .filter(rowsUpdated -> rowsUpdated > 0)
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Ticket not found: " + ticketId)))
+                .doOnNext(rowsUpdated -> ticketCache.invalidate(ticketId))
+                .flatMap(rowsUpdated -> reindex(event, ticketId).thenReturn(rowsUpdated))
+                .doOnNext(rowsUpdated -> persistenceAwaitRegistry.persisted(UUIDCodec.fromBytes(event.getEventId())))
+                .doOnEach(CorrelationIdHolder.onNext(updated -> log.info("Successfully updated ticket details: {}", ticketId)))
+                .doOnEach(CorrelationIdHolder.onError(error -> log.error("Failed to update ticket details: {}", ticketId, error)))
+                .then()
+                .contextWrite(correlation);
+    }
+
+    /**
+     * Indexes the ticket again for search when its subject or description changed, as saved rather than as sent.
+     */
+    private Mono<Void> reindex(TicketDetailsUpdated event, UUID ticketId) {
+        if (event.getSubject() == null && event.getDescription() == null) {
+            return Mono.empty();
+        }
+        return ticketRepository.findById(ticketId)
+                .doOnNext(ticketSearchIndex::index)
                 .then();
     }
-    //TODO: After implementing ticket detail update API we can map priority and other fields!
+
+    /**
+     * Reactor Context holding the correlation ID sent by the producer, so that it follows the DB operations
+     * and their logs. Empty for records published without one.
+     */
+    static Context correlationContext(ConsumerRecord<ByteBuffer, ?> record) {
+        Header header = record.headers().lastHeader(TicketEventProducer.CORRELATION_ID_HEADER);
+        if (header == null || header.value() == null || header.value().length != UUIDCodec.BYTES) {
+            return Context.empty();
+        }
+        UUID correlationId = UUIDCodec.fromBytes(header.value());
+        return Context.of(CorrelationIdHolder.CORRELATION_ID_CONTEXT_KEY, UUIDCodec.format(correlationId));
+    }
 }
 
 
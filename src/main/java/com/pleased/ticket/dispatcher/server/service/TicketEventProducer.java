@@ -4,33 +4,52 @@ import com.pleased.ticket.dispatcher.server.config.KafkaTopicConfig;
 import com.pleased.ticket.dispatcher.server.exception.EventPublishingException;
 import com.pleased.ticket.dispatcher.server.model.events.TicketAssigned;
 import com.pleased.ticket.dispatcher.server.model.events.TicketCreated;
+import com.pleased.ticket.dispatcher.server.model.events.TicketDetailsUpdated;
 import com.pleased.ticket.dispatcher.server.model.events.TicketStatusUpdated;
-import com.pleased.ticket.dispatcher.server.util.mapper.UUIDConverter;
+import com.pleased.ticket.dispatcher.server.util.RequestIdHolder;
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.util.context.ContextView;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @Slf4j
 public class TicketEventProducer {
 
+    public static final String REQUEST_ID_HEADER = "requestId";
+    /**
+     * Correlation ID of the event, as 16 big endian bytes.
+     */
+    public static final String CORRELATION_ID_HEADER = "correlationId";
+
     private final ReactiveKafkaProducerTemplate<ByteBuffer, Object> reactiveKafkaTemplate;
     private final MeterRegistry meterRegistry;
+    // Null unless kafka.producer.batching.enabled, single events are then sent in batches across requests
+    private final KafkaSendBatcher kafkaSendBatcher;
 
     @Autowired
-    public TicketEventProducer(ReactiveKafkaProducerTemplate<ByteBuffer, Object> reactiveKafkaTemplate, MeterRegistry meterRegistry) {
+    public TicketEventProducer(ReactiveKafkaProducerTemplate<ByteBuffer, Object> reactiveKafkaTemplate, MeterRegistry meterRegistry, ObjectProvider<KafkaSendBatcher> kafkaSendBatcher) {
         this.reactiveKafkaTemplate = reactiveKafkaTemplate;
         this.meterRegistry = meterRegistry;
+        this.kafkaSendBatcher = kafkaSendBatcher.getIfAvailable();
     }
 
     public Mono<Void> publishTicketCreated(TicketCreated event, UUID correlationId) {
@@ -45,6 +64,59 @@ public class TicketEventProducer {
         return publishEvent(KafkaTopicConfig.TICKET_UPDATES_TOPIC, event.getTicketId(), event, correlationId);
     }
 
+    public Mono<Void> publishTicketDetailsUpdated(TicketDetailsUpdated event, UUID correlationId) {
+        return publishEvent(KafkaTopicConfig.TICKET_DETAILS_TOPIC, event.getTicketId(), event, correlationId);
+    }
+
+    /**
+     * Publishes the events with a single send.
+     * <p>
+     * Each result carries the index of its event in the list, results come in completion order. A record that fails
+     * does not stop the others, its result holds the exception.
+     */
+    public Flux<SenderResult<Integer>> publishTicketsCreated(List<TicketCreated> events, UUID correlationId) {
+        return publishTicketsCreated(Flux.range(0, events.size()).map(index -> Tuples.of(events.get(index), index)),
+                correlationId);
+    }
+
+    /**
+     * Publishes a stream of events with a single send, each paired with the metadata returned in its result.
+     * <p>
+     * Events are requested as the sender has room for them (see {@code maxInFlight}), so a slow broker slows the
+     * source down instead of queueing. Results come in completion order; a record that fails does not stop the others,
+     * its result holds the exception.
+     * <p>
+     * Each record is timed from the moment it is handed to the sender, like a single send.
+     */
+    public <T> Flux<SenderResult<T>> publishTicketsCreated(Flux<Tuple2<TicketCreated, T>> events, UUID correlationId) {
+        String topic = KafkaTopicConfig.TICKET_CREATE_TOPIC;
+        ByteBuffer correlation = correlationId != null ? UUIDCodec.toByteBuffer(correlationId) : null;
+
+        return Flux.deferContextual(contextView -> {
+                    byte[] requestId = requestId(contextView);
+                    return reactiveKafkaTemplate.send(events.map(event -> {
+                        ByteBuffer key = event.getT1().getTicketId();
+                        if (key == null) {
+                            throw new IllegalArgumentException("Key cannot be null");
+                        }
+                        return senderRecord(topic, key, event.getT1(), correlation, requestId,
+                                Tuples.of(event.getT2(), Timer.start(meterRegistry)));
+                    }));
+                })
+                .<SenderResult<T>>map(result -> {
+                    TimedResult<T> timed = new TimedResult<>(result);
+                    if (timed.exception() == null) {
+                        recordSend(timed.sample, topic, "success");
+                    } else {
+                        recordSend(timed.sample, topic, "error");
+                        log.error("Failed to publish event {} to topic {} - Error: {}",
+                                timed.correlationMetadata(), topic, timed.exception().getMessage());
+                    }
+                    return timed;
+                })
+                .onErrorMap(ex -> new EventPublishingException("Failed to publish events to topic: " + topic, ex));
+    }
+
     private Mono<Void> publishEvent(String topic, ByteBuffer key, SpecificRecordBase event, UUID correlationId) {
         // Validate inputs
         if (event == null) {
@@ -54,43 +126,107 @@ public class TicketEventProducer {
             return Mono.error(new IllegalArgumentException("Key cannot be null"));
         }
 
-        // Create SenderRecord with headers
-        SenderRecord<ByteBuffer, Object, ByteBuffer> record = SenderRecord.create(
+        ByteBuffer correlation = correlationId != null ? UUIDCodec.toByteBuffer(correlationId) : null;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        return Mono.deferContextual(contextView -> send(
+                        // Correlation bytes as metadata
+                        senderRecord(topic, key, event, correlation, requestId(contextView), correlation)))
+                .doOnSuccess(metadata -> {
+                    recordSend(sample, topic, "success");
+
+                    log.debug("Successfully published event to topic {}: {} - partition: {}, offset: {}",
+                            topic, key, metadata.partition(), metadata.offset());
+                })
+                .doOnError(ex -> {
+                    recordSend(sample, topic, "error");
+                    log.error("Failed to publish event to topic {}: {} - Error: {}", topic, key, ex.getMessage(), ex);
+                })
+                .onErrorMap(ex -> new EventPublishingException("Failed to publish event to topic: " + topic, ex))
+                .then();// Converts Mono<RecordMetadata> to Mono<Void>
+    }
+
+    /**
+     * Sends a single record, through the batcher when batching is enabled. A record the broker rejects is an error.
+     */
+    private Mono<RecordMetadata> send(SenderRecord<ByteBuffer, Object, ByteBuffer> record) {
+        if (kafkaSendBatcher != null) {
+            return kafkaSendBatcher.send(record);
+        }
+        return reactiveKafkaTemplate.send(record)
+                .flatMap(result -> result.exception() == null
+                        ? Mono.just(result.recordMetadata())
+                        : Mono.error(result.exception()));
+    }
+
+    private static <T> SenderRecord<ByteBuffer, Object, T> senderRecord(String topic, ByteBuffer key, Object event,
+                                                                        ByteBuffer correlation, byte[] requestId,
+                                                                        T metadata) {
+        SenderRecord<ByteBuffer, Object, T> record = SenderRecord.create(
                 topic,
                 null, // Let Kafka decide partition based on key
                 null, // Let Kafka set timestamp
                 key,
                 event,
-                UUIDConverter.uuidToBytes(correlationId)  // correlation metadata
+                metadata
         );
         // Set headers
         record.headers()
                 .add("eventType", KafkaTopicConfig.EVENT_TYPE_MAP.get(topic).getBytes());//TODO maybe can be used in the future.
+        if (correlation != null) {
+            // Same 16 bytes as the metadata, visible to consumers
+            record.headers().add(CORRELATION_ID_HEADER, correlation.array());
+        }
+        if (requestId != null) {
+            record.headers().add(REQUEST_ID_HEADER, requestId);
+        }
+        return record;
+    }
 
-        Timer.Sample sample = Timer.start(meterRegistry);
+    /**
+     * Request ID of the originating HTTP call, if any.
+     */
+    private static byte[] requestId(ContextView contextView) {
+        return contextView.<String>getOrEmpty(RequestIdHolder.REQUEST_ID_CONTEXT_KEY)
+                .map(requestId -> requestId.getBytes(StandardCharsets.UTF_8))
+                .orElse(null);
+    }
 
-        return reactiveKafkaTemplate.send(record)
-                .doOnSuccess(result -> {
-                    sample.stop(Timer.builder("kafka.producer.send.duration")
-                            .tag("topic", topic)
-                            .tag("status", "success")
-                            .register(meterRegistry));
-                    meterRegistry.counter("kafka.producer.send.total", "topic", topic, "status", "success").increment();
-
-                    RecordMetadata metadata = result.recordMetadata();
-                    log.debug("Successfully published event to topic {}: {} - partition: {}, offset: {}",
-                            topic, key, metadata.partition(), metadata.offset());
-                })
-                .doOnError(ex -> {
-                    sample.stop(Timer.builder("kafka.producer.send.duration")
-                            .tag("topic", topic)
-                            .tag("status", "error")
-                            .register(meterRegistry));
-                    meterRegistry.counter("kafka.producer.send.total", "topic", topic, "status", "error").increment();
-                    log.error("Failed to publish event to topic {}: {} - Error: {}", topic, key, ex.getMessage(), ex);
-                })
-                .onErrorMap(ex -> new EventPublishingException("Failed to publish event to topic: " + topic, ex))
-                .then();// Converts Mono<SenderResult<T>> to Mono<Void>
+    private void recordSend(Timer.Sample sample, String topic, String status) {
+        sample.stop(Timer.builder("kafka.producer.send.duration")
+                .tag("topic", topic)
+                .tag("status", status)
+                .register(meterRegistry));
+        meterRegistry.counter("kafka.producer.send.total", "topic", topic, "status", status).increment();
     }
-}
 
+    /**
+     * Result of a streamed send, without the timer sample it was sent with.
+     */
+    private static final class TimedResult<T> implements SenderResult<T> {
+
+        private final SenderResult<Tuple2<T, Timer.Sample>> result;
+        private final Timer.Sample sample;
+
+        private TimedResult(SenderResult<Tuple2<T, Timer.Sample>> result) {
+            this.result = result;
+            this.sample = result.correlationMetadata().getT2();
+        }
+
+        @Override
+        public RecordMetadata recordMetadata() {
+            return result.recordMetadata();
+        }
+
+        @Override
+        public Exception exception() {
+            return result.exception();
+        }
+
+        @Override
+        public T correlationMetadata() {
+            return result.correlationMetadata().getT1();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.exception.EntityNotFoundException;
+import com.pleased.ticket.dispatcher.server.model.api.TicketAPIResponse;
+import com.pleased.ticket.dispatcher.server.model.api.TicketPriorityEnum;
+import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import com.pleased.ticket.dispatcher.server.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Ticket Query Service serves the ticket read endpoints.
+ * <p>
+ * Single tickets are read through the {@link TicketCache}, the database is only reached on a miss. Listings are
+ * pages in (createdAt, ticketID) order, read straight from the database as they are consumed: a page starts after
+ * the cursor, i.e. the createdAt and ticketID of the last ticket of the previous page, or at the beginning without one.
+ * Searches are answered by the {@link TicketSearchIndex}, only the tickets found are read from the database.
+ */
+@Service
+public class TicketQueryService {
+
+    private final TicketCache ticketCache;
+    private final TicketRepository ticketRepository;
+    private final TicketSearchIndex ticketSearchIndex;
+
+    @Autowired
+    public TicketQueryService(TicketCache ticketCache, TicketRepository ticketRepository,
+                              TicketSearchIndex ticketSearchIndex) {
+        this.ticketCache = ticketCache;
+        this.ticketRepository = ticketRepository;
+        this.ticketSearchIndex = ticketSearchIndex;
+    }
+
+    /**
+     * Get a ticket by ID
+     */
+    public Mono<TicketAPIResponse> getTicket(UUID ticketId) {
+        return ticketCache.get(ticketId)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new EntityNotFoundException("Ticket not found: " + ticketId))))
+                .map(TicketQueryService::toAPIResponse);
+    }
+
+    /**
+     * List a page of the tickets of a project
+     */
+    public Flux<TicketAPIResponse> getProjectTickets(UUID projectId, OffsetDateTime afterCreatedAt,
+                                                     UUID afterTicketId, int limit) {
+        return (afterTicketId == null
+                ? ticketRepository.findFirstPageByProjectId(projectId, limit)
+                : ticketRepository.findPageByProjectIdAfter(projectId, afterCreatedAt, afterTicketId, limit))
+                .map(TicketQueryService::toAPIResponse);
+    }
+
+    /**
+     * List a page of the tickets reported by a user
+     */
+    public Flux<TicketAPIResponse> getReportedTickets(UUID userId, OffsetDateTime afterCreatedAt,
+                                                      UUID afterTicketId, int limit) {
+        return (afterTicketId == null
+                ? ticketRepository.findFirstPageByUserId(userId, limit)
+                : ticketRepository.findPageByUserIdAfter(userId, afterCreatedAt, afterTicketId, limit))
+                .map(TicketQueryService::toAPIResponse);
+    }
+
+    /**
+     * List a page of the tickets assigned to a user
+     */
+    public Flux<TicketAPIResponse> getAssignedTickets(UUID assigneeId, OffsetDateTime afterCreatedAt,
+                                                      UUID afterTicketId, int limit) {
+        return (afterTicketId == null
+                ? ticketRepository.findFirstPageByAssigneeId(assigneeId, limit)
+                : ticketRepository.findPageByAssigneeIdAfter(assigneeId, afterCreatedAt, afterTicketId, limit))
+                .map(TicketQueryService::toAPIResponse);
+    }
+
+    /**
+     * Search the tickets of a project holding every word of the query, most recently indexed first
+     */
+    public Flux<TicketAPIResponse> searchTickets(UUID projectId, String query, int limit) {
+        return Flux.defer(() -> {
+            List<UUID> ticketIds = ticketSearchIndex.search(projectId, query, limit);
+            if (ticketIds.isEmpty()) {
+                return Flux.empty();
+            }
+            // Read in any order, sent in the order found
+            return ticketRepository.findAllById(ticketIds)
+                    .collectMap(TicketEntity::getTicketId)
+                    .flatMapIterable(tickets -> ticketIds.stream()
+                            .map(tickets::get)
+                            .filter(ticket -> ticket != null && projectId.equals(ticket.getProjectId()))
+                            .collect(Collectors.toList()));
+        }).map(TicketQueryService::toAPIResponse);
+    }
+
+    static TicketAPIResponse toAPIResponse(TicketEntity ticket) {
+        TicketAPIResponse response = new TicketAPIResponse();
+        response.setTicketID(ticket.getTicketId());
+        response.setSubject(ticket.getSubject());
+        response.setDescription(ticket.getDescription());
+        response.setPriority(ticket.getPriority() != null
+                ? TicketPriorityEnum.fromLevel(ticket.getPriority()).name()
+                : null);
+        response.setDueDate(ticket.getDueDate());
+        response.setProjectId(ticket.getProjectId());
+        response.setUserId(ticket.getUserId());
+        response.setStatus(ticket.getStatus());
+        response.setCreatedAt(ticket.getCreatedAt());
+        response.setUpdatedAt(ticket.getUpdatedAt());
+        return response;
+    }
+}
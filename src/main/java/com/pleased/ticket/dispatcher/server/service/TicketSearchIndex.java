@@ -0,0 +1,419 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import com.pleased.ticket.dispatcher.server.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory inverted index over the subject and description of the tickets, searched within a project.
+ * <p>
+ * Each project has its own index: a ticket is a document number, and each term maps to the ascending document numbers
+ * holding it, in a growable int array. A ticket indexed again after a details update gets a new document number and
+ * its previous one is marked deleted, so postings stay append-only and sorted; a project is compacted once most of its
+ * documents are deleted. A search intersects the postings of every query term, starting from the rarest one.
+ * <p>
+ * The index is written to a snapshot file on an interval and on shutdown. On start it is read back, then the tickets
+ * changed since the snapshot, less a margin for consumer lag, are indexed again from the database; without a snapshot
+ * every ticket is. Indexing a ticket twice is harmless. Searches before the catch-up is done may miss tickets.
+ */
+@Slf4j
+public class TicketSearchIndex {
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_TERM_LENGTH = 64;
+
+    private static final int SNAPSHOT_MAGIC = 0x54534958;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int COMPACT_MIN_DELETED = 64;
+
+    private final TicketRepository ticketRepository;
+    private final Path snapshotPath;
+    private final Duration snapshotInterval;
+    private final Duration catchUpMargin;
+
+    private final ConcurrentMap<UUID, ProjectIndex> projects = new ConcurrentHashMap<>();
+    // Snapshots are only written once caught up, a partial index would otherwise replace a complete one
+    private volatile boolean caughtUp;
+    private Disposable startTask;
+
+    public TicketSearchIndex(TicketRepository ticketRepository, Path snapshotPath, Duration snapshotInterval,
+                             Duration catchUpMargin) {
+        this.ticketRepository = ticketRepository;
+        this.snapshotPath = snapshotPath;
+        this.snapshotInterval = snapshotInterval;
+        this.catchUpMargin = catchUpMargin;
+    }
+
+    /**
+     * Indexes the subject and description of the ticket, replacing what was indexed for it before.
+     */
+    public void index(TicketEntity ticket) {
+        if (ticket.getProjectId() == null) {
+            return;
+        }
+        Set<String> terms = tokenize(ticket.getSubject());
+        terms.addAll(tokenize(ticket.getDescription()));
+        projects.computeIfAbsent(ticket.getProjectId(), projectId -> new ProjectIndex())
+                .index(ticket.getTicketId(), terms);
+    }
+
+    /**
+     * IDs of the tickets of the project holding every term of the query, most recently indexed first.
+     */
+    public List<UUID> search(UUID projectId, String query, int limit) {
+        Set<String> terms = tokenize(query);
+        ProjectIndex index = projects.get(projectId);
+        if (terms.isEmpty() || index == null) {
+            return Collections.emptyList();
+        }
+        return index.search(terms, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        startTask = Mono.fromCallable(this::readSnapshot)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(takenAt -> ticketRepository.findChangedSince(takenAt.minus(catchUpMargin).atOffset(ZoneOffset.UTC)))
+                .defaultIfEmpty(Flux.defer(ticketRepository::findAll))
+                .flatMapMany(tickets -> tickets)
+                .doOnNext(this::index)
+                .count()
+                .doOnNext(indexed -> {
+                    caughtUp = true;
+                    log.info("Ticket search index caught up, {} tickets indexed from the database", indexed);
+                })
+                .thenMany(Flux.interval(snapshotInterval))
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(this::writeSnapshot)
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(error -> {
+                            log.warn("Failed to write the ticket search snapshot to {}", snapshotPath, error);
+                            return Mono.empty();
+                        }))
+                .subscribe(tick -> { }, error -> log.error("Failed to load the ticket search index", error));
+    }
+
+    public void stop() {
+        if (startTask != null) {
+            startTask.dispose();
+        }
+        if (caughtUp) {
+            try {
+                writeSnapshot();
+            } catch (RuntimeException e) {
+                log.warn("Failed to write the ticket search snapshot on shutdown", e);
+            }
+        }
+    }
+
+    /**
+     * Writes every project to a temporary file then moves it over the snapshot, a crash never leaves half a snapshot.
+     */
+    void writeSnapshot() {
+        // Taken before the first project is written, so that later changes are caught up on the next start
+        Instant takenAt = Instant.now();
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(takenAt.toEpochMilli());
+                for (Map.Entry<UUID, ProjectIndex> project : projects.entrySet()) {
+                    out.writeBoolean(true);
+                    writeUUID(out, project.getKey());
+                    project.getValue().write(out);
+                }
+                out.writeBoolean(false);
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write the ticket search snapshot to " + snapshotPath, e);
+        }
+        log.debug("Wrote the ticket search snapshot of {} projects to {}", projects.size(), snapshotPath);
+    }
+
+    /**
+     * Loads the snapshot, if any.
+     *
+     * @return the time the snapshot was taken, or null without a readable snapshot
+     */
+    Instant readSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring the ticket search snapshot {}, unknown format", snapshotPath);
+                return null;
+            }
+            Instant takenAt = Instant.ofEpochMilli(in.readLong());
+            while (in.readBoolean()) {
+                UUID projectId = readUUID(in);
+                projects.put(projectId, ProjectIndex.read(in));
+            }
+            log.info("Read the ticket search snapshot of {} projects taken at {}", projects.size(), takenAt);
+            return takenAt;
+        } catch (IOException e) {
+            log.warn("Ignoring the ticket search snapshot {}, it could not be read", snapshotPath, e);
+            projects.clear();
+            return null;
+        }
+    }
+
+    /**
+     * Distinct lower case terms of the text: runs of letters and digits, shorter ones dropped and longer ones cut.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean termChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                if (i - start >= MIN_TERM_LENGTH) {
+                    terms.add(text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void writeUUID(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUUID(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    /**
+     * Index of a single project, every access holds its lock.
+     */
+    private static final class ProjectIndex {
+
+        private UUID[] tickets = new UUID[16];
+        private int documentCount;
+        private final BitSet deleted = new BitSet();
+        private int deletedCount;
+        private final Map<UUID, Integer> documents = new HashMap<>();
+        private final Map<String, Postings> postings = new HashMap<>();
+
+        synchronized void index(UUID ticketId, Set<String> terms) {
+            Integer previous = documents.remove(ticketId);
+            if (previous != null) {
+                deleted.set(previous);
+                deletedCount++;
+            }
+            int document = documentCount++;
+            if (document == tickets.length) {
+                tickets = Arrays.copyOf(tickets, document * 2);
+            }
+            tickets[document] = ticketId;
+            documents.put(ticketId, document);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new Postings()).add(document);
+            }
+            if (deletedCount >= COMPACT_MIN_DELETED && deletedCount * 2 > documentCount) {
+                compact();
+            }
+        }
+
+        synchronized List<UUID> search(Set<String> terms, int limit) {
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            // Newest documents first, each looked up in the longer lists
+            Postings rarest = lists.get(0);
+            List<UUID> found = new ArrayList<>();
+            for (int i = rarest.size - 1; i >= 0 && found.size() < limit; i--) {
+                int document = rarest.documents[i];
+                if (!deleted.get(document) && containedInAll(lists, document)) {
+                    found.add(tickets[document]);
+                }
+            }
+            return found;
+        }
+
+        private static boolean containedInAll(List<Postings> lists, int document) {
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(document)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Renumbers the live documents in order, which keeps every postings list sorted.
+         */
+        private void compact() {
+            int[] renumbered = new int[documentCount];
+            UUID[] live = new UUID[Math.max(16, documentCount - deletedCount)];
+            int liveCount = 0;
+            for (int document = 0; document < documentCount; document++) {
+                if (deleted.get(document)) {
+                    renumbered[document] = -1;
+                } else {
+                    renumbered[document] = liveCount;
+                    live[liveCount++] = tickets[document];
+                }
+            }
+            Iterator<Postings> lists = postings.values().iterator();
+            while (lists.hasNext()) {
+                Postings list = lists.next();
+                list.renumber(renumbered);
+                if (list.size == 0) {
+                    lists.remove();
+                }
+            }
+            documents.replaceAll((ticketId, document) -> renumbered[document]);
+            tickets = live;
+            documentCount = liveCount;
+            deleted.clear();
+            deletedCount = 0;
+        }
+
+        synchronized void write(DataOutputStream out) throws IOException {
+            out.writeInt(documentCount);
+            for (int document = 0; document < documentCount; document++) {
+                writeUUID(out, tickets[document]);
+            }
+            long[] deletedWords = deleted.toLongArray();
+            out.writeInt(deletedWords.length);
+            for (long word : deletedWords) {
+                out.writeLong(word);
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Postings> term : postings.entrySet()) {
+                out.writeUTF(term.getKey());
+                Postings list = term.getValue();
+                out.writeInt(list.size);
+                for (int i = 0; i < list.size; i++) {
+                    out.writeInt(list.documents[i]);
+                }
+            }
+        }
+
+        static ProjectIndex read(DataInputStream in) throws IOException {
+            ProjectIndex index = new ProjectIndex();
+            index.documentCount = in.readInt();
+            index.tickets = new UUID[Math.max(16, index.documentCount)];
+            for (int document = 0; document < index.documentCount; document++) {
+                index.tickets[document] = readUUID(in);
+            }
+            long[] deletedWords = new long[in.readInt()];
+            for (int i = 0; i < deletedWords.length; i++) {
+                deletedWords[i] = in.readLong();
+            }
+            index.deleted.or(BitSet.valueOf(deletedWords));
+            index.deletedCount = index.deleted.cardinality();
+            for (int document = 0; document < index.documentCount; document++) {
+                if (!index.deleted.get(document)) {
+                    index.documents.put(index.tickets[document], document);
+                }
+            }
+            int termCount = in.readInt();
+            for (int t = 0; t < termCount; t++) {
+                String term = in.readUTF();
+                int size = in.readInt();
+                Postings list = new Postings(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(in.readInt());
+                }
+                index.postings.put(term, list);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Ascending document numbers holding a term.
+     */
+    private static final class Postings {
+
+        private int[] documents;
+        private int size;
+
+        Postings() {
+            this(4);
+        }
+
+        Postings(int capacity) {
+            documents = new int[Math.max(1, capacity)];
+        }
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        boolean contains(int document) {
+            return Arrays.binarySearch(documents, 0, size, document) >= 0;
+        }
+
+        void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int document = renumbered[documents[i]];
+                if (document >= 0) {
+                    documents[kept++] = document;
+                }
+            }
+            size = kept;
+            if (size < documents.length / 4) {
+                documents = Arrays.copyOf(documents, Math.max(4, size));
+            }
+        }
+    }
+}
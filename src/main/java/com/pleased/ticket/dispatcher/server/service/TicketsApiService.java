@@ -1,16 +1,27 @@
 package com.pleased.ticket.dispatcher.server.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.pleased.ticket.dispatcher.server.model.api.*;
 import com.pleased.ticket.dispatcher.server.model.events.TicketAssigned;
 import com.pleased.ticket.dispatcher.server.model.events.TicketCreated;
+import com.pleased.ticket.dispatcher.server.model.events.TicketDetailsUpdated;
 import com.pleased.ticket.dispatcher.server.model.events.TicketStatusUpdated;
 import com.pleased.ticket.dispatcher.server.util.mapper.EventMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -18,19 +29,27 @@ import java.util.UUID;
  * <p>
  * Service will:
  * Map API requests to Kafka Events
- * Publish Events to the following kafka topics: ticket-create.v1 ; ticket-assignments.v1; ticket-updates.v1;
+ * Publish Events to the following kafka topics: ticket-create.v1 ; ticket-assignments.v1; ticket-updates.v1; ticket-details.v1;
  */
 @Slf4j
 @Service
 public class TicketsApiService {
 
+    /**
+     * Lines of an import whose keys are checked against each other, older keys are found once recorded.
+     */
+    static final int IMPORT_KEY_WINDOW = 10_000;
+
     private final TicketEventProducer eventPublisher;
     private final EventMapper eventMapper;
+    private final TicketCreateIdempotency ticketCreateIdempotency;
 
     @Autowired
-    public TicketsApiService(TicketEventProducer eventPublisher, EventMapper eventMapper) {
+    public TicketsApiService(TicketEventProducer eventPublisher, EventMapper eventMapper,
+                             TicketCreateIdempotency ticketCreateIdempotency) {
         this.eventPublisher = eventPublisher;
         this.eventMapper = eventMapper;
+        this.ticketCreateIdempotency = ticketCreateIdempotency;
     }
 
     /**
@@ -38,18 +57,10 @@ public class TicketsApiService {
      */
     public Mono<TicketAPIResponse> createTicket(TicketCreateAPIRequest request) {
 
-        UUID ticketId = request.getIdempotencyKey();
-        log.info("Creating ticket {} with title: {}", ticketId, request.getSubject());
+        log.info("Creating ticket {} with title: {}", request.getIdempotencyKey(), request.getSubject());
 
         // Create and return fast response
-        TicketAPIResponse response = new TicketAPIResponse();
-        response.setTicketID(ticketId);
-        response.setSubject(request.getSubject());
-        response.setDescription(request.getDescription());
-        response.setUserId(request.getUserId());
-        response.setProjectId(request.getProjectId());
-        response.setStatus(TicketStatusEnum.OPEN.toString());
-        response.setCreatedAt(OffsetDateTime.now());
+        TicketAPIResponse response = newTicket(request, OffsetDateTime.now());
 
         TicketCreated event= eventMapper.toTicketCreated(request, response.getTicketID(),response.getCreatedAt().toInstant());
 
@@ -58,6 +69,138 @@ public class TicketsApiService {
                 .then(Mono.just(response));
     }
 
+    /**
+     * Create a batch of tickets, their events are published with a single send.
+     * <p>
+     * Results are in request order. A ticket whose event could not be published is reported with the failure,
+     * the others are created regardless. An item whose key was already used by an earlier request is answered with
+     * the ticket created then, it is not published again.
+     */
+    public Mono<List<TicketBatchItemAPIResult>> createTickets(List<TicketCreateAPIRequest> requests) {
+
+        if (requests.isEmpty()) {
+            return Mono.just(Collections.emptyList());
+        }
+        log.info("Creating batch of {} tickets", requests.size());
+
+        return Flux.fromIterable(requests)
+                .flatMapSequential(ticketCreateIdempotency::lookup)
+                .collectList()
+                .flatMap(created -> publishTickets(requests, created));
+    }
+
+    private Mono<List<TicketBatchItemAPIResult>> publishTickets(List<TicketCreateAPIRequest> requests,
+                                                                List<Optional<TicketAPIResponse>> created) {
+
+        OffsetDateTime createdAt = OffsetDateTime.now();
+        List<TicketCreated> events = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
+        TicketBatchItemAPIResult[] results = new TicketBatchItemAPIResult[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            TicketCreateAPIRequest request = requests.get(i);
+            if (created.get(i).isPresent()) {
+                results[i] = batchItem(request, created.get(i).get(), null);
+                continue;
+            }
+            events.add(eventMapper.toTicketCreated(request, request.getIdempotencyKey(), createdAt.toInstant()));
+            positions.add(i);
+        }
+        if (events.isEmpty()) {
+            log.info("Every ticket of the batch was already created");
+            return Mono.just(Arrays.asList(results));
+        }
+
+        // One correlation ID per call, all items share it
+        return eventPublisher.publishTicketsCreated(events, requests.get(0).getCorrelationID())
+                .concatMap(result -> {
+                    int index = positions.get(result.correlationMetadata());
+                    TicketCreateAPIRequest request = requests.get(index);
+                    if (result.exception() != null) {
+                        results[index] = batchItem(request, null,
+                                "Failed to publish ticket: " + result.exception().getMessage());
+                        return Mono.<Void>empty();
+                    }
+                    TicketAPIResponse ticket = newTicket(request, createdAt);
+                    results[index] = batchItem(request, ticket, null);
+                    return ticketCreateIdempotency.record(ticket);
+                })
+                .doOnError(error -> log.error("Failed to create batch of {} tickets", events.size(), error))
+                .then(Mono.fromCallable(() -> {
+                    for (int i = 0; i < results.length; i++) {
+                        if (results[i] == null) {
+                            results[i] = batchItem(requests.get(i), null, "Ticket was not published");
+                        }
+                    }
+                    return Arrays.asList(results);
+                }));
+    }
+
+    /**
+     * Import a stream of tickets as one job, their events are published with a single send as the stream is read.
+     * <p>
+     * Tickets rejected by Kafka are counted as failed, the import goes on. The job ends completed once the stream and
+     * every pending send are done, or failed if the stream or the send breaks off.
+     * <p>
+     * Keys are deduplicated like the items of a batch: a line repeating the key of one of the last
+     * {@link #IMPORT_KEY_WINDOW} lines of the job is counted as failed, and a line whose key was already published, by
+     * this job or an earlier request, is counted as published without being published again. Only the window is held
+     * in memory, whatever the size of the file.
+     */
+    public Mono<ImportJob> importTickets(ImportJob job, Flux<TicketCreateAPIRequest> requests, UUID correlationId) {
+
+        log.info("Starting import {}", job.getJobId());
+
+        // Keys of the recent lines, still being published and not recorded yet
+        Map<UUID, Boolean> recentKeys = Caffeine.newBuilder()
+                .maximumSize(IMPORT_KEY_WINDOW)
+                .<UUID, Boolean>build()
+                .asMap();
+        Flux<Tuple2<TicketCreated, TicketAPIResponse>> events = requests
+                .filter(request -> {
+                    if (recentKeys.putIfAbsent(request.getIdempotencyKey(), Boolean.TRUE) == null) {
+                        return true;
+                    }
+                    log.warn("Import {} skipped duplicate idempotency key {}", job.getJobId(), request.getIdempotencyKey());
+                    job.failed();
+                    return false;
+                })
+                .flatMapSequential(request -> ticketCreateIdempotency.lookup(request)
+                        .flatMap(created -> {
+                            if (created.isPresent()) {
+                                job.published();
+                                return Mono.<TicketCreateAPIRequest>empty();
+                            }
+                            return Mono.just(request);
+                        }))
+                .map(request -> {
+                    TicketAPIResponse ticket = newTicket(request, OffsetDateTime.now());
+                    return Tuples.of(eventMapper.toTicketCreated(request, request.getIdempotencyKey(),
+                            ticket.getCreatedAt().toInstant()), ticket);
+                });
+
+        return eventPublisher.publishTicketsCreated(events, correlationId)
+                .concatMap(result -> {
+                    if (result.exception() != null) {
+                        job.failed();
+                        return Mono.<Void>empty();
+                    }
+                    job.published();
+                    return ticketCreateIdempotency.record(result.correlationMetadata());
+                })
+                .then(Mono.fromCallable(() -> {
+                    job.complete();
+                    log.info("Import {} completed: {} accepted, {} published, {} failed", job.getJobId(),
+                            job.getAccepted(), job.getPublished(), job.getFailed());
+                    return job;
+                }))
+                .onErrorResume(error -> {
+                    job.fail(error.getMessage());
+                    log.error("Import {} failed after {} accepted lines", job.getJobId(), job.getAccepted(), error);
+                    return Mono.just(job);
+                })
+                .doOnCancel(() -> job.fail("Import cancelled"));
+    }
+
     /**
      * Assign a ticket to a user.
      */
@@ -98,4 +241,48 @@ public class TicketsApiService {
                 .doOnError(error -> log.error("Failed to update ticket {} status", request.getTicketID(), error))
                 .then(Mono.just(response));
     }
+
+    /**
+     * Update ticket details, only the fields set on the request are changed
+     */
+    public Mono<TicketAPIResponse> updateTicketDetails(TicketDetailsAPIRequest request) {
+
+        log.info("Updating ticket {} details", request.getTicketID());
+
+        // Create and return fast response
+        TicketAPIResponse response = new TicketAPIResponse();
+        response.setTicketID(request.getTicketID());
+        response.setSubject(request.getSubject());
+        response.setDescription(request.getDescription());
+        response.setPriority(request.getPriority());
+        response.setDueDate(request.getDueDate());
+        response.setNotify(request.getNotify());
+        response.setUpdatedAt(OffsetDateTime.now());
+
+        TicketDetailsUpdated event = eventMapper.toTicketDetailsUpdated(request, response.getUpdatedAt().toInstant());
+
+        return eventPublisher.publishTicketDetailsUpdated(event, request.getCorrelationID())
+                .doOnError(error -> log.error("Failed to update ticket {} details", request.getTicketID(), error))
+                .then(Mono.just(response));
+    }
+
+    private static TicketAPIResponse newTicket(TicketCreateAPIRequest request, OffsetDateTime createdAt) {
+        TicketAPIResponse response = new TicketAPIResponse();
+        response.setTicketID(request.getIdempotencyKey());
+        response.setSubject(request.getSubject());
+        response.setDescription(request.getDescription());
+        response.setUserId(request.getUserId());
+        response.setProjectId(request.getProjectId());
+        response.setStatus(TicketStatusEnum.OPEN.toString());
+        response.setCreatedAt(createdAt);
+        return response;
+    }
+
+    private static TicketBatchItemAPIResult batchItem(TicketCreateAPIRequest request, TicketAPIResponse ticket, String error) {
+        TicketBatchItemAPIResult item = new TicketBatchItemAPIResult();
+        item.setIdempotencyKey(request.getIdempotencyKey());
+        item.setTicket(ticket);
+        item.setError(error);
+        return item;
+    }
 }
@@ -0,0 +1,76 @@
+package com.pleased.ticket.dispatcher.server.util;
+
+import org.slf4j.MDC;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.util.context.ContextView;
+
+import java.util.function.Consumer;
+
+/**
+ * Access to the correlation ID of the current flow, an HTTP call or a consumed Kafka record.
+ * <p>
+ * The ID lives in the Reactor Context only. Log statements running in signal callbacks can pick it up in the MDC
+ * through {@link #onNext(Consumer)} and {@link #onError(Consumer)}.
+ */
+public final class CorrelationIdHolder {
+
+    public static final String CORRELATION_ID_CONTEXT_KEY = "correlationId";
+    public static final String CORRELATION_ID_MDC_KEY = "correlationId";
+
+    private CorrelationIdHolder() {
+    }
+
+    public static Mono<String> getCorrelationIdOrEmpty() {
+        return Mono.deferContextual(contextView -> {
+            if (contextView.hasKey(CORRELATION_ID_CONTEXT_KEY)) {
+                return Mono.just(contextView.get(CORRELATION_ID_CONTEXT_KEY));
+            }
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * Signal callback running the action for the emitted value, with the correlation ID in the MDC.
+     */
+    public static <T> Consumer<Signal<T>> onNext(Consumer<T> action) {
+        return signal -> {
+            if (signal.isOnNext()) {
+                withMdc(signal.getContextView(), () -> action.accept(signal.get()));
+            }
+        };
+    }
+
+    /**
+     * Signal callback running the action for the error, with the correlation ID in the MDC.
+     */
+    public static <T> Consumer<Signal<T>> onError(Consumer<Throwable> action) {
+        return signal -> {
+            if (signal.isOnError()) {
+                withMdc(signal.getContextView(), () -> action.accept(signal.getThrowable()));
+            }
+        };
+    }
+
+    /**
+     * Runs the action with the correlation ID of the context in the MDC, restoring the previous value afterwards.
+     */
+    public static void withMdc(ContextView contextView, Runnable action) {
+        String correlationId = contextView.getOrDefault(CORRELATION_ID_CONTEXT_KEY, null);
+        if (correlationId == null) {
+            action.run();
+            return;
+        }
+        String previous = MDC.get(CORRELATION_ID_MDC_KEY);
+        MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                MDC.put(CORRELATION_ID_MDC_KEY, previous);
+            } else {
+                MDC.remove(CORRELATION_ID_MDC_KEY);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.pleased.ticket.dispatcher.server.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Incremental MurmurHash3 x64 128-bit hasher (seed 0).
+ * <p>
+ * Input can be fed in chunks of any size, e.g. one per network buffer, and yields the same hash as the whole input
+ * hashed at once. Only a 16 byte tail is kept between chunks. Not thread safe, not cryptographic.
+ */
+public final class Murmur3Hasher {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final int BLOCK_SIZE = 16;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final byte[] tail = new byte[BLOCK_SIZE];
+    private int tailLength;
+    private long length;
+    private long h1;
+    private long h2;
+
+    /**
+     * Hashes the remaining bytes of the buffer, without moving its position.
+     */
+    public Murmur3Hasher update(ByteBuffer buffer) {
+        ByteBuffer data = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        length += data.remaining();
+
+        // Complete the block left over from the previous chunk
+        if (tailLength > 0) {
+            int count = Math.min(BLOCK_SIZE - tailLength, data.remaining());
+            data.get(tail, tailLength, count);
+            tailLength += count;
+            if (tailLength < BLOCK_SIZE) {
+                return this;
+            }
+            mixBlock(littleEndianLong(tail, 0), littleEndianLong(tail, 8));
+            tailLength = 0;
+        }
+
+        while (data.remaining() >= BLOCK_SIZE) {
+            mixBlock(data.getLong(), data.getLong());
+        }
+
+        tailLength = data.remaining();
+        data.get(tail, 0, tailLength);
+        return this;
+    }
+
+    public Murmur3Hasher update(byte[] bytes) {
+        return update(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Finishes the hash as 32 lowercase hex chars, bytes of h1 then h2 in little endian order.
+     * The hasher must not be updated afterwards.
+     */
+    public String hashHex() {
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = tailLength - 1; i >= BLOCK_SIZE / 2; i--) {
+            k2 = (k2 << 8) | (tail[i] & 0xFFL);
+        }
+        for (int i = Math.min(tailLength, BLOCK_SIZE / 2) - 1; i >= 0; i--) {
+            k1 = (k1 << 8) | (tail[i] & 0xFFL);
+        }
+        if (tailLength > 8) {
+            h2 ^= mixK2(k2);
+        }
+        if (tailLength > 0) {
+            h1 ^= mixK1(k1);
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+
+        char[] hex = new char[32];
+        appendLittleEndianHex(h1, hex, 0);
+        appendLittleEndianHex(h2, hex, 16);
+        return new String(hex);
+    }
+
+    public static String hashHex(byte[] bytes) {
+        return new Murmur3Hasher().update(bytes).hashHex();
+    }
+
+    private void mixBlock(long k1, long k2) {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static long littleEndianLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset + 7; i >= offset; i--) {
+            value = (value << 8) | (bytes[i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static void appendLittleEndianHex(long value, char[] hex, int offset) {
+        for (int i = 0; i < 8; i++) {
+            int b = (int) (value >>> (8 * i)) & 0xFF;
+            hex[offset + 2 * i] = HEX[b >>> 4];
+            hex[offset + 2 * i + 1] = HEX[b & 0xF];
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.pleased.ticket.dispatcher.server.util;
+
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cheap, time-ordered request IDs in UUID format (version 7 layout: 48-bit epoch millis, then random bits).
+ * <p>
+ * Randomness comes from {@link ThreadLocalRandom}, so unlike {@link UUID#randomUUID()} no shared SecureRandom
+ * is contended. IDs sort by creation time, which keeps them readable in logs; they are not meant to be unguessable.
+ */
+public final class RequestIdGenerator {
+
+    private RequestIdGenerator() {
+    }
+
+    public static String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return UUIDCodec.format(mostSigBits, leastSigBits);
+    }
+}
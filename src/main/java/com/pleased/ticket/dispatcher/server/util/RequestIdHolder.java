@@ -0,0 +1,35 @@
+package com.pleased.ticket.dispatcher.server.util;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Access to the ID assigned to the current request, shared by logging, error responses and published events.
+ * <p>
+ * The ID lives both in the exchange attributes and in the Reactor Context.
+ */
+public final class RequestIdHolder {
+
+    public static final String REQUEST_ID_CONTEXT_KEY = "requestId";
+    public static final String REQUEST_ID_ATTRIBUTE = RequestIdHolder.class.getName() + ".REQUEST_ID";
+
+    private RequestIdHolder() {
+    }
+
+    /**
+     * Returns the ID of the exchange, creating it on first access.
+     */
+    public static String getOrCreate(ServerWebExchange exchange) {
+        return (String) exchange.getAttributes()
+                .computeIfAbsent(REQUEST_ID_ATTRIBUTE, key -> RequestIdGenerator.next());
+    }
+
+    public static Mono<String> getRequestIdOrEmpty() {
+        return Mono.deferContextual(contextView -> {
+            if (contextView.hasKey(REQUEST_ID_CONTEXT_KEY)) {
+                return Mono.just(contextView.get(REQUEST_ID_CONTEXT_KEY));
+            }
+            return Mono.empty();
+        });
+    }
+}
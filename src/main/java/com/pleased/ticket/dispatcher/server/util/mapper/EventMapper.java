@@ -3,9 +3,11 @@ package com.pleased.ticket.dispatcher.server.util.mapper;
 
 import com.pleased.ticket.dispatcher.server.model.api.TicketAssignmentAPIRequest;
 import com.pleased.ticket.dispatcher.server.model.api.TicketCreateAPIRequest;
+import com.pleased.ticket.dispatcher.server.model.api.TicketDetailsAPIRequest;
 import com.pleased.ticket.dispatcher.server.model.api.TicketStatusAPIRequest;
 import com.pleased.ticket.dispatcher.server.model.events.TicketAssigned;
 import com.pleased.ticket.dispatcher.server.model.events.TicketCreated;
+import com.pleased.ticket.dispatcher.server.model.events.TicketDetailsUpdated;
 import com.pleased.ticket.dispatcher.server.model.events.TicketStatusUpdated;
 import org.mapstruct.*;
 
@@ -64,17 +66,28 @@ public interface EventMapper {
     @Mapping(target = "assignedAt", source = "assignedAt")
     TicketAssigned toTicketAssigned(TicketAssignmentAPIRequest request, Instant assignedAt);
 
+    // TicketDetailsUpdated mapping, null fields are left unchanged by the consumer
+    @Mapping(target = "eventId", source = "request.idempotencyKey", qualifiedByName = "uuidToBytes")
+    @Mapping(target = "ticketId", source = "request.ticketID", qualifiedByName = "uuidToBytes")
+    @Mapping(target = "subject", source = "request.subject")
+    @Mapping(target = "description", source = "request.description")
+    @Mapping(target = "priority", source = "request.priority")
+    @Mapping(target = "dueDate", source = "request.dueDate")
+    @Mapping(target = "notify", source = "request.notify")
+    @Mapping(target = "updatedAt", source = "updatedAt")
+    TicketDetailsUpdated toTicketDetailsUpdated(TicketDetailsAPIRequest request, Instant updatedAt);
+
     // UUID to ByteBuffer conversion
     @Named("uuidToBytes")
     default ByteBuffer uuidToBytes(UUID uuid) {
         if (uuid == null) return null;
-        return UUIDConverter.uuidToBytes(uuid);
+        return UUIDCodec.toByteBuffer(uuid);
     }
 
     // ByteBuffer to UUID conversion (for reverse mapping if needed)
     @Named("bytesToUuid")
     default UUID bytesToUuid(ByteBuffer buffer) {
         if (buffer == null) return null;
-        return UUIDConverter.bytesToUUID(buffer);
+        return UUIDCodec.fromBytes(buffer);
     }
 }
@@ -37,16 +37,27 @@ public interface TicketsMapper {
     // Details mapping methods
     TicketDetailsAPIRequest fromRestToAPIDetailsRequest(TicketDetailsRequest restRequest);
 
+    // Project event mapping methods
+    @Mapping(source = "eventId", target = "eventId", qualifiedByName = "uuidToString")
+    @Mapping(source = "projectId", target = "projectId", qualifiedByName = "uuidToString")
+    @Mapping(source = "ticketId", target = "ticketId", qualifiedByName = "uuidToString")
+    @Mapping(source = "assigneeId", target = "assigneeId", qualifiedByName = "uuidToString")
+    ProjectEventResponse fromAPIToRestProjectEvent(ProjectEvent apiEvent);
+
+    // Counter mapping methods
+    @Mapping(source = "ownerId", target = "ownerId", qualifiedByName = "uuidToString")
+    TicketCountsResponse fromAPIToRestTicketCounts(TicketCountsAPIResponse apiResponse);
+
     /**
      * Helper methods for custom mapping.
      */
     @Named("uuidToString")
     static String uuidToString(UUID id) {
-        return id != null ? id.toString() : null;
+        return id != null ? UUIDCodec.format(id) : null;
     }
     @Named("stringToUUID")
     static UUID stringToUUID(String id) {
-        return id != null ? UUID.fromString(id) : null;
+        return id != null ? UUIDCodec.parse(id) : null;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.pleased.ticket.dispatcher.server.util.mapper;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * UUID text and binary conversions used across the service (HTTP input, mappers, Avro events, Kafka headers).
+ * <p>
+ * Text is the canonical 36 char form, parsed with a lookup table and formatted into a single char array: unlike
+ * {@link UUID#fromString(String)} and {@link UUID#toString()} on Java 8, no intermediate substring is created.
+ * Binary is 16 big endian bytes; buffers are read and written at absolute indexes, their position is never moved.
+ */
+public final class UUIDCodec {
+
+    public static final int BYTES = 16;
+    public static final int TEXT_LENGTH = 36;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private UUIDCodec() {
+    }
+
+    /**
+     * Parses the canonical form, either case.
+     *
+     * @throws IllegalArgumentException if the text is not a canonical UUID, as {@link UUID#fromString(String)} does
+     */
+    public static UUID parse(CharSequence text) {
+        if (text.length() != TEXT_LENGTH || text.charAt(8) != '-' || text.charAt(13) != '-'
+                || text.charAt(18) != '-' || text.charAt(23) != '-') {
+            throw new IllegalArgumentException("Invalid UUID string: " + text);
+        }
+        long mostSigBits = hex(text, 0, 8);
+        mostSigBits = (mostSigBits << 16) | hex(text, 9, 13);
+        mostSigBits = (mostSigBits << 16) | hex(text, 14, 18);
+        long leastSigBits = hex(text, 19, 23);
+        leastSigBits = (leastSigBits << 48) | hex(text, 24, 36);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static String format(UUID uuid) {
+        return format(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Formats the canonical, lowercase form.
+     */
+    public static String format(long mostSigBits, long leastSigBits) {
+        char[] chars = new char[TEXT_LENGTH];
+        hex(mostSigBits >>> 32, 8, chars, 0);
+        chars[8] = '-';
+        hex(mostSigBits >>> 16, 4, chars, 9);
+        chars[13] = '-';
+        hex(mostSigBits, 4, chars, 14);
+        chars[18] = '-';
+        hex(leastSigBits >>> 48, 4, chars, 19);
+        chars[23] = '-';
+        hex(leastSigBits, 12, chars, 24);
+        return new String(chars);
+    }
+
+    /**
+     * Reads the 16 bytes starting at the buffer's position, without moving it.
+     */
+    public static UUID fromBytes(ByteBuffer buffer) {
+        int position = buffer.position();
+        if (buffer.limit() - position < BYTES) {
+            throw new IllegalArgumentException("Expected " + BYTES + " UUID bytes, got " + buffer.remaining());
+        }
+        return new UUID(buffer.getLong(position), buffer.getLong(position + 8));
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("Expected " + BYTES + " UUID bytes, got " + bytes.length);
+        }
+        return new UUID(readLong(bytes, 0), readLong(bytes, 8));
+    }
+
+    public static byte[] toByteArray(UUID uuid) {
+        byte[] bytes = new byte[BYTES];
+        writeLong(uuid.getMostSignificantBits(), bytes, 0);
+        writeLong(uuid.getLeastSignificantBits(), bytes, 8);
+        return bytes;
+    }
+
+    /**
+     * Wraps the 16 bytes of the UUID, position 0 and limit 16, ready to be read.
+     */
+    public static ByteBuffer toByteBuffer(UUID uuid) {
+        return ByteBuffer.wrap(toByteArray(uuid));
+    }
+
+    /**
+     * Writes the 16 bytes at the given index, without moving the buffer's position.
+     */
+    public static void write(UUID uuid, ByteBuffer buffer, int index) {
+        buffer.putLong(index, uuid.getMostSignificantBits());
+        buffer.putLong(index + 8, uuid.getLeastSignificantBits());
+    }
+
+    private static long hex(CharSequence text, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            int digit = c < 128 ? HEX_VALUES[c] : -1;
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid UUID string: " + text);
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private static void hex(long value, int digits, char[] chars, int offset) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static void writeLong(long value, byte[] bytes, int offset) {
+        for (int i = offset + 7; i >= offset; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
@@ -21,11 +21,21 @@ public class UUIDConversion extends Conversion<UUID> {
 
     @Override
     public UUID fromBytes(ByteBuffer value, Schema schema, LogicalType type) {
-        return UUIDConverter.bytesToUUID(value);
+        return UUIDCodec.fromBytes(value);
     }
 
     @Override
     public ByteBuffer toBytes(UUID value, Schema schema, LogicalType type) {
-        return UUIDConverter.uuidToBytes(value);
+        return UUIDCodec.toByteBuffer(value);
+    }
+
+    @Override
+    public UUID fromCharSequence(CharSequence value, Schema schema, LogicalType type) {
+        return UUIDCodec.parse(value);
+    }
+
+    @Override
+    public CharSequence toCharSequence(UUID value, Schema schema, LogicalType type) {
+        return UUIDCodec.format(value);
     }
 }
\ No newline at end of file
@@ -32,6 +32,29 @@ CREATE TABLE IF NOT EXISTS user_pls (
                       timezone VARCHAR(100)
 );
 
+CREATE TABLE IF NOT EXISTS idempotency_response (
+                      idempotency_key VARCHAR(255) PRIMARY KEY,
+                      response VARBINARY NOT NULL,     -- encoded CachedResponse
+                      expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_response_expires_at ON idempotency_response(expires_at);
+
+-- Open and in progress tickets per project and per assignee, see TicketCounters
+CREATE TABLE IF NOT EXISTS ticket_counter (
+                      scope VARCHAR(16) NOT NULL,      -- expected values: 'PROJECT', 'ASSIGNEE'
+                      owner_id UUID NOT NULL,          -- project_id or assignee_id
+                      status VARCHAR(50) NOT NULL,     -- expected values: 'OPEN', 'IN_PROGRESS'
+                      ticket_count BIGINT NOT NULL,
+                      updated_at TIMESTAMP WITH TIME ZONE, -- last flushed change, null once rebuilt
+                      PRIMARY KEY (scope, owner_id, status)
+);
+
+-- Keyset pagination of the ticket listings, see TicketRepository
+CREATE INDEX IF NOT EXISTS idx_ticket_project_created ON ticket(project_id, created_at, ticket_id);
+CREATE INDEX IF NOT EXISTS idx_ticket_user_created ON ticket(user_id, created_at, ticket_id);
+CREATE INDEX IF NOT EXISTS idx_ticket_assignee_created ON ticket(assignee_id, created_at, ticket_id);
+
 ALTER TABLE ticket
     ADD CONSTRAINT IF NOT EXISTS fk_ticket_user FOREIGN KEY (user_id) REFERENCES user_pls(user_id);
 
@@ -0,0 +1,86 @@
+package com.pleased.ticket.dispatcher.server.benchmark;
+
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.SignedJWT;
+import com.pleased.ticket.dispatcher.server.TestUtil;
+import com.pleased.ticket.dispatcher.server.config.SecurityConfig;
+import com.pleased.ticket.dispatcher.server.security.HmacJwtDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HS256 verification of one token: the former per call {@link MACVerifier} (as done in the authentication filter),
+ * the Nimbus backed resource server decoder, and {@link HmacJwtDecoder}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.pleased.ticket.dispatcher.server.benchmark.JwtVerificationBenchmark};
+ * the GC profiler reports the allocation rate ({@code gc.alloc.rate.norm}, bytes per operation).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private String token;
+    private NimbusReactiveJwtDecoder nimbusDecoder;
+    private HmacJwtDecoder hmacDecoder;
+
+    @Setup
+    public void setUp() throws Exception {
+        token = TestUtil.generateValidJwt();
+        nimbusDecoder = NimbusReactiveJwtDecoder.withSecretKey(new SecretKeySpec(
+                        SecurityConfig.JWT_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        hmacDecoder = new HmacJwtDecoder(SecurityConfig.JWT_SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String macVerifierPerCall() throws Exception {
+        SignedJWT signedJWT = SignedJWT.parse(token);
+        JWSVerifier verifier = new MACVerifier(SecurityConfig.JWT_SECRET.getBytes());
+        if (!signedJWT.verify(verifier)) {
+            throw new IllegalStateException("Invalid signature");
+        }
+        return signedJWT.getJWTClaimsSet().getSubject();
+    }
+
+    @Benchmark
+    public String nimbusReactiveDecoder() {
+        return nimbusDecoder.decode(token).block().getSubject();
+    }
+
+    @Benchmark
+    public String hmacDecoder() {
+        return hmacDecoder.verify(token).getSubject();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,75 @@
+package com.pleased.ticket.dispatcher.server.benchmark;
+
+import com.pleased.ticket.dispatcher.server.filter.logging.JsonMasker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logged body formatting: the former regex compaction (no masking) against the single pass {@link JsonMasker}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.pleased.ticket.dispatcher.server.benchmark.LogMaskingBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogMaskingBenchmark {
+
+    private static final String TICKET_JSON = "{\n" +
+            "  \"subject\": \"Printer on the third floor is on fire\",\n" +
+            "  \"description\": \"Smoke coming out of the paper tray since 9am, please call facilities.\",\n" +
+            "  \"projectId\": \"2f1b6c0e-8d4a-4b43-9d6e-2f7c3b1a5e90\",\n" +
+            "  \"reporter\": {\"name\": \"Zoë\", \"email\": \"zoe@example.com\"},\n" +
+            "  \"tags\": [\"hardware\", \"urgent\"],\n" +
+            "  \"priority\": 1\n" +
+            "}";
+
+    private byte[] body;
+    private JsonMasker masker;
+    private StringBuilder line;
+
+    @Setup
+    public void setUp() {
+        body = TICKET_JSON.getBytes(StandardCharsets.UTF_8);
+        masker = JsonMasker.parse("description,email");
+        line = new StringBuilder(512);
+    }
+
+    @Benchmark
+    public String regexCompact() {
+        String text = new String(body, StandardCharsets.UTF_8);
+        if (text.trim().isEmpty()) return "[empty]";
+        return StringUtils.trimWhitespace(text.replaceAll("[\n\r]+", " "));
+    }
+
+    @Benchmark
+    public int streamingMask() {
+        line.setLength(0);
+        masker.mask(body, line);
+        return line.length();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LogMaskingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.pleased.ticket.dispatcher.server.benchmark;
+
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each UUID conversion, former implementation ({@code legacy*}: JDK parsing/formatting, allocate/flip/rewind buffers
+ * as in {@code UUIDConverter}) against {@link UUIDCodec}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.pleased.ticket.dispatcher.server.benchmark.UUIDCodecBenchmark};
+ * the GC profiler reports the allocation rate ({@code gc.alloc.rate.norm}, bytes per operation).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UUIDCodecBenchmark {
+
+    private UUID uuid;
+    private String text;
+    private ByteBuffer bytes;
+
+    @Setup
+    public void setUp() {
+        uuid = UUID.randomUUID();
+        text = uuid.toString();
+        bytes = UUIDCodec.toByteBuffer(uuid);
+    }
+
+    @Benchmark
+    public UUID legacyParse() {
+        return UUID.fromString(text);
+    }
+
+    @Benchmark
+    public UUID codecParse() {
+        return UUIDCodec.parse(text);
+    }
+
+    @Benchmark
+    public String legacyFormat() {
+        return uuid.toString();
+    }
+
+    @Benchmark
+    public String codecFormat() {
+        return UUIDCodec.format(uuid);
+    }
+
+    @Benchmark
+    public ByteBuffer legacyToBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+        buffer.flip();
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuffer codecToBytes() {
+        return UUIDCodec.toByteBuffer(uuid);
+    }
+
+    @Benchmark
+    public UUID legacyFromBytes() {
+        bytes.rewind();
+        long mostSig = bytes.getLong();
+        long leastSig = bytes.getLong();
+        return new UUID(mostSig, leastSig);
+    }
+
+    @Benchmark
+    public UUID codecFromBytes() {
+        return UUIDCodec.fromBytes(bytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UUIDCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
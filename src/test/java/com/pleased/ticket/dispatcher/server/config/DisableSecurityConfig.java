@@ -10,6 +10,8 @@ import org.springframework.security.web.server.SecurityWebFilterChain;
 
 /**
  * Custom Security Config setup to disable the security filter chain by allowing all API calls.
+ * <p>
+ * Bearer tokens are still decoded, so that {@code JwtAuthenticationFilter} finds the authenticated user.
  */
 @EnableWebFluxSecurity
 @TestConfiguration
@@ -24,6 +26,10 @@ public class DisableSecurityConfig {
                 .authorizeExchange(exchanges -> exchanges
                         .anyExchange().permitAll()  // Allow all requests for local dev
                 )
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt ->
+                                jwt.jwtDecoder(SecurityConfig.hmacJwtDecoder()))
+                )
                 .build();
     }
 }
@@ -0,0 +1,91 @@
+package com.pleased.ticket.dispatcher.server.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.pleased.ticket.dispatcher.server.security.JwksKeySource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for the token decoder set up by {@link SecurityConfig}.
+ */
+public class SecurityConfigTest {
+
+    private static final String EXTERNAL_SECRET = "an-externally-supplied-secret-of-256-bits!";
+
+    @TempDir
+    Path tempDir;
+
+    private RSAKey rsaKey;
+    private JwksKeySource keySource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rsaKey = new RSAKeyGenerator(2048).keyID("rsa-1").generate();
+        Path jwksFile = tempDir.resolve("jwks.json");
+        Files.write(jwksFile, new JWKSet(rsaKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8));
+        keySource = new JwksKeySource(new FileSystemResource(jwksFile), Duration.ofMinutes(5));
+        keySource.refresh();
+    }
+
+    @Test
+    void signatureDecoder_JwksEnabled_ShouldRejectHs256Tokens() throws Exception {
+        ReactiveJwtDecoder decoder = SecurityConfig.signatureDecoder(keySource, false, "");
+
+        assertThrows(BadJwtException.class, () -> decoder.decode(hs256(SecurityConfig.JWT_SECRET)).block());
+        assertEquals("user-1", decoder.decode(rs256()).block().getSubject());
+    }
+
+    @Test
+    void signatureDecoder_JwksWithHmacOptIn_ShouldOnlyAcceptTheExternalSecret() throws Exception {
+        ReactiveJwtDecoder decoder = SecurityConfig.signatureDecoder(keySource, true, EXTERNAL_SECRET);
+
+        assertEquals("user-1", decoder.decode(hs256(EXTERNAL_SECRET)).block().getSubject());
+        assertThrows(JwtException.class, () -> decoder.decode(hs256(SecurityConfig.JWT_SECRET)).block());
+    }
+
+    @Test
+    void signatureDecoder_HmacOptInWithoutSecret_ShouldFail() {
+        assertThrows(IllegalStateException.class, () -> SecurityConfig.signatureDecoder(keySource, true, ""));
+    }
+
+    private static String hs256(String secret) throws Exception {
+        return sign(new JWSHeader(JWSAlgorithm.HS256), new MACSigner(secret.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String rs256() throws Exception {
+        return sign(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("rsa-1").build(), new RSASSASigner(rsaKey));
+    }
+
+    private static String sign(JWSHeader header, JWSSigner signer) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("user-1")
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + 600_000))
+                .build();
+        SignedJWT jwt = new SignedJWT(header, claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+}
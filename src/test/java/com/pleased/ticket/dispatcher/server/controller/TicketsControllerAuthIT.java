@@ -109,6 +109,17 @@ public class TicketsControllerAuthIT {
                 .expectStatus().isUnauthorized();
     }
 
+    @Test
+    void testRebuildTicketCountsWithoutAdminScope_shouldFailWithForbidden() throws JOSEException {
+        String token = TestUtil.generateValidJwt();
+
+        webTestClient.post()
+                .uri("http://localhost:" + port + "/api/v1/ticket-counts:rebuild")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
     @Test
     void testEndpointWithoutToken_shouldFailWithUnAuth() {
         TicketCreateRequest request = new TicketCreateRequest();
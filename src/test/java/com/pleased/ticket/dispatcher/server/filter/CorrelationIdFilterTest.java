@@ -0,0 +1,57 @@
+package com.pleased.ticket.dispatcher.server.filter;
+
+import com.pleased.ticket.dispatcher.server.util.CorrelationIdHolder;
+import com.pleased.ticket.dispatcher.server.util.RequestIdHolder;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link CorrelationIdFilter}.
+ */
+public class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter correlationIdFilter = new CorrelationIdFilter();
+
+    @Test
+    void filter_WithHeader_ShouldPutItInContextWithoutMutatingExchange() {
+        String correlationId = UUID.randomUUID().toString();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/tickets")
+                .header(CorrelationIdFilter.CORRELATION_ID_HEADER, correlationId));
+        AtomicReference<ServerWebExchange> filteredExchange = new AtomicReference<>();
+        AtomicReference<String> fromContext = new AtomicReference<>();
+
+        correlationIdFilter.filter(exchange, filtered -> {
+                    filteredExchange.set(filtered);
+                    return CorrelationIdHolder.getCorrelationIdOrEmpty()
+                            .doOnNext(fromContext::set)
+                            .then();
+                })
+                .block(Duration.ofSeconds(5));
+
+        assertSame(exchange, filteredExchange.get());
+        assertEquals(correlationId, fromContext.get());
+        assertEquals(correlationId, exchange.getResponse().getHeaders().getFirst(CorrelationIdFilter.CORRELATION_ID_HEADER));
+    }
+
+    @Test
+    void filter_WithoutHeader_ShouldFallBackToRequestId() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/tickets"));
+        AtomicReference<String> fromContext = new AtomicReference<>();
+
+        correlationIdFilter.filter(exchange, filtered -> CorrelationIdHolder.getCorrelationIdOrEmpty()
+                        .doOnNext(fromContext::set)
+                        .then())
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(RequestIdHolder.getOrCreate(exchange), fromContext.get());
+        assertNull(exchange.getRequest().getHeaders().getFirst(CorrelationIdFilter.CORRELATION_ID_HEADER));
+    }
+}
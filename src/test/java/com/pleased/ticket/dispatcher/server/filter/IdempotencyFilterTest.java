@@ -0,0 +1,132 @@
+package com.pleased.ticket.dispatcher.server.filter;
+
+import com.pleased.ticket.dispatcher.server.filter.idempotency.InMemoryIdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link IdempotencyFilter}.
+ * <p>
+ * Uses mock exchanges and a counting chain in place of the controller.
+ */
+public class IdempotencyFilterTest {
+
+    private static final String RESPONSE_BODY = "{\"ticketId\":\"42\"}";
+
+    private IdempotencyFilter idempotencyFilter;
+    private AtomicInteger chainInvocations;
+    private WebFilterChain slowChain;
+    private WebFilterChain bodyReadingChain;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyFilter = new IdempotencyFilter(
+                new InMemoryIdempotencyStore(100, Duration.ofMinutes(5), new SimpleMeterRegistry()));
+        chainInvocations = new AtomicInteger();
+
+        // Simulates the controller publishing to Kafka before answering
+        slowChain = exchange -> Mono.delay(Duration.ofMillis(100))
+                .then(Mono.defer(() -> {
+                    chainInvocations.incrementAndGet();
+                    exchange.getResponse().setStatusCode(HttpStatus.OK);
+                    exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                            .wrap(RESPONSE_BODY.getBytes(StandardCharsets.UTF_8))));
+                }));
+
+        // Simulates the controller decoding the request body
+        bodyReadingChain = exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+                .doOnNext(DataBufferUtils::release)
+                .then(slowChain.filter(exchange));
+    }
+
+    @Test
+    void filter_WithConcurrentDuplicateKeys_ShouldRunChainOnce() {
+        MockServerWebExchange first = exchangeWithKey("key-1");
+        MockServerWebExchange second = exchangeWithKey("key-1");
+
+        Mono.when(idempotencyFilter.filter(first, slowChain), idempotencyFilter.filter(second, slowChain))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(1, chainInvocations.get());
+        assertEquals(RESPONSE_BODY, first.getResponse().getBodyAsString().block(Duration.ofSeconds(5)));
+        assertEquals(RESPONSE_BODY, second.getResponse().getBodyAsString().block(Duration.ofSeconds(5)));
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+    }
+
+    @Test
+    void filter_WithSequentialDuplicateKeys_ShouldReplayStoredResponse() {
+        MockServerWebExchange first = exchangeWithKey("key-2");
+        idempotencyFilter.filter(first, slowChain).block(Duration.ofSeconds(5));
+
+        MockServerWebExchange second = exchangeWithKey("key-2");
+        idempotencyFilter.filter(second, slowChain).block(Duration.ofSeconds(5));
+
+        assertEquals(1, chainInvocations.get());
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(RESPONSE_BODY, second.getResponse().getBodyAsString().block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void filter_WithReusedKeyAndSameBody_ShouldReplayStoredResponse() {
+        idempotencyFilter.filter(exchangeWithKey("key-3", "{\"subject\":\"Printer\"}"), bodyReadingChain)
+                .block(Duration.ofSeconds(5));
+
+        MockServerWebExchange retry = exchangeWithKey("key-3", "{\"subject\":\"Printer\"}");
+        idempotencyFilter.filter(retry, bodyReadingChain).block(Duration.ofSeconds(5));
+
+        assertEquals(1, chainInvocations.get());
+        assertEquals(HttpStatus.OK, retry.getResponse().getStatusCode());
+        assertEquals(RESPONSE_BODY, retry.getResponse().getBodyAsString().block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void filter_WithReusedKeyAndDifferentBody_ShouldReturnUnprocessableEntity() {
+        idempotencyFilter.filter(exchangeWithKey("key-4", "{\"subject\":\"Printer\"}"), bodyReadingChain)
+                .block(Duration.ofSeconds(5));
+
+        MockServerWebExchange reuse = exchangeWithKey("key-4", "{\"subject\":\"Scanner\"}");
+        idempotencyFilter.filter(reuse, bodyReadingChain).block(Duration.ofSeconds(5));
+
+        assertEquals(1, chainInvocations.get());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reuse.getResponse().getStatusCode());
+    }
+
+    @Test
+    void filter_WithSameKeyOnAnotherPath_ShouldNotReplay() {
+        idempotencyFilter.filter(exchangeWithKey("key-5"), slowChain).block(Duration.ofSeconds(5));
+
+        MockServerWebExchange other = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/tickets/1/assign")
+                .header("Idempotency-Key", "key-5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{}"));
+        idempotencyFilter.filter(other, slowChain).block(Duration.ofSeconds(5));
+
+        assertEquals(2, chainInvocations.get());
+    }
+
+    private static MockServerWebExchange exchangeWithKey(String idempotencyKey) {
+        return exchangeWithKey(idempotencyKey, "{}");
+    }
+
+    private static MockServerWebExchange exchangeWithKey(String idempotencyKey, String body) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/tickets")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body));
+    }
+}
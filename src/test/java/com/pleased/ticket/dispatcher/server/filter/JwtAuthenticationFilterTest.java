@@ -0,0 +1,61 @@
+package com.pleased.ticket.dispatcher.server.filter;
+
+import com.pleased.ticket.dispatcher.server.util.ReactiveSecurityContextHolder;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link JwtAuthenticationFilter}.
+ */
+public class JwtAuthenticationFilterTest {
+
+    private final JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter();
+
+    @Test
+    void filter_WithAuthenticatedJwt_ShouldExposeSubjectAsUserId() {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("user-1")
+                .build();
+        AtomicReference<String> userId = new AtomicReference<>();
+
+        jwtAuthenticationFilter.filter(bearerExchange(), exchange -> ReactiveSecurityContextHolder.getUserIdOrEmpty()
+                        .doOnNext(userId::set)
+                        .then())
+                .contextWrite(org.springframework.security.core.context.ReactiveSecurityContextHolder
+                        .withAuthentication(new JwtAuthenticationToken(jwt)))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("user-1", userId.get());
+    }
+
+    @Test
+    void filter_WithoutAuthentication_ShouldContinueWithoutUserId() {
+        AtomicReference<Boolean> chainCalled = new AtomicReference<>(false);
+        AtomicReference<String> userId = new AtomicReference<>();
+
+        jwtAuthenticationFilter.filter(bearerExchange(), exchange -> {
+                    chainCalled.set(true);
+                    return ReactiveSecurityContextHolder.getUserIdOrEmpty()
+                            .doOnNext(userId::set)
+                            .then();
+                })
+                .block(Duration.ofSeconds(5));
+
+        assertTrue(chainCalled.get());
+        assertNull(userId.get());
+    }
+
+    private static MockServerWebExchange bearerExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/tickets")
+                .header("Authorization", "Bearer token"));
+    }
+}
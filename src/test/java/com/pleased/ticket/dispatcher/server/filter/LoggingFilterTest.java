@@ -0,0 +1,128 @@
+package com.pleased.ticket.dispatcher.server.filter;
+
+import com.pleased.ticket.dispatcher.server.filter.logging.JsonMasker;
+import com.pleased.ticket.dispatcher.server.filter.logging.RouteSampler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link LoggingFilter}.
+ * <p>
+ * Runs in Netty leak detection mode on pooled buffers, and checks every buffer the filter saw ends up released.
+ */
+public class LoggingFilterTest {
+
+    private static final String REQUEST_BODY = "{\"subject\":\"Printer on fire\",\"description\":\"Third floor\"}";
+    private static final String RESPONSE_BODY = "{\"ticketId\":\"42\"}";
+
+    private ResourceLeakDetector.Level previousLevel;
+    private NettyDataBufferFactory bufferFactory;
+    private List<ByteBuf> allocated;
+    private List<String> forwardedBodies;
+    private LoggingFilter loggingFilter;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+        bufferFactory = new NettyDataBufferFactory(new PooledByteBufAllocator(true));
+        allocated = new ArrayList<>();
+        forwardedBodies = new ArrayList<>();
+        loggingFilter = new LoggingFilter(RouteSampler.always(), 16, 64, JsonMasker.parse("description"),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ResourceLeakDetector.setLevel(previousLevel);
+    }
+
+    @Test
+    void filter_ShouldPassPooledBuffersDownstreamAndReleaseCapturedSlices() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/tickets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.just(pooled(REQUEST_BODY.substring(0, 10)), pooled(REQUEST_BODY.substring(10)))));
+        // Simulates the server releasing response buffers once written
+        exchange.getResponse().setWriteHandler(body -> Flux.from(body)
+                .doOnNext(dataBuffer -> {
+                    forwardedBodies.add(dataBuffer.toString(StandardCharsets.UTF_8));
+                    DataBufferUtils.release(dataBuffer);
+                })
+                .then());
+
+        loggingFilter.filter(exchange, controllerChain()).block(Duration.ofSeconds(5));
+        loggingFilter.close();
+
+        assertEquals(REQUEST_BODY + RESPONSE_BODY, String.join("", forwardedBodies));
+        assertEquals(3, allocated.size());
+        for (ByteBuf byteBuf : allocated) {
+            assertEquals(0, byteBuf.refCnt());
+        }
+    }
+
+    @Test
+    void filter_WhenRecordIsDropped_ShouldStillReleaseCapturedSlices() {
+        loggingFilter = new LoggingFilter(RouteSampler.always(), 16, 1, JsonMasker.parse("description"),
+                new SimpleMeterRegistry());
+        loggingFilter.close();
+
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/tickets")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Flux.just(pooled(REQUEST_BODY))));
+            exchange.getResponse().setWriteHandler(body -> Flux.from(body).doOnNext(DataBufferUtils::release).then());
+
+            loggingFilter.filter(exchange, controllerChain()).block(Duration.ofSeconds(5));
+        }
+
+        // Writer stopped and a single slot queue: the first record is kept, the rest are dropped
+        assertEquals(6, allocated.size());
+        for (ByteBuf byteBuf : allocated.subList(2, 6)) {
+            assertEquals(0, byteBuf.refCnt());
+        }
+    }
+
+    private WebFilterChain controllerChain() {
+        // Decodes and releases the request body like a codec, then writes a pooled response buffer
+        return exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+                .doOnNext(dataBuffer -> {
+                    forwardedBodies.add(dataBuffer.toString(StandardCharsets.UTF_8));
+                    DataBufferUtils.release(dataBuffer);
+                })
+                .then(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.CREATED);
+                    return exchange.getResponse().writeWith(Mono.just(pooled(RESPONSE_BODY)));
+                }));
+    }
+
+    private DataBuffer pooled(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        NettyDataBuffer dataBuffer = bufferFactory.allocateBuffer(bytes.length);
+        dataBuffer.write(bytes);
+        allocated.add(dataBuffer.getNativeBuffer());
+        return dataBuffer;
+    }
+}
@@ -0,0 +1,97 @@
+package com.pleased.ticket.dispatcher.server.filter;
+
+import com.pleased.ticket.dispatcher.server.service.PersistenceAwaitRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link PersistenceWaitFilter}.
+ */
+public class PersistenceWaitFilterTest {
+
+    private final PersistenceAwaitRegistry registry = new PersistenceAwaitRegistry(100, new SimpleMeterRegistry());
+    private final PersistenceWaitFilter filter = new PersistenceWaitFilter(registry, Duration.ofSeconds(30));
+
+    @Test
+    void filter_EventPersisted_ShouldApplyWaitPreference() {
+        UUID eventId = UUID.randomUUID();
+        MockServerWebExchange exchange = write("/api/v1/tickets", eventId, "wait=10000");
+
+        filter.filter(exchange, filtered -> {
+                    registry.persisted(eventId);
+                    return filtered.getResponse().setComplete();
+                })
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("wait=10000", exchange.getResponse().getHeaders().getFirst(PersistenceWaitFilter.PREFERENCE_APPLIED_HEADER));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void filter_EventNotPersisted_ShouldRespondOnTimeoutWithoutPreferenceApplied() {
+        MockServerWebExchange exchange = write("/api/v1/tickets/" + UUID.randomUUID() + "/status", UUID.randomUUID(), "wait=20");
+
+        filter.filter(exchange, filtered -> filtered.getResponse().setComplete())
+                .block(Duration.ofSeconds(5));
+
+        assertNull(exchange.getResponse().getHeaders().getFirst(PersistenceWaitFilter.PREFERENCE_APPLIED_HEADER));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void filter_ErrorResponse_ShouldNotWait() {
+        MockServerWebExchange exchange = write("/api/v1/tickets", UUID.randomUUID(), "wait=10000");
+
+        filter.filter(exchange, filtered -> {
+                    filtered.getResponse().setStatusCode(HttpStatus.BAD_REQUEST);
+                    return filtered.getResponse().setComplete();
+                })
+                .block(Duration.ofSeconds(5));
+
+        assertNull(exchange.getResponse().getHeaders().getFirst(PersistenceWaitFilter.PREFERENCE_APPLIED_HEADER));
+    }
+
+    @Test
+    void filter_ImportOrWithoutPreference_ShouldNotExpectEvent() {
+        AtomicBoolean expected = new AtomicBoolean(true);
+
+        filter.filter(write("/api/v1/tickets:import", UUID.randomUUID(), "wait=10000"), filtered -> {
+            expected.set(registry.size() > 0);
+            return filtered.getResponse().setComplete();
+        }).block(Duration.ofSeconds(5));
+        assertFalse(expected.get());
+
+        filter.filter(write("/api/v1/tickets", UUID.randomUUID(), "respond-async"), filtered -> {
+            expected.set(registry.size() > 0);
+            return filtered.getResponse().setComplete();
+        }).block(Duration.ofSeconds(5));
+        assertFalse(expected.get());
+    }
+
+    @Test
+    void waitMillis_PreferHeaders_ShouldParseWaitOnly() {
+        assertEquals(250, PersistenceWaitFilter.waitMillis(Collections.singletonList("wait=250")));
+        assertEquals(250, PersistenceWaitFilter.waitMillis(Collections.singletonList("respond-async, Wait=250;foo")));
+        assertEquals(250, PersistenceWaitFilter.waitMillis(Arrays.asList("handling=lenient", "wait=250")));
+        assertEquals(0, PersistenceWaitFilter.waitMillis(Collections.singletonList("wait=soon")));
+        assertEquals(0, PersistenceWaitFilter.waitMillis(Collections.singletonList("wait=-5")));
+        assertEquals(0, PersistenceWaitFilter.waitMillis(null));
+    }
+
+    private static MockServerWebExchange write(String path, UUID idempotencyKey, String prefer) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post(path)
+                .header("Idempotency-Key", idempotencyKey.toString())
+                .header(PersistenceWaitFilter.PREFER_HEADER, prefer));
+    }
+}
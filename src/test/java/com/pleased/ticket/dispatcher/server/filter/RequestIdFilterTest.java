@@ -0,0 +1,37 @@
+package com.pleased.ticket.dispatcher.server.filter;
+
+import com.pleased.ticket.dispatcher.server.util.RequestIdHolder;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link RequestIdFilter}.
+ */
+public class RequestIdFilterTest {
+
+    private final RequestIdFilter requestIdFilter = new RequestIdFilter();
+
+    @Test
+    void filter_ShouldExposeSameIdInAttributesAndContext() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/tickets"));
+        AtomicReference<String> fromContext = new AtomicReference<>();
+
+        requestIdFilter.filter(exchange, filtered -> RequestIdHolder.getRequestIdOrEmpty()
+                        .doOnNext(fromContext::set)
+                        .then())
+                .block(Duration.ofSeconds(5));
+
+        String requestId = exchange.getAttribute(RequestIdHolder.REQUEST_ID_ATTRIBUTE);
+        assertNotNull(requestId);
+        assertEquals(requestId, fromContext.get());
+        assertEquals(requestId, exchange.getAttribute(ServerWebExchange.LOG_ID_ATTRIBUTE));
+        assertEquals(requestId, RequestIdHolder.getOrCreate(exchange));
+    }
+}
@@ -0,0 +1,44 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link CachedResponseCodec}.
+ */
+public class CachedResponseCodecTest {
+
+    @Test
+    void decode_ShouldRestoreEncodedResponse() {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", Arrays.asList("application/json"));
+        headers.put("Vary", Arrays.asList("Origin", "Accept-Encoding"));
+        byte[] body = "{\"ticketId\":\"42\"}".getBytes(StandardCharsets.UTF_8);
+
+        CachedResponse decoded = CachedResponseCodec.decode(
+                CachedResponseCodec.encode(new CachedResponse(201, headers, body, "6c1b07bc7bbc4be347939ac4a93c437a")));
+
+        assertEquals(201, decoded.getStatus());
+        assertEquals(headers, decoded.getHeaders());
+        assertArrayEquals(body, decoded.getBody());
+        assertEquals("6c1b07bc7bbc4be347939ac4a93c437a", decoded.getRequestFingerprint());
+    }
+
+    @Test
+    void decode_WithEmptyResponse_ShouldRestoreEmptyHeadersAndBody() {
+        CachedResponse decoded = CachedResponseCodec.decode(
+                CachedResponseCodec.encode(new CachedResponse(204, null, null)));
+
+        assertEquals(204, decoded.getStatus());
+        assertTrue(decoded.getHeaders().isEmpty());
+        assertEquals(0, decoded.getBody().length);
+        assertNull(decoded.getRequestFingerprint());
+    }
+}
@@ -0,0 +1,56 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link InMemoryIdempotencyStore}.
+ */
+public class InMemoryIdempotencyStoreTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new InMemoryIdempotencyStore(100, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    @Test
+    void put_ShouldKeepStatusHeadersAndRawBody() {
+        byte[] body = "{\"ticketId\":\"42\"}".getBytes(StandardCharsets.UTF_8);
+        store.put("key-1", new CachedResponse(201,
+                Collections.singletonMap("Content-Type", Collections.singletonList("application/json")), body)).block();
+
+        CachedResponse cached = store.get("key-1").block();
+
+        assertNotNull(cached);
+        assertEquals(201, cached.getStatus());
+        assertEquals("application/json", cached.getHeaders().get("Content-Type").get(0));
+        assertArrayEquals(body, cached.getBody());
+    }
+
+    @Test
+    void get_ShouldRecordHitAndMissMetrics() {
+        store.put("key-1", new CachedResponse(200, null, new byte[0])).block();
+
+        store.get("key-1").block();
+        store.get("key-2").block();
+        store.get("key-3").block();
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", InMemoryIdempotencyStore.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", InMemoryIdempotencyStore.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", InMemoryIdempotencyStore.CACHE_NAME)
+                .gauge().value());
+    }
+}
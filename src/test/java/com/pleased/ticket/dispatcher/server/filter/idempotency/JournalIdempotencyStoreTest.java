@@ -0,0 +1,116 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link JournalIdempotencyStore}.
+ * <p>
+ * Runs against real segment files in a temporary directory.
+ */
+public class JournalIdempotencyStoreTest {
+
+    private static final int SEGMENT_SIZE = 4 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private JournalIdempotencyStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.stop();
+        }
+    }
+
+    @Test
+    void get_AfterRestart_ShouldReplayStoredResponse() {
+        byte[] body = "{\"ticketId\":\"42\"}".getBytes(StandardCharsets.UTF_8);
+        store = openStore(Duration.ofMinutes(5));
+        store.put("key-1", new CachedResponse(201,
+                Collections.singletonMap("Content-Type", Collections.singletonList("application/json")), body)).block();
+        store.stop();
+
+        store = openStore(Duration.ofMinutes(5));
+        CachedResponse cached = store.get("key-1").block();
+
+        assertNotNull(cached);
+        assertEquals(201, cached.getStatus());
+        assertEquals("application/json", cached.getHeaders().get("Content-Type").get(0));
+        assertArrayEquals(body, cached.getBody());
+    }
+
+    @Test
+    void put_WithSameKey_ShouldReturnLatestResponseAfterRestart() {
+        store = openStore(Duration.ofMinutes(5));
+        store.put("key-1", new CachedResponse(500, null, null)).block();
+        store.put("key-1", new CachedResponse(200, null, null)).block();
+        store.stop();
+
+        store = openStore(Duration.ofMinutes(5));
+
+        assertEquals(200, store.get("key-1").block().getStatus());
+    }
+
+    @Test
+    void put_WhenSegmentIsFull_ShouldRotateAndKeepEveryEntry() {
+        store = openStore(Duration.ofMinutes(5));
+        byte[] body = new byte[1024];
+        for (int i = 0; i < 10; i++) {
+            store.put("key-" + i, new CachedResponse(200, null, body)).block();
+        }
+
+        assertTrue(store.segmentCount() > 1);
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(store.get("key-" + i).block());
+        }
+    }
+
+    @Test
+    void compact_ShouldDeleteSealedSegmentsOnceExpired() throws InterruptedException {
+        store = openStore(Duration.ofMillis(50));
+        byte[] body = new byte[1024];
+        for (int i = 0; i < 10; i++) {
+            store.put("key-" + i, new CachedResponse(200, null, body)).block();
+        }
+        int segments = store.segmentCount();
+
+        Thread.sleep(100);
+
+        assertEquals(segments - 1, store.compact());
+        assertEquals(1, store.segmentCount());
+        assertNull(store.get("key-0").block());
+    }
+
+    @Test
+    void compact_KeyWrittenAgainLater_ShouldKeepTheLatestEntry() throws InterruptedException {
+        store = openStore(Duration.ofMillis(200));
+        byte[] body = new byte[1024];
+        for (int i = 0; i < 10; i++) {
+            store.put("key-" + i, new CachedResponse(200, null, body)).block();
+        }
+        int segments = store.segmentCount();
+
+        Thread.sleep(300);
+        store.put("key-0", new CachedResponse(201, null, new byte[0])).block();
+
+        assertEquals(segments - 1, store.compact());
+        assertEquals(201, store.get("key-0").block().getStatus());
+        assertNull(store.get("key-1").block());
+    }
+
+    private JournalIdempotencyStore openStore(Duration ttl) {
+        JournalIdempotencyStore journal = new JournalIdempotencyStore(directory, SEGMENT_SIZE, ttl, Duration.ofHours(1));
+        journal.start();
+        return journal;
+    }
+}
@@ -0,0 +1,86 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link NearCachingIdempotencyStore}, two nodes sharing a {@link RedisIdempotencyStore} on a
+ * {@link StandInRedisServer}.
+ */
+public class NearCachingIdempotencyStoreTest {
+
+    private StandInRedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private ReactiveRedisTemplate<String, byte[]> redisTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StandInRedisServer();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", server.getPort()));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connectionFactory.destroy();
+        server.close();
+    }
+
+    @Test
+    void get_EntryWrittenByAnotherNode_ShouldBeFoundAndNearCached() {
+        NearCachingIdempotencyStore first = node(Duration.ofMinutes(5));
+        InMemoryIdempotencyStore secondNearCache = nearCache();
+        NearCachingIdempotencyStore second = new NearCachingIdempotencyStore(secondNearCache,
+                new RedisIdempotencyStore(redisTemplate, Duration.ofMinutes(5)));
+
+        first.put("key-1", new CachedResponse(201, null, new byte[0])).block(Duration.ofSeconds(5));
+
+        StepVerifier.create(second.get("key-1").map(CachedResponse::getStatus))
+                .expectNext(201)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertNotNull(secondNearCache.get("key-1").block());
+    }
+
+    @Test
+    void get_SharedEntryExpiringBeforeTheNearCache_ShouldNotOutliveIt() throws Exception {
+        NearCachingIdempotencyStore first = node(Duration.ofMillis(300));
+        InMemoryIdempotencyStore secondNearCache = nearCache();
+        NearCachingIdempotencyStore second = new NearCachingIdempotencyStore(secondNearCache,
+                new RedisIdempotencyStore(redisTemplate, Duration.ofMillis(300)));
+        first.put("key-1", new CachedResponse(201, null, new byte[0])).block(Duration.ofSeconds(5));
+        assertNotNull(second.get("key-1").block(Duration.ofSeconds(5)));
+
+        Thread.sleep(400);
+
+        // Near cache TTL is a minute, the copy expires with the shared entry
+        assertNull(secondNearCache.get("key-1").block());
+        StepVerifier.create(second.get("key-1"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private NearCachingIdempotencyStore node(Duration sharedTtl) {
+        return new NearCachingIdempotencyStore(nearCache(), new RedisIdempotencyStore(redisTemplate, sharedTtl));
+    }
+
+    private static InMemoryIdempotencyStore nearCache() {
+        return new InMemoryIdempotencyStore("near", 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,98 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for {@link R2dbcIdempotencyStore}, against the {@code idempotency_response} table of the in-memory
+ * H2 database.
+ * <p>
+ * Each test writes its own keys, the purge task is not started.
+ * <p>
+ * Profile: {@code test}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class R2dbcIdempotencyStoreIT {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    void put_ThenGet_ShouldReturnStoredResponseWithItsExpiry() {
+        R2dbcIdempotencyStore store = new R2dbcIdempotencyStore(databaseClient, Duration.ofMinutes(5), Duration.ofMinutes(5));
+        String key = UUID.randomUUID().toString();
+        byte[] body = "{\"ticketId\":\"42\"}".getBytes(StandardCharsets.UTF_8);
+
+        store.put(key, new CachedResponse(201,
+                Collections.singletonMap("Content-Type", Collections.singletonList("application/json")), body,
+                "fingerprint")).block();
+
+        StepVerifier.create(store.get(key))
+                .assertNext(cached -> {
+                    assertEquals(201, cached.getStatus());
+                    assertEquals("application/json", cached.getHeaders().get("Content-Type").get(0));
+                    assertArrayEquals(body, cached.getBody());
+                    assertEquals("fingerprint", cached.getRequestFingerprint());
+                    assertTrue(cached.getExpiresAt().isAfter(Instant.now().plus(Duration.ofMinutes(4))));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void put_SameKeyTwice_ShouldMergeIntoOneRow() {
+        R2dbcIdempotencyStore store = new R2dbcIdempotencyStore(databaseClient, Duration.ofMinutes(5), Duration.ofMinutes(5));
+        String key = UUID.randomUUID().toString();
+
+        store.put(key, new CachedResponse(500, null, new byte[0])).block();
+        store.put(key, new CachedResponse(201, null, new byte[0])).block();
+
+        StepVerifier.create(store.get(key).map(CachedResponse::getStatus))
+                .expectNext(201)
+                .verifyComplete();
+        StepVerifier.create(databaseClient.sql("SELECT COUNT(*) AS n FROM idempotency_response WHERE idempotency_key = :key")
+                        .bind("key", key)
+                        .map(row -> row.get("n", Long.class))
+                        .one())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void get_ExpiredEntry_ShouldBeEmptyAndPurged() {
+        R2dbcIdempotencyStore expired = new R2dbcIdempotencyStore(databaseClient, Duration.ofSeconds(-1), Duration.ofMinutes(5));
+        R2dbcIdempotencyStore live = new R2dbcIdempotencyStore(databaseClient, Duration.ofMinutes(5), Duration.ofMinutes(5));
+        String expiredKey = UUID.randomUUID().toString();
+        String liveKey = UUID.randomUUID().toString();
+        expired.put(expiredKey, new CachedResponse(201, null, new byte[0])).block();
+        live.put(liveKey, new CachedResponse(201, null, new byte[0])).block();
+
+        StepVerifier.create(live.get(expiredKey))
+                .verifyComplete();
+
+        Integer purged = live.purgeExpired().block();
+
+        assertNotNull(purged);
+        assertTrue(purged >= 1);
+        StepVerifier.create(databaseClient.sql("SELECT idempotency_key FROM idempotency_response WHERE idempotency_key = :key")
+                        .bind("key", expiredKey)
+                        .fetch()
+                        .one())
+                .verifyComplete();
+        StepVerifier.create(live.get(liveKey).map(CachedResponse::getStatus))
+                .expectNext(201)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,87 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link RedisIdempotencyStore}, against a {@link StandInRedisServer}.
+ */
+public class RedisIdempotencyStoreTest {
+
+    private StandInRedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private ReactiveRedisTemplate<String, byte[]> redisTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StandInRedisServer();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", server.getPort()));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connectionFactory.destroy();
+        server.close();
+    }
+
+    @Test
+    void put_ThenGet_ShouldReturnStoredResponseWithItsExpiry() {
+        RedisIdempotencyStore store = new RedisIdempotencyStore(redisTemplate, Duration.ofMinutes(5));
+        byte[] body = "{\"ticketId\":\"42\"}".getBytes(StandardCharsets.UTF_8);
+
+        store.put("key-1", new CachedResponse(201,
+                Collections.singletonMap("Content-Type", Collections.singletonList("application/json")), body,
+                "fingerprint")).block(Duration.ofSeconds(5));
+
+        StepVerifier.create(store.get("key-1"))
+                .assertNext(cached -> {
+                    assertEquals(201, cached.getStatus());
+                    assertEquals("application/json", cached.getHeaders().get("Content-Type").get(0));
+                    assertArrayEquals(body, cached.getBody());
+                    assertEquals("fingerprint", cached.getRequestFingerprint());
+                    assertTrue(cached.getExpiresAt().isAfter(Instant.now().plus(Duration.ofMinutes(4))));
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void get_UnknownKey_ShouldBeEmpty() {
+        RedisIdempotencyStore store = new RedisIdempotencyStore(redisTemplate, Duration.ofMinutes(5));
+
+        StepVerifier.create(store.get("unknown"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void get_ExpiredEntry_ShouldBeEmpty() throws Exception {
+        RedisIdempotencyStore store = new RedisIdempotencyStore(redisTemplate, Duration.ofMillis(50));
+        store.put("key-1", new CachedResponse(201, null, new byte[0])).block(Duration.ofSeconds(5));
+
+        Thread.sleep(100);
+
+        StepVerifier.create(store.get("key-1"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,202 @@
+package com.pleased.ticket.dispatcher.server.filter.idempotency;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Just enough of a Redis server for the idempotency stores: RESP2 with {@code PING}, {@code SET} with {@code EX} or
+ * {@code PX}, {@code GET}, {@code PTTL} and {@code DEL}, on a random local port.
+ * <p>
+ * {@code HELLO} is refused, so the client falls back to RESP2; other commands of the client handshake get an OK.
+ */
+class StandInRedisServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Socket> connections = new ArrayList<>();
+
+    StandInRedisServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "stand-in-redis");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        synchronized (connections) {
+            for (Socket connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket connection = serverSocket.accept();
+                synchronized (connections) {
+                    connections.add(connection);
+                }
+                Thread worker = new Thread(() -> serve(connection), "stand-in-redis-connection");
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (Socket socket = connection) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                List<byte[]> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                execute(command, out);
+                // Pipelined commands are answered together
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Connection closed
+        }
+    }
+
+    private void execute(List<byte[]> command, OutputStream out) throws IOException {
+        String name = string(command.get(0)).toUpperCase();
+        switch (name) {
+            case "HELLO":
+                write(out, "-ERR unknown command 'HELLO'\r\n");
+                break;
+            case "PING":
+                write(out, "+PONG\r\n");
+                break;
+            case "SET":
+                long ttlMillis = -1;
+                for (int i = 3; i + 1 < command.size(); i += 2) {
+                    String option = string(command.get(i)).toUpperCase();
+                    long value = Long.parseLong(string(command.get(i + 1)));
+                    ttlMillis = "EX".equals(option) ? value * 1000 : value;
+                }
+                entries.put(string(command.get(1)), new Entry(command.get(2),
+                        ttlMillis < 0 ? Long.MAX_VALUE : System.currentTimeMillis() + ttlMillis));
+                write(out, "+OK\r\n");
+                break;
+            case "GET":
+                Entry entry = live(string(command.get(1)));
+                if (entry == null) {
+                    write(out, "$-1\r\n");
+                } else {
+                    write(out, "$" + entry.value.length + "\r\n");
+                    out.write(entry.value);
+                    write(out, "\r\n");
+                }
+                break;
+            case "PTTL":
+                Entry expiring = live(string(command.get(1)));
+                long pttl = expiring == null ? -2
+                        : expiring.expiresAt == Long.MAX_VALUE ? -1
+                        : Math.max(0, expiring.expiresAt - System.currentTimeMillis());
+                write(out, ":" + pttl + "\r\n");
+                break;
+            case "DEL":
+                int deleted = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    deleted += entries.remove(string(command.get(i))) != null ? 1 : 0;
+                }
+                write(out, ":" + deleted + "\r\n");
+                break;
+            default:
+                write(out, "+OK\r\n");
+        }
+    }
+
+    private Entry live(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Null once the client disconnected.
+     */
+    private static List<byte[]> readCommand(DataInputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        if (header.charAt(0) != '*') {
+            throw new IOException("Unsupported request: " + header);
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<byte[]> arguments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String length = readLine(in);
+            if (length == null || length.charAt(0) != '$') {
+                throw new IOException("Unsupported argument: " + length);
+            }
+            byte[] argument = new byte[Integer.parseInt(length.substring(1))];
+            in.readFully(argument);
+            in.readFully(new byte[2]);
+            arguments.add(argument);
+        }
+        return arguments;
+    }
+
+    private static String readLine(DataInputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString(StandardCharsets.UTF_8.name());
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    private static void write(OutputStream out, String reply) throws IOException {
+        out.write(reply.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Entry {
+
+        private final byte[] value;
+        private final long expiresAt;
+
+        private Entry(byte[] value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
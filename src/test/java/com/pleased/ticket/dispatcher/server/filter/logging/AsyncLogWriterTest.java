@@ -0,0 +1,58 @@
+package com.pleased.ticket.dispatcher.server.filter.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link AsyncLogWriter}.
+ */
+public class AsyncLogWriterTest {
+
+    @Test
+    void offer_ShouldWriteRecordsOnWriterThread() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        AsyncLogWriter<String> writer = new AsyncLogWriter<>("test", 16,
+                record -> threads.add(Thread.currentThread().getName()), new SimpleMeterRegistry());
+
+        assertTrue(writer.offer("first"));
+        assertTrue(writer.offer("second"));
+        writer.close();
+
+        assertEquals(2, threads.size());
+        assertEquals("test-writer", threads.get(0));
+    }
+
+    @Test
+    void offer_WhenQueueIsFull_ShouldDropAndCount() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        AsyncLogWriter<String> writer = new AsyncLogWriter<>("test", 1, record -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, meterRegistry);
+
+        // Blocks the writer on the first record, then fills the single slot
+        writer.offer("blocking");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.offer("queued"));
+        assertFalse(writer.offer("dropped"));
+
+        assertEquals(1.0, meterRegistry.get("http.log.dropped").tag("writer", "test").counter().count());
+        assertEquals(1.0, meterRegistry.get("http.log.queue.size").tag("writer", "test").gauge().value());
+
+        release.countDown();
+        writer.close();
+    }
+}
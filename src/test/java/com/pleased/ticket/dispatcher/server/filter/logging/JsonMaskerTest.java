@@ -0,0 +1,67 @@
+package com.pleased.ticket.dispatcher.server.filter.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link JsonMasker}.
+ */
+public class JsonMaskerTest {
+
+    private final JsonMasker masker = JsonMasker.parse("description,email,reporter.phone");
+
+    @Test
+    void mask_ShouldMaskFieldsAndCompactWhitespace() {
+        String json = "{\n  \"subject\": \"Printer\",\n  \"description\": \"Call me on \\\"555\\\"\",\n  \"priority\": 3\n}";
+
+        assertEquals("{\"subject\":\"Printer\",\"description\":\"***\",\"priority\":3}", mask(json));
+    }
+
+    @Test
+    void mask_ShouldMaskNestedValuesAtAnyDepth() {
+        String json = "{\"user\":{\"email\":{\"primary\":\"a@b.c\",\"aliases\":[\"}\"]}},\"status\":\"OPEN\"}";
+
+        assertEquals("{\"user\":{\"email\":\"***\"},\"status\":\"OPEN\"}", mask(json));
+    }
+
+    @Test
+    void mask_WithDottedPath_ShouldOnlyMaskFromRoot() {
+        String json = "[{\"reporter\":{\"phone\":123,\"name\":\"Zoë\"},\"phone\":\"555\"},"
+                + "{\"nested\":{\"reporter\":{\"phone\":\"555\"}}}]";
+
+        assertEquals("[{\"reporter\":{\"phone\":\"***\",\"name\":\"Zoë\"},\"phone\":\"555\"},"
+                + "{\"nested\":{\"reporter\":{\"phone\":\"555\"}}}]", mask(json));
+    }
+
+    @Test
+    void mask_WithTruncatedInput_ShouldMaskWhatWasCaptured() {
+        assertEquals("{\"subject\":\"Printer\",\"description\":\"***\"", mask("{\"subject\":\"Printer\",\"description\":\"Thir"));
+    }
+
+    @Test
+    void mask_WithChunkedInput_ShouldMatchSingleChunk() {
+        String json = "{\"subject\":\"Zoë's printer\",\"email\":\"zoe@example.com\",\"tags\":[\"a\",\"b\"]}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<ByteBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += 3) {
+            chunks.add(ByteBuffer.wrap(bytes, offset, Math.min(3, bytes.length - offset)));
+        }
+
+        StringBuilder chunked = new StringBuilder();
+        masker.mask(chunks, chunked);
+
+        assertEquals(mask(json), chunked.toString());
+    }
+
+    private String mask(String json) {
+        StringBuilder out = new StringBuilder();
+        masker.mask(json.getBytes(StandardCharsets.UTF_8), out);
+        return out.toString();
+    }
+}
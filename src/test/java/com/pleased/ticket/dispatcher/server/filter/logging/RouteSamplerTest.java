@@ -0,0 +1,36 @@
+package com.pleased.ticket.dispatcher.server.filter.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link RouteSampler}.
+ */
+public class RouteSamplerTest {
+
+    @Test
+    void parse_ShouldUseLongestMatchingPrefix() {
+        RouteSampler sampler = RouteSampler.parse(0.5, "/api/v1=0.1, /api/v1/tickets=0.25,/actuator=0");
+
+        assertEquals(0.25, sampler.rateFor("/api/v1/tickets/42"));
+        assertEquals(0.1, sampler.rateFor("/api/v1/projects"));
+        assertEquals(0.0, sampler.rateFor("/actuator/health"));
+        assertEquals(0.5, sampler.rateFor("/swagger-ui"));
+    }
+
+    @Test
+    void sample_WithBoundaryRates_ShouldBeDeterministic() {
+        RouteSampler sampler = RouteSampler.parse(1.0, "/actuator=0.0");
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sampler.sample("/api/v1/tickets"));
+            assertFalse(sampler.sample("/actuator/prometheus"));
+        }
+    }
+
+    @Test
+    void parse_WithMalformedRoute_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> RouteSampler.parse(1.0, "/api/v1/tickets"));
+    }
+}
@@ -0,0 +1,176 @@
+package com.pleased.ticket.dispatcher.server.repository;
+
+import com.pleased.ticket.dispatcher.server.model.api.TicketStatusEnum;
+import com.pleased.ticket.dispatcher.server.model.dto.ProjectEntity;
+import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import com.pleased.ticket.dispatcher.server.model.dto.UserEntity;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the keyset pagination of {@link TicketRepository}, against the in-memory H2 database.
+ * <p>
+ * Most tickets share the same creation time, so pages split between tickets that only differ by ID. Each listing is
+ * read page by page and must return every ticket once, in (created_at, ticket_id) order, from its
+ * (owner, created_at, ticket_id) index.
+ * <p>
+ * Profile: {@code test}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TicketRepositoryIT {
+
+    private static final int PAGE_SIZE = 2;
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2024, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID assigneeId = UUID.randomUUID();
+    private final UUID projectId = UUID.randomUUID();
+    private final Set<UUID> ticketIds = new HashSet<>();
+
+    @BeforeAll
+    void setUp() {
+        UserEntity reporter = new UserEntity();
+        reporter.setUserId(userId);
+        reporter.setEmail("reporter@example.com");
+        reporter.setName("Test Reporter");
+
+        UserEntity assignee = new UserEntity();
+        assignee.setUserId(assigneeId);
+        assignee.setEmail("assignee@example.com");
+        assignee.setName("Test Assignee");
+
+        ProjectEntity project = new ProjectEntity();
+        project.setProjectId(projectId);
+        project.setTitle("Paged Project");
+
+        userRepository.save(reporter).block();
+        userRepository.save(assignee).block();
+        projectRepository.save(project).block();
+
+        // Five tickets created at the same time, one before and one after them
+        ticketRepository.save(ticket(CREATED_AT.minusMinutes(1))).block();
+        for (int i = 0; i < 5; i++) {
+            ticketRepository.save(ticket(CREATED_AT)).block();
+        }
+        ticketRepository.save(ticket(CREATED_AT.plusMinutes(1))).block();
+    }
+
+    @Test
+    void findPageByProjectIdAfter_EqualCreationTimes_ShouldReturnEveryTicketOnce() {
+        assertKeysetOrder(readAllPages(
+                limit -> ticketRepository.findFirstPageByProjectId(projectId, limit),
+                last -> ticketRepository.findPageByProjectIdAfter(projectId, last.getCreatedAt(), last.getTicketId(), PAGE_SIZE)));
+    }
+
+    @Test
+    void findPageByUserIdAfter_EqualCreationTimes_ShouldReturnEveryTicketOnce() {
+        assertKeysetOrder(readAllPages(
+                limit -> ticketRepository.findFirstPageByUserId(userId, limit),
+                last -> ticketRepository.findPageByUserIdAfter(userId, last.getCreatedAt(), last.getTicketId(), PAGE_SIZE)));
+    }
+
+    @Test
+    void findPageByAssigneeIdAfter_EqualCreationTimes_ShouldReturnEveryTicketOnce() {
+        assertKeysetOrder(readAllPages(
+                limit -> ticketRepository.findFirstPageByAssigneeId(assigneeId, limit),
+                last -> ticketRepository.findPageByAssigneeIdAfter(assigneeId, last.getCreatedAt(), last.getTicketId(), PAGE_SIZE)));
+    }
+
+    @Test
+    void pageQueries_ShouldUseTheOwnerCreatedIndexes() {
+        assertUsesIndex("project_id", projectId, "idx_ticket_project_created");
+        assertUsesIndex("user_id", userId, "idx_ticket_user_created");
+        assertUsesIndex("assignee_id", assigneeId, "idx_ticket_assignee_created");
+    }
+
+    private List<TicketEntity> readAllPages(IntFunction<Flux<TicketEntity>> firstPage,
+                                            Function<TicketEntity, Flux<TicketEntity>> pageAfter) {
+        List<TicketEntity> tickets = new ArrayList<>();
+        List<TicketEntity> page = firstPage.apply(PAGE_SIZE).collectList().block(Duration.ofSeconds(5));
+        while (page != null && !page.isEmpty()) {
+            assertTrue(page.size() <= PAGE_SIZE);
+            tickets.addAll(page);
+            // A cursor that does not move on would page forever
+            assertTrue(tickets.size() <= ticketIds.size(), "More tickets read than saved");
+            page = pageAfter.apply(page.get(page.size() - 1)).collectList().block(Duration.ofSeconds(5));
+        }
+        return tickets;
+    }
+
+    private void assertKeysetOrder(List<TicketEntity> tickets) {
+        Set<UUID> read = new HashSet<>();
+        for (TicketEntity ticket : tickets) {
+            assertTrue(read.add(ticket.getTicketId()), "Ticket read twice: " + ticket.getTicketId());
+        }
+        assertEquals(ticketIds, read);
+        for (int i = 1; i < tickets.size(); i++) {
+            assertFalse(tickets.get(i).getCreatedAt().isBefore(tickets.get(i - 1).getCreatedAt()));
+        }
+    }
+
+    private void assertUsesIndex(String ownerColumn, UUID ownerId, String index) {
+        String firstPage = "SELECT * FROM ticket WHERE " + ownerColumn + " = :ownerId" + TicketRepository.KEYSET_ORDER;
+        String pageAfter = "SELECT * FROM ticket WHERE " + ownerColumn + " = :ownerId" + TicketRepository.AFTER_CURSOR
+                + TicketRepository.KEYSET_ORDER;
+
+        for (String query : new String[]{firstPage, pageAfter}) {
+            String plan = databaseClient.sql("EXPLAIN " + query
+                            .replace(":ownerId", "'" + ownerId + "'")
+                            .replace(":createdAt", "TIMESTAMP WITH TIME ZONE '2024-01-01 10:00:00+00:00'")
+                            .replace(":ticketId", "'" + UUID.randomUUID() + "'")
+                            .replace(":limit", String.valueOf(PAGE_SIZE)))
+                    .map(row -> row.get(0, String.class))
+                    .one()
+                    .block(Duration.ofSeconds(5));
+
+            assertNotNull(plan);
+            assertTrue(plan.toLowerCase().contains(index), "Expected " + index + " in plan: " + plan);
+        }
+    }
+
+    private TicketEntity ticket(OffsetDateTime createdAt) {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setTicketId(UUID.randomUUID());
+        ticket.setSubject("Paged Ticket");
+        ticket.setUserId(userId);
+        ticket.setAssigneeId(assigneeId);
+        ticket.setProjectId(projectId);
+        ticket.setStatus(TicketStatusEnum.OPEN.name());
+        ticket.setCreatedAt(createdAt);
+        ticketIds.add(ticket.getTicketId());
+        return ticket;
+    }
+}
@@ -0,0 +1,56 @@
+package com.pleased.ticket.dispatcher.server.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link AlgorithmDispatchingJwtDecoder}.
+ */
+public class AlgorithmDispatchingJwtDecoderTest {
+
+    private final AlgorithmDispatchingJwtDecoder decoder = new AlgorithmDispatchingJwtDecoder(decoders());
+
+    @Test
+    void decode_KnownAlgorithms_ShouldUseMatchingDecoder() {
+        assertEquals("hmac", decoder.decode(token("HS256")).block().getSubject());
+        assertEquals("jwks", decoder.decode(token("RS256")).block().getSubject());
+    }
+
+    @Test
+    void decode_UnknownAlgorithm_ShouldFail() {
+        assertThrows(BadJwtException.class, () -> decoder.decode(token("none")).block());
+    }
+
+    @Test
+    void decode_MalformedToken_ShouldFail() {
+        assertThrows(BadJwtException.class, () -> decoder.decode("garbage").block());
+        assertThrows(BadJwtException.class, () -> decoder.decode("!!!.e30.").block());
+    }
+
+    private static Map<String, ReactiveJwtDecoder> decoders() {
+        Map<String, ReactiveJwtDecoder> decoders = new HashMap<>();
+        decoders.put("HS256", token -> Mono.just(jwt(token, "hmac")));
+        decoders.put("RS256", token -> Mono.just(jwt(token, "jwks")));
+        return decoders;
+    }
+
+    private static Jwt jwt(String token, String subject) {
+        return Jwt.withTokenValue(token).header("alg", "test").subject(subject).build();
+    }
+
+    private static String token(String algorithm) {
+        String header = "{\"alg\":\"" + algorithm + "\",\"typ\":\"JWT\"}";
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(header.getBytes(StandardCharsets.UTF_8))
+                + ".e30.c2ln";
+    }
+}
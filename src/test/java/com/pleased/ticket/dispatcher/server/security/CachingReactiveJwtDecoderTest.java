@@ -0,0 +1,98 @@
+package com.pleased.ticket.dispatcher.server.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link CachingReactiveJwtDecoder}.
+ */
+public class CachingReactiveJwtDecoderTest {
+
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private final AtomicLong ticker = new AtomicLong();
+
+    @Test
+    void decode_SameTokenTwice_ShouldVerifyOnce() {
+        CachingReactiveJwtDecoder decoder = decoder(token -> Mono.just(jwt(token, Instant.now().plusSeconds(600))));
+
+        Jwt first = decoder.decode("token-a").block();
+        Jwt second = decoder.decode("token-a").block();
+
+        assertSame(first, second);
+        assertEquals(1, delegateCalls.get());
+        assertEquals(1, decoder.size());
+    }
+
+    @Test
+    void decode_AfterTokenExpiry_ShouldVerifyAgain() {
+        CachingReactiveJwtDecoder decoder = decoder(token -> Mono.just(jwt(token, Instant.now().plusSeconds(30))));
+
+        decoder.decode("token-a").block();
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        decoder.decode("token-a").block();
+
+        assertEquals(2, delegateCalls.get());
+    }
+
+    @Test
+    void decode_AfterMaxTtl_ShouldVerifyAgain() {
+        CachingReactiveJwtDecoder decoder = decoder(token -> Mono.just(jwt(token, Instant.now().plusSeconds(86400))));
+
+        decoder.decode("token-a").block();
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        decoder.decode("token-a").block();
+
+        assertEquals(2, delegateCalls.get());
+    }
+
+    @Test
+    void decode_InvalidToken_ShouldNotBeCached() {
+        CachingReactiveJwtDecoder decoder = decoder(token -> Mono.error(new BadJwtException("bad signature")));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-a").block());
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-a").block());
+
+        assertEquals(2, delegateCalls.get());
+        assertEquals(0, decoder.size());
+    }
+
+    @Test
+    void decode_DifferentTokens_ShouldNotShareEntries() {
+        CachingReactiveJwtDecoder decoder = decoder(token -> Mono.just(jwt(token, Instant.now().plusSeconds(600))));
+
+        assertEquals("token-a", decoder.decode("token-a").block().getTokenValue());
+        assertEquals("token-b", decoder.decode("token-b").block().getTokenValue());
+
+        assertEquals(2, delegateCalls.get());
+    }
+
+    private CachingReactiveJwtDecoder decoder(ReactiveJwtDecoder delegate) {
+        ReactiveJwtDecoder counting = token -> {
+            delegateCalls.incrementAndGet();
+            return delegate.decode(token);
+        };
+        return new CachingReactiveJwtDecoder(counting, 100, Duration.ofSeconds(60),
+                new SimpleMeterRegistry(), ticker::get);
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("user-1")
+                .issuedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
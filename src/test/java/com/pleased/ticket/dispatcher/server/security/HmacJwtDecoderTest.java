@@ -0,0 +1,102 @@
+package com.pleased.ticket.dispatcher.server.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link HmacJwtDecoder}.
+ */
+public class HmacJwtDecoderTest {
+
+    private static final byte[] SECRET = "a-string-secret-at-least-256-bits-long".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OTHER_SECRET = "another-secret-also-at-least-256-bits!!".getBytes(StandardCharsets.UTF_8);
+
+    private final HmacJwtDecoder decoder = new HmacJwtDecoder(SECRET);
+
+    @Test
+    void decode_ValidToken_ShouldReturnClaims() throws Exception {
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        String token = sign(JWSAlgorithm.HS256, SECRET, "user-1", expiresAt);
+
+        Jwt jwt = decoder.decode(token).block();
+
+        assertNotNull(jwt);
+        assertEquals("user-1", jwt.getSubject());
+        assertEquals("read write", jwt.getClaimAsString("scope"));
+        assertEquals(expiresAt.getEpochSecond(), jwt.getExpiresAt().getEpochSecond());
+        assertEquals("HS256", jwt.getHeaders().get("alg"));
+        assertEquals(token, jwt.getTokenValue());
+    }
+
+    @Test
+    void decode_SameThreadTwice_ShouldReuseMac() throws Exception {
+        String first = sign(JWSAlgorithm.HS256, SECRET, "user-1", Instant.now().plusSeconds(3600));
+        String second = sign(JWSAlgorithm.HS256, SECRET, "user-2", Instant.now().plusSeconds(3600));
+
+        assertEquals("user-1", decoder.verify(first).getSubject());
+        assertEquals("user-2", decoder.verify(second).getSubject());
+    }
+
+    @Test
+    void decode_WrongSecret_ShouldFail() throws Exception {
+        String token = sign(JWSAlgorithm.HS256, OTHER_SECRET, "user-1", Instant.now().plusSeconds(3600));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode(token).block());
+    }
+
+    @Test
+    void decode_TamperedPayload_ShouldFail() throws Exception {
+        String token = sign(JWSAlgorithm.HS256, SECRET, "user-1", Instant.now().plusSeconds(3600));
+        String[] parts = token.split("\\.");
+        String forged = sign(JWSAlgorithm.HS256, SECRET, "admin", Instant.now().plusSeconds(3600)).split("\\.")[1];
+
+        assertThrows(BadJwtException.class, () -> decoder.verify(parts[0] + "." + forged + "." + parts[2]));
+    }
+
+    @Test
+    void decode_ExpiredToken_ShouldFailValidation() throws Exception {
+        String token = sign(JWSAlgorithm.HS256, SECRET, "user-1", Instant.now().minusSeconds(3600));
+
+        assertThrows(JwtValidationException.class, () -> decoder.decode(token).block());
+    }
+
+    @Test
+    void decode_OtherAlgorithm_ShouldFail() throws Exception {
+        String token = sign(JWSAlgorithm.HS512, "a-string-secret-at-least-512-bits-long-a-string-secret-at-least-512"
+                .getBytes(StandardCharsets.UTF_8), "user-1", Instant.now().plusSeconds(3600));
+
+        assertThrows(BadJwtException.class, () -> decoder.verify(token));
+    }
+
+    @Test
+    void decode_MalformedToken_ShouldFail() {
+        assertThrows(BadJwtException.class, () -> decoder.verify("not-a-token"));
+        assertThrows(BadJwtException.class, () -> decoder.verify("a.b.c.d"));
+        assertThrows(BadJwtException.class, () -> decoder.verify("a.b.!!!"));
+    }
+
+    private static String sign(JWSAlgorithm algorithm, byte[] secret, String subject, Instant expiresAt) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .claim("scope", "read write")
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader(algorithm), claims);
+        signedJWT.sign(new MACSigner(secret));
+        return signedJWT.serialize();
+    }
+}
@@ -0,0 +1,147 @@
+package com.pleased.ticket.dispatcher.server.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link JwksJwtDecoder} and {@link JwksKeySource}, on a JWKS file standing in for the identity provider.
+ */
+public class JwksJwtDecoderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path jwksFile;
+    private RSAKey rsaKey;
+    private ECKey ecKey;
+    private JwksKeySource keySource;
+    private JwksJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rsaKey = new RSAKeyGenerator(2048).keyID("rsa-1").generate();
+        ecKey = new ECKeyGenerator(Curve.P_256).keyID("ec-1").generate();
+        jwksFile = tempDir.resolve("jwks.json");
+        publish(rsaKey, ecKey);
+
+        keySource = new JwksKeySource(new FileSystemResource(jwksFile), Duration.ofMinutes(5));
+        keySource.refresh();
+        decoder = new JwksJwtDecoder(keySource);
+    }
+
+    @Test
+    void decode_Rs256Token_ShouldReturnClaims() throws Exception {
+        String token = sign(JWSAlgorithm.RS256, "rsa-1", new RSASSASigner(rsaKey), Instant.now().plusSeconds(600));
+
+        Jwt jwt = decoder.decode(token).block();
+
+        assertNotNull(jwt);
+        assertEquals("user-1", jwt.getSubject());
+        assertEquals("RS256", jwt.getHeaders().get("alg"));
+    }
+
+    @Test
+    void decode_Es256Token_ShouldReturnClaims() throws Exception {
+        String token = sign(JWSAlgorithm.ES256, "ec-1", new ECDSASigner(ecKey), Instant.now().plusSeconds(600));
+
+        assertEquals("user-1", decoder.verify(token).getSubject());
+    }
+
+    @Test
+    void decode_UnknownKeyId_ShouldFail() throws Exception {
+        RSAKey otherKey = new RSAKeyGenerator(2048).keyID("rsa-2").generate();
+        String token = sign(JWSAlgorithm.RS256, "rsa-2", new RSASSASigner(otherKey), Instant.now().plusSeconds(600));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode(token).block());
+    }
+
+    @Test
+    void decode_SignedWithOtherKeyUnderKnownId_ShouldFail() throws Exception {
+        RSAKey otherKey = new RSAKeyGenerator(2048).keyID("rsa-1").generate();
+        String token = sign(JWSAlgorithm.RS256, "rsa-1", new RSASSASigner(otherKey), Instant.now().plusSeconds(600));
+
+        assertThrows(BadJwtException.class, () -> decoder.verify(token));
+    }
+
+    @Test
+    void decode_AlgorithmNotMatchingKey_ShouldFail() throws Exception {
+        // EC signature presented under the RSA key
+        String token = sign(JWSAlgorithm.ES256, "rsa-1", new ECDSASigner(ecKey), Instant.now().plusSeconds(600));
+
+        assertThrows(BadJwtException.class, () -> decoder.verify(token));
+    }
+
+    @Test
+    void decode_ExpiredToken_ShouldFailValidation() throws Exception {
+        String token = sign(JWSAlgorithm.RS256, "rsa-1", new RSASSASigner(rsaKey), Instant.now().minusSeconds(600));
+
+        assertThrows(JwtValidationException.class, () -> decoder.verify(token));
+    }
+
+    @Test
+    void refresh_RotatedKeys_ShouldAcceptNewKey() throws Exception {
+        RSAKey rotatedKey = new RSAKeyGenerator(2048).keyID("rsa-2").generate();
+        String token = sign(JWSAlgorithm.RS256, "rsa-2", new RSASSASigner(rotatedKey), Instant.now().plusSeconds(600));
+        publish(rotatedKey);
+
+        keySource.refresh();
+
+        assertEquals(1, keySource.size());
+        assertEquals("user-1", decoder.verify(token).getSubject());
+    }
+
+    @Test
+    void refresh_UnreadableSource_ShouldFail() throws Exception {
+        Files.delete(jwksFile);
+
+        assertThrows(RuntimeException.class, () -> keySource.refresh());
+        // Previous keys are still there
+        assertEquals(2, keySource.size());
+    }
+
+    private void publish(JWK... keys) throws Exception {
+        // Public parts only, as served by an identity provider
+        String json = new JWKSet(Arrays.asList(keys)).toString(true);
+        Files.write(jwksFile, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sign(JWSAlgorithm algorithm, String keyId, JWSSigner signer, Instant expiresAt) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("user-1")
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader.Builder(algorithm).keyID(keyId).build(), claims);
+        signedJWT.sign(signer);
+        return signedJWT.serialize();
+    }
+}
@@ -0,0 +1,64 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link ImportJobRegistry}.
+ */
+public class ImportJobRegistryTest {
+
+    private final ImportJobRegistry registry = new ImportJobRegistry(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void start_NewJobId_ShouldRegisterRunningJob() {
+        UUID jobId = UUID.randomUUID();
+
+        Optional<ImportJob> job = registry.start(jobId, userId);
+
+        assertTrue(job.isPresent());
+        assertEquals(ImportJob.State.RUNNING, job.get().getState());
+        assertSame(job.get(), registry.get(jobId, userId).orElse(null));
+    }
+
+    @Test
+    void start_TakenJobId_ShouldBeEmpty() {
+        UUID jobId = UUID.randomUUID();
+        ImportJob first = registry.start(jobId, userId).orElse(null);
+
+        assertFalse(registry.start(jobId, userId).isPresent());
+        assertSame(first, registry.get(jobId, userId).orElse(null));
+    }
+
+    @Test
+    void get_UnknownJobId_ShouldBeEmpty() {
+        assertFalse(registry.get(UUID.randomUUID(), userId).isPresent());
+    }
+
+    @Test
+    void get_JobOfAnotherUser_ShouldBeEmpty() {
+        UUID jobId = UUID.randomUUID();
+        registry.start(jobId, userId);
+
+        assertFalse(registry.get(jobId, UUID.randomUUID()).isPresent());
+    }
+
+    @Test
+    void fail_CompletedJob_ShouldKeepCompletedState() {
+        ImportJob job = registry.start(UUID.randomUUID(), userId).orElse(null);
+        assertNotNull(job);
+
+        job.complete();
+        job.fail("Too late");
+
+        assertEquals(ImportJob.State.COMPLETED, job.getState());
+        assertNull(job.getError());
+    }
+}
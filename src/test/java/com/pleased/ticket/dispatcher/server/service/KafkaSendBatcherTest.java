@@ -0,0 +1,170 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.exception.EventPublishingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for {@link KafkaSendBatcher}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class KafkaSendBatcherTest {
+
+    private static final String REJECTED_TOPIC = "rejected";
+
+    @Mock
+    private ReactiveKafkaProducerTemplate<ByteBuffer, Object> reactiveKafkaTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Integer> sentBatchSizes = new CopyOnWriteArrayList<>();
+    private final AtomicLong offsets = new AtomicLong();
+    private KafkaSendBatcher batcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(reactiveKafkaTemplate.send(any(Publisher.class))).thenAnswer(invocation -> {
+            Publisher<SenderRecord<ByteBuffer, Object, Object>> records = invocation.getArgument(0);
+            return Flux.from(records)
+                    .collectList()
+                    .doOnNext(batch -> sentBatchSizes.add(batch.size()))
+                    .flatMapMany(Flux::fromIterable)
+                    .map(this::result);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.stop();
+        }
+    }
+
+    @Test
+    void send_FullBatch_ShouldSendOnceAndCompleteEachCaller() {
+        batcher = new KafkaSendBatcher(reactiveKafkaTemplate, 3, Duration.ofSeconds(30), 100, meterRegistry);
+        batcher.start();
+
+        StepVerifier.create(Flux.merge(
+                        batcher.send(record("first")).map(RecordMetadata::topic),
+                        batcher.send(record("second")).map(RecordMetadata::topic),
+                        batcher.send(record("third")).map(RecordMetadata::topic))
+                        .collectList())
+                .assertNext(topics -> assertTrue(topics.containsAll(Arrays.asList("first", "second", "third"))))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, sentBatchSizes.size());
+        assertEquals(3, sentBatchSizes.get(0));
+        assertEquals(3.0, meterRegistry.get("kafka.producer.batch.size").summary().totalAmount());
+        assertEquals(3, meterRegistry.get("kafka.producer.batch.queue.delay").timer().count());
+    }
+
+    @Test
+    void send_PartialBatch_ShouldFlushAfterMaxDelay() {
+        batcher = new KafkaSendBatcher(reactiveKafkaTemplate, 100, Duration.ofMillis(20), 100, meterRegistry);
+        batcher.start();
+
+        StepVerifier.create(batcher.send(record("first")))
+                .assertNext(metadata -> assertEquals("first", metadata.topic()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, sentBatchSizes.get(0));
+        assertEquals(0.0, meterRegistry.get("kafka.producer.batch.queued").gauge().value());
+    }
+
+    @Test
+    void send_RecordRejected_ShouldFailOnlyThatCaller() {
+        batcher = new KafkaSendBatcher(reactiveKafkaTemplate, 2, Duration.ofSeconds(30), 100, meterRegistry);
+        batcher.start();
+
+        Mono<RecordMetadata> rejected = batcher.send(record(REJECTED_TOPIC)).cache();
+        Mono<RecordMetadata> accepted = batcher.send(record("accepted")).cache();
+        rejected.subscribe(metadata -> { }, error -> { });
+
+        StepVerifier.create(accepted)
+                .assertNext(metadata -> assertEquals("accepted", metadata.topic()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(rejected)
+                .expectErrorMessage("Record rejected")
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void send_QueueFull_ShouldFailRightAway() {
+        // Not started, the queued record stays queued
+        batcher = new KafkaSendBatcher(reactiveKafkaTemplate, 10, Duration.ofSeconds(30), 1, meterRegistry);
+        batcher.send(record("first")).subscribe(metadata -> { }, error -> { });
+
+        StepVerifier.create(batcher.send(record("second")))
+                .expectError(EventPublishingException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1.0, meterRegistry.get("kafka.producer.batch.queued").gauge().value());
+        verifyNoInteractions(reactiveKafkaTemplate);
+    }
+
+    @Test
+    void send_ConcurrentCallers_ShouldQueueEveryRecord() {
+        batcher = new KafkaSendBatcher(reactiveKafkaTemplate, 16, Duration.ofMillis(10), 1000, meterRegistry);
+        batcher.start();
+
+        StepVerifier.create(Flux.range(0, 500)
+                        .parallel(8)
+                        .runOn(Schedulers.parallel())
+                        .flatMap(i -> batcher.send(record("topic-" + i)))
+                        .sequential()
+                        .count())
+                .expectNext(500L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+
+        assertEquals(500, sentBatchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    private static ProducerRecord<ByteBuffer, Object> record(String topic) {
+        return new ProducerRecord<>(topic, ByteBuffer.wrap(topic.getBytes()), topic);
+    }
+
+    @SuppressWarnings("unchecked")
+    private SenderResult<Object> result(SenderRecord<ByteBuffer, Object, Object> record) {
+        SenderResult<Object> result = mock(SenderResult.class);
+        lenient().when(result.correlationMetadata()).thenReturn(record.correlationMetadata());
+        if (REJECTED_TOPIC.equals(record.topic())) {
+            lenient().when(result.exception()).thenReturn(new IllegalStateException("Record rejected"));
+        } else {
+            lenient().when(result.recordMetadata()).thenReturn(
+                    new RecordMetadata(new TopicPartition(record.topic(), 0), offsets.getAndIncrement(), 0, 0L, 0, 0));
+        }
+        return result;
+    }
+}
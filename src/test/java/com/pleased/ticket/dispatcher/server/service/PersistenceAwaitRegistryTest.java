@@ -0,0 +1,71 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link PersistenceAwaitRegistry}.
+ */
+public class PersistenceAwaitRegistryTest {
+
+    private final PersistenceAwaitRegistry registry = new PersistenceAwaitRegistry(2, new SimpleMeterRegistry());
+
+    @Test
+    void await_PersistedWhileWaiting_ShouldCompleteTrue() {
+        UUID eventId = UUID.randomUUID();
+        assertTrue(registry.expect(eventId));
+
+        StepVerifier.create(registry.await(eventId, Duration.ofSeconds(5)))
+                .then(() -> registry.persisted(eventId))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void await_PersistedBeforeWaiting_ShouldCompleteTrue() {
+        UUID eventId = UUID.randomUUID();
+        registry.expect(eventId);
+        registry.persisted(eventId);
+
+        assertEquals(true, registry.await(eventId, Duration.ofSeconds(5)).block());
+    }
+
+    @Test
+    void await_NotPersisted_ShouldCompleteFalseOnTimeout() {
+        UUID eventId = UUID.randomUUID();
+        registry.expect(eventId);
+
+        assertEquals(false, registry.await(eventId, Duration.ofMillis(20)).block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void await_NotExpected_ShouldCompleteFalse() {
+        assertEquals(false, registry.await(UUID.randomUUID(), Duration.ofSeconds(5)).block());
+    }
+
+    @Test
+    void expect_BeyondMaxPending_ShouldBeRefused() {
+        assertTrue(registry.expect(UUID.randomUUID()));
+        assertTrue(registry.expect(UUID.randomUUID()));
+
+        assertFalse(registry.expect(UUID.randomUUID()));
+    }
+
+    @Test
+    void forget_ExpectedEvent_ShouldReleaseIt() {
+        UUID eventId = UUID.randomUUID();
+        registry.expect(eventId);
+        assertFalse(registry.expect(eventId));
+
+        registry.forget(eventId);
+
+        assertEquals(0, registry.size());
+        assertTrue(registry.expect(eventId));
+    }
+}
@@ -0,0 +1,117 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.model.api.ProjectEvent;
+import com.pleased.ticket.dispatcher.server.model.api.ProjectEventTypeEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link ProjectEventFeed}.
+ */
+public class ProjectEventFeedTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void publish_ToSubscribedProject_ShouldReachEverySubscriberOfThatProjectOnly() {
+        ProjectEventFeed feed = new ProjectEventFeed(16, ProjectEventFeed.Overflow.DROP_OLDEST, meterRegistry);
+        UUID projectId = UUID.randomUUID();
+        ProjectEvent event = event(projectId);
+
+        StepVerifier.create(feed.subscribe(projectId).take(1).mergeWith(feed.subscribe(projectId).take(1)))
+                .then(() -> {
+                    feed.publish(event(UUID.randomUUID()));
+                    feed.publish(event);
+                })
+                .expectNext(event, event)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void subscribe_LastSubscriberCancelled_ShouldReleaseProject() {
+        ProjectEventFeed feed = new ProjectEventFeed(16, ProjectEventFeed.Overflow.DROP_OLDEST, meterRegistry);
+        UUID projectId = UUID.randomUUID();
+
+        Disposable first = feed.subscribe(projectId).subscribe();
+        Disposable second = feed.subscribe(projectId).subscribe();
+        assertTrue(feed.hasSubscribers());
+        assertEquals(2, feed.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("tickets.feed.projects").gauge().value());
+
+        first.dispose();
+        assertTrue(feed.hasSubscribers());
+        second.dispose();
+
+        assertFalse(feed.hasSubscribers());
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    void publish_SlowSubscriberWithDropOldest_ShouldKeepNewestEvents() {
+        ProjectEventFeed feed = new ProjectEventFeed(2, ProjectEventFeed.Overflow.DROP_OLDEST, meterRegistry);
+        UUID projectId = UUID.randomUUID();
+        ProjectEvent first = event(projectId);
+        ProjectEvent second = event(projectId);
+        ProjectEvent third = event(projectId);
+
+        StepVerifier.create(feed.subscribe(projectId), 0)
+                .then(() -> {
+                    feed.publish(first);
+                    feed.publish(second);
+                    feed.publish(third);
+                })
+                .thenRequest(2)
+                .expectNext(second, third)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1.0, meterRegistry.get("tickets.feed.dropped").counter().count());
+    }
+
+    @Test
+    void publish_SlowSubscriberWithDisconnect_ShouldCompleteSubscription() {
+        ProjectEventFeed feed = new ProjectEventFeed(2, ProjectEventFeed.Overflow.DISCONNECT, meterRegistry);
+        UUID projectId = UUID.randomUUID();
+
+        StepVerifier.create(feed.subscribe(projectId), 0)
+                .then(() -> {
+                    feed.publish(event(projectId));
+                    feed.publish(event(projectId));
+                    feed.publish(event(projectId));
+                })
+                .thenRequest(10)
+                .thenConsumeWhile(event -> true)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1.0, meterRegistry.get("tickets.feed.disconnected").counter().count());
+        assertFalse(feed.hasSubscribers());
+    }
+
+    @Test
+    void close_WithSubscribers_ShouldCompleteThem() {
+        ProjectEventFeed feed = new ProjectEventFeed(16, ProjectEventFeed.Overflow.DROP_OLDEST, meterRegistry);
+
+        StepVerifier.create(feed.subscribe(UUID.randomUUID()))
+                .then(feed::close)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private static ProjectEvent event(UUID projectId) {
+        ProjectEvent event = new ProjectEvent();
+        event.setEventId(UUID.randomUUID());
+        event.setType(ProjectEventTypeEnum.TICKET_CREATED);
+        event.setProjectId(projectId);
+        event.setTicketId(UUID.randomUUID());
+        return event;
+    }
+}
@@ -0,0 +1,115 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import com.pleased.ticket.dispatcher.server.repository.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for {@link TicketCache}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TicketCacheTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private final AtomicLong ticker = new AtomicLong();
+
+    private TicketCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TicketCache(ticketRepository, 100, Duration.ofMinutes(5), Duration.ofSeconds(5),
+                new SimpleMeterRegistry(), ticker::get);
+    }
+
+    @Test
+    void get_SameTicketTwice_ShouldLoadOnce() {
+        TicketEntity ticket = ticket();
+        when(ticketRepository.findById(ticket.getTicketId())).thenReturn(Mono.just(ticket));
+
+        assertSame(ticket, cache.get(ticket.getTicketId()).block());
+        assertSame(ticket, cache.get(ticket.getTicketId()).block());
+
+        verify(ticketRepository, times(1)).findById(ticket.getTicketId());
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShouldShareOneLoad() {
+        TicketEntity ticket = ticket();
+        Sinks.One<TicketEntity> load = Sinks.one();
+        when(ticketRepository.findById(ticket.getTicketId())).thenReturn(load.asMono());
+
+        CompletableFuture<TicketEntity> first = cache.get(ticket.getTicketId()).toFuture();
+        CompletableFuture<TicketEntity> second = cache.get(ticket.getTicketId()).toFuture();
+        assertFalse(first.isDone());
+
+        load.tryEmitValue(ticket);
+
+        assertSame(ticket, first.join());
+        assertSame(ticket, second.join());
+        verify(ticketRepository, times(1)).findById(ticket.getTicketId());
+    }
+
+    @Test
+    void get_UnknownTicket_ShouldCacheNotFoundForShorterTtl() {
+        UUID ticketId = UUID.randomUUID();
+        when(ticketRepository.findById(ticketId)).thenReturn(Mono.empty());
+
+        assertNull(cache.get(ticketId).block());
+        assertNull(cache.get(ticketId).block());
+        verify(ticketRepository, times(1)).findById(ticketId);
+
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertNull(cache.get(ticketId).block());
+        verify(ticketRepository, times(2)).findById(ticketId);
+    }
+
+    @Test
+    void get_AfterInvalidate_ShouldLoadAgain() {
+        TicketEntity ticket = ticket();
+        when(ticketRepository.findById(ticket.getTicketId())).thenReturn(Mono.just(ticket));
+
+        cache.get(ticket.getTicketId()).block();
+        cache.invalidate(ticket.getTicketId());
+        cache.get(ticket.getTicketId()).block();
+
+        verify(ticketRepository, times(2)).findById(ticket.getTicketId());
+    }
+
+    @Test
+    void get_FailedLoad_ShouldNotBeCached() {
+        UUID ticketId = UUID.randomUUID();
+        when(ticketRepository.findById(ticketId)).thenReturn(Mono.error(new IllegalStateException("db down")));
+
+        assertThrows(IllegalStateException.class, () -> cache.get(ticketId).block());
+        assertThrows(IllegalStateException.class, () -> cache.get(ticketId).block());
+
+        verify(ticketRepository, times(2)).findById(ticketId);
+        assertEquals(0, cache.size());
+    }
+
+    private static TicketEntity ticket() {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setTicketId(UUID.randomUUID());
+        ticket.setSubject("Printer");
+        ticket.setStatus("OPEN");
+        return ticket;
+    }
+}
@@ -0,0 +1,192 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.exception.ConflictException;
+import com.pleased.ticket.dispatcher.server.model.api.TicketStatusEnum;
+import com.pleased.ticket.dispatcher.server.model.dto.ProjectEntity;
+import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import com.pleased.ticket.dispatcher.server.model.dto.UserEntity;
+import com.pleased.ticket.dispatcher.server.model.rest.TicketResponse;
+import com.pleased.ticket.dispatcher.server.repository.ProjectRepository;
+import com.pleased.ticket.dispatcher.server.repository.TicketRepository;
+import com.pleased.ticket.dispatcher.server.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for {@link TicketCounters}, against the in-memory H2 database.
+ * <p>
+ * Each test counts its own project and users, the counters are not started so changes are only written on
+ * {@link TicketCounters#flush()}. Rebuilds have no quiet period unless a test sets one.
+ * <p>
+ * Profile: {@code test}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class TicketCountersIT {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private TicketCounters ticketCounters;
+    private UUID userId;
+    private UUID assigneeId;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        ticketCounters = new TicketCounters(databaseClient, transactionalOperator, Duration.ofSeconds(1), Duration.ZERO);
+        userId = UUID.randomUUID();
+        assigneeId = UUID.randomUUID();
+        projectId = UUID.randomUUID();
+
+        UserEntity reporter = new UserEntity();
+        reporter.setUserId(userId);
+        reporter.setEmail("reporter@example.com");
+        reporter.setName("Test Reporter");
+
+        UserEntity assignee = new UserEntity();
+        assignee.setUserId(assigneeId);
+        assignee.setEmail("assignee@example.com");
+        assignee.setName("Test Assignee");
+
+        ProjectEntity project = new ProjectEntity();
+        project.setProjectId(projectId);
+        project.setTitle("Counted Project");
+
+        userRepository.save(reporter).block();
+        userRepository.save(assignee).block();
+        projectRepository.save(project).block();
+    }
+
+    @Test
+    void flush_CreatedAndChangedTickets_ShouldWriteCounts() {
+        TicketEntity first = ticket(TicketResponse.StatusEnum.OPEN.toString());
+        TicketEntity second = ticket(TicketResponse.StatusEnum.OPEN.toString());
+        ticketCounters.created(first);
+        ticketCounters.created(second);
+
+        second.setAssigneeId(assigneeId);
+        ticketCounters.changed(second.getStatus(), null, second);
+        second.setStatus(TicketStatusEnum.IN_PROGRESS.name());
+        ticketCounters.changed(TicketResponse.StatusEnum.OPEN.toString(), assigneeId, second);
+
+        StepVerifier.create(ticketCounters.flush().then(ticketCounters.getProjectCounts(projectId)))
+                .assertNext(counts -> {
+                    assertEquals(projectId, counts.getOwnerId());
+                    assertEquals(1, counts.getOpen());
+                    assertEquals(1, counts.getInProgress());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(ticketCounters.getAssigneeCounts(assigneeId))
+                .assertNext(counts -> {
+                    assertEquals(0, counts.getOpen());
+                    assertEquals(1, counts.getInProgress());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void flush_TicketClosed_ShouldNoLongerCountIt() {
+        TicketEntity ticket = ticket(TicketStatusEnum.IN_PROGRESS.name());
+        ticketCounters.created(ticket);
+        StepVerifier.create(ticketCounters.flush()).verifyComplete();
+
+        ticket.setStatus(TicketStatusEnum.CLOSED.name());
+        ticketCounters.changed(TicketStatusEnum.IN_PROGRESS.name(), null, ticket);
+
+        StepVerifier.create(ticketCounters.flush().then(ticketCounters.getProjectCounts(projectId)))
+                .assertNext(counts -> {
+                    assertEquals(0, counts.getOpen());
+                    assertEquals(0, counts.getInProgress());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void rebuild_CountsDrifted_ShouldRecomputeThemFromTickets() {
+        TicketEntity open = ticket(TicketResponse.StatusEnum.OPEN.toString());
+        TicketEntity inProgress = ticket(TicketStatusEnum.IN_PROGRESS.name());
+        inProgress.setAssigneeId(assigneeId);
+        TicketEntity closed = ticket(TicketStatusEnum.CLOSED.name());
+        ticketRepository.save(open).block();
+        ticketRepository.save(inProgress).block();
+        ticketRepository.save(closed).block();
+
+        // Never counted, as if the node consuming it died before a flush
+        StepVerifier.create(ticketCounters.getProjectCounts(projectId))
+                .assertNext(counts -> assertEquals(0, counts.getOpen()))
+                .verifyComplete();
+
+        StepVerifier.create(ticketCounters.rebuild().then(ticketCounters.getProjectCounts(projectId)))
+                .assertNext(counts -> {
+                    assertEquals(1, counts.getOpen());
+                    assertEquals(1, counts.getInProgress());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(ticketCounters.getAssigneeCounts(assigneeId))
+                .assertNext(counts -> {
+                    assertEquals(0, counts.getOpen());
+                    assertEquals(1, counts.getInProgress());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void rebuild_ChangesNotFlushed_ShouldBeRefused() {
+        ticketCounters.created(ticket(TicketResponse.StatusEnum.OPEN.toString()));
+
+        StepVerifier.create(ticketCounters.rebuild())
+                .expectError(ConflictException.class)
+                .verify();
+    }
+
+    @Test
+    void rebuild_FlushedWithinQuietPeriod_ShouldBeRefused() {
+        ticketCounters.created(ticket(TicketResponse.StatusEnum.OPEN.toString()));
+        StepVerifier.create(ticketCounters.flush()).verifyComplete();
+        TicketCounters otherNode = new TicketCounters(databaseClient, transactionalOperator, Duration.ofSeconds(1),
+                Duration.ofMinutes(1));
+
+        StepVerifier.create(otherNode.rebuild())
+                .expectError(ConflictException.class)
+                .verify();
+    }
+
+    private TicketEntity ticket(String status) {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setTicketId(UUID.randomUUID());
+        ticket.setSubject("Counted Ticket");
+        ticket.setDescription("Counted Description");
+        ticket.setUserId(userId);
+        ticket.setProjectId(projectId);
+        ticket.setStatus(status);
+        ticket.setCreatedAt(OffsetDateTime.now());
+        return ticket;
+    }
+}
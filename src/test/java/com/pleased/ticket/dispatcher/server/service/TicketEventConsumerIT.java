@@ -2,18 +2,20 @@ package com.pleased.ticket.dispatcher.server.service;
 
 import com.pleased.ticket.dispatcher.server.config.KafkaTopicConfig;
 import com.pleased.ticket.dispatcher.server.exception.EntityNotFoundException;
+import com.pleased.ticket.dispatcher.server.model.api.TicketPriorityEnum;
 import com.pleased.ticket.dispatcher.server.model.api.TicketStatusEnum;
 import com.pleased.ticket.dispatcher.server.model.dto.ProjectEntity;
 import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
 import com.pleased.ticket.dispatcher.server.model.dto.UserEntity;
 import com.pleased.ticket.dispatcher.server.model.events.TicketAssigned;
 import com.pleased.ticket.dispatcher.server.model.events.TicketCreated;
+import com.pleased.ticket.dispatcher.server.model.events.TicketDetailsUpdated;
 import com.pleased.ticket.dispatcher.server.model.events.TicketStatusUpdated;
 import com.pleased.ticket.dispatcher.server.model.rest.TicketResponse;
 import com.pleased.ticket.dispatcher.server.repository.ProjectRepository;
 import com.pleased.ticket.dispatcher.server.repository.TicketRepository;
 import com.pleased.ticket.dispatcher.server.repository.UserRepository;
-import com.pleased.ticket.dispatcher.server.util.mapper.UUIDConverter;
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -24,7 +26,9 @@ import org.springframework.test.context.ActiveProfiles;
 import reactor.test.StepVerifier;
 
 import java.nio.ByteBuffer;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,6 +42,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  *     <li>{@link com.pleased.ticket.dispatcher.server.model.events.TicketCreated}</li>
  *     <li>{@link com.pleased.ticket.dispatcher.server.model.events.TicketAssigned}</li>
  *     <li>{@link com.pleased.ticket.dispatcher.server.model.events.TicketStatusUpdated}</li>
+ *     <li>{@link com.pleased.ticket.dispatcher.server.model.events.TicketDetailsUpdated}</li>
  * </ul>
  * <p>
  * Uses an in-memory H2 database with reactive repositories. All tests have the same
@@ -46,8 +51,10 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Scenarios covered:
  * <ul>
  *     <li>Ticket creation persists new ticket</li>
+ *     <li>A duplicate ticket creation is skipped</li>
  *     <li>Ticket assignment updates assignee and timestamp</li>
  *     <li>Status update modifies the ticket state correctly</li>
+ *     <li>Details update changes only the fields carried by the event</li>
  *     <li>Handles not-found cases by throwing {@link EntityNotFoundException}</li>
  * </ul>
  * <p>
@@ -135,12 +142,12 @@ public class TicketEventConsumerIT {
 
         // Create a ticket event
         TicketCreated event = TicketCreated.newBuilder()
-                .setTicketId(UUIDConverter.uuidToBytes(newTicket))
+                .setTicketId(UUIDCodec.toByteBuffer(newTicket))
                 .setSubject("Test Ticket")
                 .setDescription("This is a test ticket")
-                .setUserId(UUIDConverter.uuidToBytes(userId))
-                .setProjectId(UUIDConverter.uuidToBytes(projectId))
-                .setEventId(UUIDConverter.uuidToBytes(UUID.randomUUID()))
+                .setUserId(UUIDCodec.toByteBuffer(userId))
+                .setProjectId(UUIDCodec.toByteBuffer(projectId))
+                .setEventId(UUIDCodec.toByteBuffer(UUID.randomUUID()))
                 .setCreatedAt(OffsetDateTime.now().toInstant())
                 .build();
 
@@ -148,7 +155,7 @@ public class TicketEventConsumerIT {
                 KafkaTopicConfig.TICKET_CREATE_TOPIC,
                 0,
                 0L,
-                UUIDConverter.uuidToBytes(newTicket),
+                UUIDCodec.toByteBuffer(newTicket),
                 event
         );
         // Act
@@ -171,6 +178,40 @@ public class TicketEventConsumerIT {
                 .verifyComplete();
     }
 
+    @Test
+    void handleTicketCreated_SameEventTwice_ShouldSkipTheDuplicate() {
+
+        UUID newTicket = UUID.randomUUID();
+        TicketCreated event = TicketCreated.newBuilder()
+                .setTicketId(UUIDCodec.toByteBuffer(newTicket))
+                .setSubject("Republished Ticket")
+                .setDescription("This ticket is published twice")
+                .setUserId(UUIDCodec.toByteBuffer(userId))
+                .setProjectId(UUIDCodec.toByteBuffer(projectId))
+                .setEventId(UUIDCodec.toByteBuffer(newTicket))
+                .setCreatedAt(OffsetDateTime.now().toInstant())
+                .build();
+
+        ConsumerRecord<ByteBuffer, TicketCreated> record = new ConsumerRecord<>(
+                KafkaTopicConfig.TICKET_CREATE_TOPIC,
+                0,
+                0L,
+                UUIDCodec.toByteBuffer(newTicket),
+                event
+        );
+        StepVerifier.create(ticketEventConsumer.handleTicketCreated(record))
+                .verifyComplete();
+
+        // Act - a redelivery or a republished item completes without a second row
+        StepVerifier.create(ticketEventConsumer.handleTicketCreated(record))
+                .verifyComplete();
+
+        // Assert
+        StepVerifier.create(ticketRepository.findById(newTicket))
+                .assertNext(savedTicket -> assertThat(savedTicket.getSubject()).isEqualTo("Republished Ticket"))
+                .verifyComplete();
+    }
+
     @Test
     void handleTicketAssigned_ShouldUpdateTicketInDatabase() {
 
@@ -178,9 +219,9 @@ public class TicketEventConsumerIT {
         OffsetDateTime now = OffsetDateTime.now();
 
         TicketAssigned event = TicketAssigned.newBuilder()
-                .setTicketId(UUIDConverter.uuidToBytes(ticketId))
-                .setAssigneeId(UUIDConverter.uuidToBytes(assigneeId))
-                .setEventId(UUIDConverter.uuidToBytes(UUID.randomUUID()))
+                .setTicketId(UUIDCodec.toByteBuffer(ticketId))
+                .setAssigneeId(UUIDCodec.toByteBuffer(assigneeId))
+                .setEventId(UUIDCodec.toByteBuffer(UUID.randomUUID()))
                 .setAssignedAt(now.toInstant())
                 .build();
 
@@ -188,7 +229,7 @@ public class TicketEventConsumerIT {
                 KafkaTopicConfig.TICKET_ASSIGNMENTS_TOPIC,
                 0,
                 0L,
-                UUIDConverter.uuidToBytes(ticketId),
+                UUIDCodec.toByteBuffer(ticketId),
                 event
         );
         // Act
@@ -216,9 +257,9 @@ public class TicketEventConsumerIT {
         OffsetDateTime now = OffsetDateTime.now();
 
         TicketStatusUpdated event = TicketStatusUpdated.newBuilder()
-                .setTicketId(UUIDConverter.uuidToBytes(ticketId))
+                .setTicketId(UUIDCodec.toByteBuffer(ticketId))
                 .setStatus(newStatus)
-                .setEventId(UUIDConverter.uuidToBytes(UUID.randomUUID()))
+                .setEventId(UUIDCodec.toByteBuffer(UUID.randomUUID()))
                 .setUpdatedAt(now.toInstant())
                 .build();
 
@@ -226,7 +267,7 @@ public class TicketEventConsumerIT {
                 KafkaTopicConfig.TICKET_UPDATES_TOPIC,
                 0,
                 0L,
-                UUIDConverter.uuidToBytes(ticketId),
+                UUIDCodec.toByteBuffer(ticketId),
                 event
         );
         // Act
@@ -253,16 +294,16 @@ public class TicketEventConsumerIT {
         UUID assigneeId = UUID.randomUUID();
 
         TicketAssigned event = TicketAssigned.newBuilder()
-                .setTicketId(UUIDConverter.uuidToBytes(ticketId))
-                .setAssigneeId(UUIDConverter.uuidToBytes(assigneeId))
-                .setEventId(UUIDConverter.uuidToBytes(UUID.randomUUID()))
+                .setTicketId(UUIDCodec.toByteBuffer(ticketId))
+                .setAssigneeId(UUIDCodec.toByteBuffer(assigneeId))
+                .setEventId(UUIDCodec.toByteBuffer(UUID.randomUUID()))
                 .setAssignedAt(OffsetDateTime.now().toInstant())
                 .build();
         ConsumerRecord<ByteBuffer, TicketAssigned> record = new ConsumerRecord<>(
                 KafkaTopicConfig.TICKET_ASSIGNMENTS_TOPIC,
                 0,
                 0L,
-                UUIDConverter.uuidToBytes(ticketId),
+                UUIDCodec.toByteBuffer(ticketId),
                 event
         );
 
@@ -285,16 +326,16 @@ public class TicketEventConsumerIT {
         String newStatus = "CLOSED";
 
         TicketStatusUpdated event = TicketStatusUpdated.newBuilder()
-                .setTicketId(UUIDConverter.uuidToBytes(ticketId))
+                .setTicketId(UUIDCodec.toByteBuffer(ticketId))
                 .setStatus(newStatus)
-                .setEventId(UUIDConverter.uuidToBytes(UUID.randomUUID()))
+                .setEventId(UUIDCodec.toByteBuffer(UUID.randomUUID()))
                 .setUpdatedAt(OffsetDateTime.now().toInstant())
                 .build();
         ConsumerRecord<ByteBuffer, TicketStatusUpdated> record = new ConsumerRecord<>(
                 KafkaTopicConfig.TICKET_UPDATES_TOPIC,
                 0,
                 0L,
-                UUIDConverter.uuidToBytes(ticketId),
+                UUIDCodec.toByteBuffer(ticketId),
                 event
         );
 
@@ -309,4 +350,74 @@ public class TicketEventConsumerIT {
         StepVerifier.create(ticketRepository.findById(ticketId))
                 .verifyComplete();
     }
+
+    @Test
+    void handleTicketDetailsUpdated_ShouldUpdateOnlyChangedColumns() {
+        // Create details event changing priority and due date only
+        OffsetDateTime now = OffsetDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDate dueDate = LocalDate.now().plusDays(7);
+
+        TicketDetailsUpdated event = TicketDetailsUpdated.newBuilder()
+                .setTicketId(UUIDCodec.toByteBuffer(ticketId))
+                .setEventId(UUIDCodec.toByteBuffer(UUID.randomUUID()))
+                .setPriority(TicketPriorityEnum.URGENT.name())
+                .setDueDate(dueDate)
+                .setUpdatedAt(now.toInstant())
+                .build();
+
+        ConsumerRecord<ByteBuffer, TicketDetailsUpdated> record = new ConsumerRecord<>(
+                KafkaTopicConfig.TICKET_DETAILS_TOPIC,
+                0,
+                0L,
+                UUIDCodec.toByteBuffer(ticketId),
+                event
+        );
+        // Act
+        StepVerifier.create(ticketEventConsumer.handleTicketDetailsUpdated(record))
+                .verifyComplete();
+
+        // Assert - Query real database
+        StepVerifier.create(ticketRepository.findById(ticketId))
+                .assertNext(updatedTicket -> {
+                    assertThat(updatedTicket.getPriority()).isEqualTo(TicketPriorityEnum.URGENT.getLevel());
+                    assertThat(updatedTicket.getDueDate()).isEqualTo(dueDate);
+                    assertThat(updatedTicket.getUpdatedAt()).isEqualTo(now);
+                    assertThat(updatedTicket.getSubject()).isEqualTo("Test Ticket");
+                    assertThat(updatedTicket.getDescription()).isEqualTo("Test Description");
+                    assertThat(updatedTicket.getUserId()).isEqualTo(userId);
+                    assertThat(updatedTicket.getProjectId()).isEqualTo(projectId);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void handleTicketDetailsUpdated_ShouldHandleTicketNotFound() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+
+        TicketDetailsUpdated event = TicketDetailsUpdated.newBuilder()
+                .setTicketId(UUIDCodec.toByteBuffer(ticketId))
+                .setEventId(UUIDCodec.toByteBuffer(UUID.randomUUID()))
+                .setSubject("Renamed")
+                .setUpdatedAt(OffsetDateTime.now().toInstant())
+                .build();
+        ConsumerRecord<ByteBuffer, TicketDetailsUpdated> record = new ConsumerRecord<>(
+                KafkaTopicConfig.TICKET_DETAILS_TOPIC,
+                0,
+                0L,
+                UUIDCodec.toByteBuffer(ticketId),
+                event
+        );
+
+        // Act & Assert - Use StepVerifier to test reactive error handling
+        StepVerifier.create(ticketEventConsumer.handleTicketDetailsUpdated(record))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof EntityNotFoundException &&
+                                throwable.getMessage().equals("Ticket not found: " + ticketId))
+                .verify();
+
+        // Verify that no ticket was created
+        StepVerifier.create(ticketRepository.findById(ticketId))
+                .verifyComplete();
+    }
 }
\ No newline at end of file
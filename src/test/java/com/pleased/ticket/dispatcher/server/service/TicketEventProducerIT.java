@@ -6,7 +6,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.pleased.ticket.dispatcher.server.config.KafkaTopicConfig;
 import com.pleased.ticket.dispatcher.server.config.TestKafkaConfig;
 import com.pleased.ticket.dispatcher.server.model.events.TicketCreated;
-import com.pleased.ticket.dispatcher.server.util.mapper.UUIDConverter;
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -106,13 +106,13 @@ public class TicketEventProducerIT {
         OffsetDateTime now = OffsetDateTime.now();
 
         TicketCreated event = TicketCreated.newBuilder()
-                .setTicketId(UUIDConverter.uuidToBytes(ticketId))
+                .setTicketId(UUIDCodec.toByteBuffer(ticketId))
                 .setSubject("Test Ticket")
                 .setDescription("This is a test ticket")
-                .setUserId(UUIDConverter.uuidToBytes(userId))
-                .setProjectId(UUIDConverter.uuidToBytes(projectId))
+                .setUserId(UUIDCodec.toByteBuffer(userId))
+                .setProjectId(UUIDCodec.toByteBuffer(projectId))
 //                .setCorrelationId(correlationId)
-                .setEventId(UUIDConverter.uuidToBytes(eventId))
+                .setEventId(UUIDCodec.toByteBuffer(eventId))
                 .setCreatedAt(now.toInstant())
                 .build();
 
@@ -0,0 +1,153 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.exception.EntityNotFoundException;
+import com.pleased.ticket.dispatcher.server.model.api.TicketAPIResponse;
+import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import com.pleased.ticket.dispatcher.server.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for {@link TicketQueryService}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TicketQueryServiceTest {
+
+    @Mock
+    private TicketCache ticketCache;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketSearchIndex ticketSearchIndex;
+
+    private TicketQueryService ticketQueryService;
+
+    @BeforeEach
+    void setUp() {
+        ticketQueryService = new TicketQueryService(ticketCache, ticketRepository, ticketSearchIndex);
+    }
+
+    @Test
+    void getTicket_CachedTicket_ShouldMapPriorityName() {
+        TicketEntity ticket = ticket();
+        when(ticketCache.get(ticket.getTicketId())).thenReturn(Mono.just(ticket));
+
+        TicketAPIResponse response = ticketQueryService.getTicket(ticket.getTicketId()).block();
+
+        assertNotNull(response);
+        assertEquals(ticket.getTicketId(), response.getTicketID());
+        assertEquals("HIGH", response.getPriority());
+        assertEquals(ticket.getCreatedAt(), response.getCreatedAt());
+    }
+
+    @Test
+    void getTicket_UnknownTicket_ShouldFailWithNotFound() {
+        UUID ticketId = UUID.randomUUID();
+        when(ticketCache.get(ticketId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(ticketQueryService.getTicket(ticketId))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getProjectTickets_WithoutCursor_ShouldReadFirstPage() {
+        UUID projectId = UUID.randomUUID();
+        TicketEntity ticket = ticket();
+        when(ticketRepository.findFirstPageByProjectId(projectId, 50)).thenReturn(Flux.just(ticket));
+
+        StepVerifier.create(ticketQueryService.getProjectTickets(projectId, null, null, 50))
+                .assertNext(response -> assertEquals(ticket.getTicketId(), response.getTicketID()))
+                .verifyComplete();
+
+        verify(ticketRepository, never()).findPageByProjectIdAfter(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getReportedTickets_WithCursor_ShouldReadPageAfterCursor() {
+        UUID userId = UUID.randomUUID();
+        OffsetDateTime afterCreatedAt = OffsetDateTime.of(2025, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        UUID afterTicketId = UUID.randomUUID();
+        when(ticketRepository.findPageByUserIdAfter(userId, afterCreatedAt, afterTicketId, 10))
+                .thenReturn(Flux.just(ticket(), ticket()));
+
+        StepVerifier.create(ticketQueryService.getReportedTickets(userId, afterCreatedAt, afterTicketId, 10))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(ticketRepository, never()).findFirstPageByUserId(any(), anyInt());
+    }
+
+    @Test
+    void getAssignedTickets_WithCursor_ShouldReadPageAfterCursor() {
+        UUID assigneeId = UUID.randomUUID();
+        OffsetDateTime afterCreatedAt = OffsetDateTime.of(2025, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        UUID afterTicketId = UUID.randomUUID();
+        when(ticketRepository.findPageByAssigneeIdAfter(assigneeId, afterCreatedAt, afterTicketId, 10))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(ticketQueryService.getAssignedTickets(assigneeId, afterCreatedAt, afterTicketId, 10))
+                .verifyComplete();
+
+        verify(ticketRepository, never()).findFirstPageByAssigneeId(any(), anyInt());
+    }
+
+    @Test
+    void searchTickets_FoundTickets_ShouldKeepIndexOrderAndDropOtherProjects() {
+        UUID projectId = UUID.randomUUID();
+        TicketEntity newest = ticket();
+        newest.setProjectId(projectId);
+        TicketEntity oldest = ticket();
+        oldest.setProjectId(projectId);
+        TicketEntity moved = ticket();
+        moved.setProjectId(UUID.randomUUID());
+        List<UUID> found = Arrays.asList(newest.getTicketId(), moved.getTicketId(), oldest.getTicketId());
+        when(ticketSearchIndex.search(projectId, "printer", 10)).thenReturn(found);
+        when(ticketRepository.findAllById(found)).thenReturn(Flux.just(oldest, moved, newest));
+
+        StepVerifier.create(ticketQueryService.searchTickets(projectId, "printer", 10))
+                .assertNext(response -> assertEquals(newest.getTicketId(), response.getTicketID()))
+                .assertNext(response -> assertEquals(oldest.getTicketId(), response.getTicketID()))
+                .verifyComplete();
+    }
+
+    @Test
+    void searchTickets_NothingFound_ShouldNotReadTickets() {
+        UUID projectId = UUID.randomUUID();
+        when(ticketSearchIndex.search(projectId, "printer", 10)).thenReturn(Collections.emptyList());
+
+        StepVerifier.create(ticketQueryService.searchTickets(projectId, "printer", 10))
+                .verifyComplete();
+
+        verifyNoInteractions(ticketRepository);
+    }
+
+    private static TicketEntity ticket() {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setTicketId(UUID.randomUUID());
+        ticket.setSubject("Printer");
+        ticket.setPriority(3);
+        ticket.setStatus("OPEN");
+        ticket.setCreatedAt(OffsetDateTime.of(2025, 1, 1, 9, 0, 0, 0, ZoneOffset.UTC));
+        return ticket;
+    }
+}
@@ -0,0 +1,126 @@
+package com.pleased.ticket.dispatcher.server.service;
+
+import com.pleased.ticket.dispatcher.server.model.dto.TicketEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link TicketSearchIndex}.
+ */
+public class TicketSearchIndexTest {
+
+    @TempDir
+    Path snapshotDirectory;
+
+    private final UUID projectId = UUID.randomUUID();
+
+    @Test
+    void tokenize_MixedText_ShouldKeepDistinctLowerCaseTerms() {
+        assertEquals(Arrays.asList("printer", "on", "floor", "is", "jammed"),
+                Arrays.asList(TicketSearchIndex.tokenize("Printer on floor 3 is JAMMED, printer!").toArray()));
+    }
+
+    @Test
+    void search_SeveralWords_ShouldMatchTicketsHoldingEveryWordNewestFirst() {
+        TicketSearchIndex index = index();
+        TicketEntity first = ticket("Printer jammed", "Paper stuck in tray 2");
+        TicketEntity second = ticket("Printer offline", null);
+        TicketEntity third = ticket("Scanner", "The printer next to it is jammed too");
+        index.index(first);
+        index.index(second);
+        index.index(third);
+
+        assertEquals(Arrays.asList(third.getTicketId(), first.getTicketId()), index.search(projectId, "JAMMED printer", 10));
+        assertEquals(Collections.singletonList(third.getTicketId()), index.search(projectId, "printer", 1));
+        assertEquals(Collections.emptyList(), index.search(projectId, "printer toner", 10));
+    }
+
+    @Test
+    void search_OtherProject_ShouldFindNothing() {
+        TicketSearchIndex index = index();
+        index.index(ticket("Printer jammed", null));
+
+        assertEquals(Collections.emptyList(), index.search(UUID.randomUUID(), "printer", 10));
+        assertEquals(Collections.emptyList(), index.search(projectId, " ,. ", 10));
+    }
+
+    @Test
+    void index_SameTicketAgain_ShouldReplaceItsTerms() {
+        TicketSearchIndex index = index();
+        TicketEntity ticket = ticket("Printer jammed", null);
+        index.index(ticket);
+
+        ticket.setSubject("Scanner jammed");
+        index.index(ticket);
+
+        assertEquals(Collections.emptyList(), index.search(projectId, "printer", 10));
+        assertEquals(Collections.singletonList(ticket.getTicketId()), index.search(projectId, "scanner jammed", 10));
+    }
+
+    @Test
+    void index_ManyUpdates_ShouldCompactAndKeepSearching() {
+        TicketSearchIndex index = index();
+        TicketEntity stable = ticket("Printer jammed", null);
+        TicketEntity edited = ticket("Printer draft", null);
+        index.index(stable);
+        for (int i = 0; i < 500; i++) {
+            edited.setDescription("Revision " + i);
+            index.index(edited);
+        }
+
+        assertEquals(Arrays.asList(edited.getTicketId(), stable.getTicketId()), index.search(projectId, "printer", 10));
+        assertEquals(Collections.singletonList(edited.getTicketId()), index.search(projectId, "revision 499", 10));
+        assertEquals(Collections.emptyList(), index.search(projectId, "revision 498", 10));
+    }
+
+    @Test
+    void readSnapshot_WrittenIndex_ShouldSearchTheSame() {
+        TicketSearchIndex index = index();
+        TicketEntity first = ticket("Printer jammed", null);
+        TicketEntity second = ticket("Printer offline", null);
+        index.index(first);
+        index.index(second);
+        second.setSubject("Scanner offline");
+        index.index(second);
+        Instant before = Instant.now().minusSeconds(1);
+
+        index.writeSnapshot();
+        TicketSearchIndex restored = index();
+        Instant takenAt = restored.readSnapshot();
+
+        assertNotNull(takenAt);
+        assertTrue(takenAt.isAfter(before));
+        List<UUID> found = restored.search(projectId, "printer", 10);
+        assertEquals(Collections.singletonList(first.getTicketId()), found);
+        assertEquals(Collections.singletonList(second.getTicketId()), restored.search(projectId, "scanner", 10));
+    }
+
+    @Test
+    void readSnapshot_NoSnapshot_ShouldReturnNull() {
+        assertNull(index().readSnapshot());
+    }
+
+    private TicketSearchIndex index() {
+        return new TicketSearchIndex(null, snapshotDirectory.resolve("ticket-search.idx"), Duration.ofMinutes(5),
+                Duration.ofMinutes(5));
+    }
+
+    private TicketEntity ticket(String subject, String description) {
+        TicketEntity ticket = new TicketEntity();
+        ticket.setTicketId(UUID.randomUUID());
+        ticket.setProjectId(projectId);
+        ticket.setSubject(subject);
+        ticket.setDescription(description);
+        return ticket;
+    }
+}
@@ -1,11 +1,16 @@
 package com.pleased.ticket.dispatcher.server.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pleased.ticket.dispatcher.server.filter.idempotency.InMemoryIdempotencyStore;
 import com.pleased.ticket.dispatcher.server.model.api.*;
 import com.pleased.ticket.dispatcher.server.model.events.TicketAssigned;
 import com.pleased.ticket.dispatcher.server.model.events.TicketCreated;
+import com.pleased.ticket.dispatcher.server.model.events.TicketDetailsUpdated;
 import com.pleased.ticket.dispatcher.server.model.events.TicketStatusUpdated;
 import com.pleased.ticket.dispatcher.server.util.mapper.EventMapperImpl;
-import com.pleased.ticket.dispatcher.server.util.mapper.UUIDConverter;
+import com.pleased.ticket.dispatcher.server.util.mapper.UUIDCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,13 +19,21 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.annotation.Import;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderResult;
+import reactor.util.function.Tuple2;
 
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
@@ -38,23 +51,32 @@ public class TicketsApiServiceTest {
     @Captor
     private ArgumentCaptor<TicketCreated> ticketCreatedCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<TicketCreated>> ticketCreatedListCaptor;
+
     @Captor
     private ArgumentCaptor<TicketAssigned> ticketAssignedCaptor;
 
     @Captor
     private ArgumentCaptor<TicketStatusUpdated> ticketStatusUpdatedCaptor;
 
+    @Captor
+    private ArgumentCaptor<TicketDetailsUpdated> ticketDetailsUpdatedCaptor;
+
     private TicketsApiService ticketsApiService;
 
     @BeforeEach
     void setUp() {
         EventMapperImpl eventMapper = new EventMapperImpl();
-        ticketsApiService = new TicketsApiService(eventProducer, eventMapper);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ticketsApiService = new TicketsApiService(eventProducer, eventMapper, new TicketCreateIdempotency(
+                new InMemoryIdempotencyStore(100, Duration.ofMinutes(5), new SimpleMeterRegistry()), objectMapper));
 
         // Setup default behavior for mocks with lenient to allow unused stubbings
         lenient().when(eventProducer.publishTicketCreated(any(), any())).thenReturn(Mono.empty());
         lenient().when(eventProducer.publishTicketAssigned(any(), any())).thenReturn(Mono.empty());
         lenient().when(eventProducer.publishTicketStatusUpdated(any(), any())).thenReturn(Mono.empty());
+        lenient().when(eventProducer.publishTicketDetailsUpdated(any(), any())).thenReturn(Mono.empty());
     }
 
     @Test
@@ -86,14 +108,173 @@ public class TicketsApiServiceTest {
 
         verify(eventProducer).publishTicketCreated(ticketCreatedCaptor.capture(), eq(correlationId));
         TicketCreated capturedEvent = ticketCreatedCaptor.getValue();
-        assertEquals(ticketId, UUIDConverter.bytesToUUID(capturedEvent.getTicketId()));
+        assertEquals(ticketId, UUIDCodec.fromBytes(capturedEvent.getTicketId()));
         assertEquals(request.getSubject(), capturedEvent.getSubject());
         assertEquals(request.getDescription(), capturedEvent.getDescription());
-        assertEquals(request.getUserId(), UUIDConverter.bytesToUUID(capturedEvent.getUserId()));
-        assertEquals(ticketId, UUIDConverter.bytesToUUID(capturedEvent.getEventId()));
+        assertEquals(request.getUserId(), UUIDCodec.fromBytes(capturedEvent.getUserId()));
+        assertEquals(ticketId, UUIDCodec.fromBytes(capturedEvent.getEventId()));
         assertNotNull(capturedEvent.getCreatedAt());
     }
 
+    @Test
+    void createTickets_WithFailedRecord_ShouldReportEachItemInRequestOrder() {
+        // Arrange
+        UUID correlationId = UUID.randomUUID();
+        List<TicketCreateAPIRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TicketCreateAPIRequest request = new TicketCreateAPIRequest();
+            request.setIdempotencyKey(UUID.randomUUID());
+            request.setCorrelationID(correlationId);
+            request.setSubject("Test Ticket " + i);
+            request.setDescription("This is a test ticket");
+            request.setUserId(UUID.randomUUID());
+            request.setProjectId(UUID.randomUUID());
+            requests.add(request);
+        }
+
+        // Results complete out of order, the second record fails
+        Flux<SenderResult<Integer>> sendResults = Flux.just(
+                senderResult(2, null),
+                senderResult(0, null),
+                senderResult(1, new RuntimeException("Test error")));
+        when(eventProducer.publishTicketsCreated(anyList(), eq(correlationId))).thenReturn(sendResults);
+
+        // Act
+        List<TicketBatchItemAPIResult> results = ticketsApiService.createTickets(requests).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(requests.get(i).getIdempotencyKey(), results.get(i).getIdempotencyKey());
+        }
+        assertEquals(requests.get(0).getSubject(), results.get(0).getTicket().getSubject());
+        assertEquals(requests.get(2).getIdempotencyKey(), results.get(2).getTicket().getTicketID());
+        assertNull(results.get(1).getTicket());
+        assertTrue(results.get(1).getError().contains("Test error"));
+
+        verify(eventProducer).publishTicketsCreated(ticketCreatedListCaptor.capture(), eq(correlationId));
+        assertEquals(3, ticketCreatedListCaptor.getValue().size());
+        assertEquals(requests.get(1).getIdempotencyKey(),
+                UUIDCodec.fromBytes(ticketCreatedListCaptor.getValue().get(1).getTicketId()));
+    }
+
+    @Test
+    void createTickets_KeyUsedByEarlierRequest_ShouldReplayTicketWithoutPublishingAgain() {
+        // Arrange
+        TicketCreateAPIRequest request = new TicketCreateAPIRequest();
+        request.setIdempotencyKey(UUID.randomUUID());
+        request.setSubject("Test Ticket");
+        request.setUserId(UUID.randomUUID());
+        request.setProjectId(UUID.randomUUID());
+        when(eventProducer.publishTicketsCreated(anyList(), any())).thenReturn(Flux.just(senderResult(0, null)));
+        TicketBatchItemAPIResult first = ticketsApiService.createTickets(Collections.singletonList(request))
+                .block(Duration.ofSeconds(5)).get(0);
+
+        // Act
+        TicketBatchItemAPIResult replayed = ticketsApiService.createTickets(Collections.singletonList(request))
+                .block(Duration.ofSeconds(5)).get(0);
+
+        // Assert
+        verify(eventProducer, times(1)).publishTicketsCreated(anyList(), any());
+        assertNull(replayed.getError());
+        assertEquals(request.getIdempotencyKey(), replayed.getTicket().getTicketID());
+        assertEquals(first.getTicket().getCreatedAt().toInstant(), replayed.getTicket().getCreatedAt().toInstant());
+        assertEquals(request.getSubject(), replayed.getTicket().getSubject());
+    }
+
+    @Test
+    void importTickets_WithFailedRecord_ShouldCountAndComplete() {
+        // Arrange
+        UUID correlationId = UUID.randomUUID();
+        ImportJob job = new ImportJob(UUID.randomUUID(), UUID.randomUUID());
+        UUID failingKey = UUID.randomUUID();
+        Flux<TicketCreateAPIRequest> requests = Flux.just(UUID.randomUUID(), failingKey, UUID.randomUUID())
+                .map(key -> {
+                    TicketCreateAPIRequest request = new TicketCreateAPIRequest();
+                    request.setIdempotencyKey(key);
+                    request.setSubject("Imported Ticket");
+                    request.setDescription("This is an imported ticket");
+                    request.setUserId(UUID.randomUUID());
+                    request.setProjectId(UUID.randomUUID());
+                    job.accepted();
+                    return request;
+                });
+
+        // Each event is sent as requested, the second one is rejected
+        when(eventProducer.publishTicketsCreated(any(Flux.class), eq(correlationId))).thenAnswer(invocation -> {
+            Flux<Tuple2<TicketCreated, TicketAPIResponse>> events = invocation.getArgument(0);
+            return events.map(event -> senderResult(event.getT2(),
+                    failingKey.equals(event.getT2().getTicketID()) ? new RuntimeException("Test error") : null));
+        });
+
+        // Act
+        ImportJob result = ticketsApiService.importTickets(job, requests, correlationId).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertSame(job, result);
+        assertEquals(ImportJob.State.COMPLETED, job.getState());
+        assertEquals(3, job.getAccepted());
+        assertEquals(2, job.getPublished());
+        assertEquals(1, job.getFailed());
+        assertNotNull(job.getCompletedAt());
+        assertNull(job.getError());
+    }
+
+    @Test
+    void importTickets_RepeatedKeys_ShouldPublishEachKeyOnce() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID key = UUID.randomUUID();
+        List<TicketCreateAPIRequest> lines = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            TicketCreateAPIRequest request = new TicketCreateAPIRequest();
+            request.setIdempotencyKey(key);
+            request.setSubject("Imported Ticket");
+            request.setUserId(userId);
+            request.setProjectId(UUID.randomUUID());
+            lines.add(request);
+        }
+        List<TicketCreated> published = new ArrayList<>();
+        when(eventProducer.publishTicketsCreated(any(Flux.class), any())).thenAnswer(invocation -> {
+            Flux<Tuple2<TicketCreated, TicketAPIResponse>> events = invocation.getArgument(0);
+            return events.doOnNext(event -> published.add(event.getT1()))
+                    .map(event -> senderResult(event.getT2(), null));
+        });
+
+        // Act - the key repeats within the file, then the file is imported again under another job
+        ImportJob first = ticketsApiService.importTickets(new ImportJob(UUID.randomUUID(), userId),
+                Flux.fromIterable(lines), null).block(Duration.ofSeconds(5));
+        ImportJob rerun = ticketsApiService.importTickets(new ImportJob(UUID.randomUUID(), userId),
+                Flux.fromIterable(lines), null).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(1, published.size());
+        assertEquals(1, first.getPublished());
+        assertEquals(1, first.getFailed());
+        assertEquals(1, rerun.getPublished());
+        assertEquals(1, rerun.getFailed());
+    }
+
+    @Test
+    void importTickets_WhenStreamBreaks_ShouldFailJob() {
+        // Arrange
+        ImportJob job = new ImportJob(UUID.randomUUID(), UUID.randomUUID());
+        when(eventProducer.publishTicketsCreated(any(Flux.class), any())).thenAnswer(invocation -> {
+            Flux<Tuple2<TicketCreated, TicketAPIResponse>> events = invocation.getArgument(0);
+            return events.map(event -> senderResult(event.getT2(), null));
+        });
+
+        // Act
+        ImportJob result = ticketsApiService.importTickets(job, Flux.error(new IllegalStateException("Line too long")),
+                null).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(ImportJob.State.FAILED, result.getState());
+        assertTrue(result.getError().contains("Line too long"));
+    }
+
     @Test
     void assignTicket_ShouldAssignTicketAndPublishEvent() {
         // Arrange
@@ -119,9 +300,9 @@ public class TicketsApiServiceTest {
 
         verify(eventProducer).publishTicketAssigned(ticketAssignedCaptor.capture(),  eq(correlationId));
         TicketAssigned capturedEvent = ticketAssignedCaptor.getValue();
-        assertEquals(ticketId,UUIDConverter.bytesToUUID( capturedEvent.getTicketId()));
-        assertEquals(assigneeId, UUIDConverter.bytesToUUID(capturedEvent.getAssigneeId()));
-        assertEquals(idempotencyKey, UUIDConverter.bytesToUUID(capturedEvent.getEventId()));
+        assertEquals(ticketId,UUIDCodec.fromBytes( capturedEvent.getTicketId()));
+        assertEquals(assigneeId, UUIDCodec.fromBytes(capturedEvent.getAssigneeId()));
+        assertEquals(idempotencyKey, UUIDCodec.fromBytes(capturedEvent.getEventId()));
         assertNotNull(capturedEvent.getAssignedAt());
     }
 
@@ -150,9 +331,46 @@ public class TicketsApiServiceTest {
 
         verify(eventProducer).publishTicketStatusUpdated(ticketStatusUpdatedCaptor.capture(), eq(correlationId));
         TicketStatusUpdated capturedEvent = ticketStatusUpdatedCaptor.getValue();
-        assertEquals(ticketId, UUIDConverter.bytesToUUID(capturedEvent.getTicketId()));
+        assertEquals(ticketId, UUIDCodec.fromBytes(capturedEvent.getTicketId()));
         assertEquals(newStatus, capturedEvent.getStatus());
-        assertEquals(idempotencyKey,UUIDConverter.bytesToUUID( capturedEvent.getEventId()));
+        assertEquals(idempotencyKey,UUIDCodec.fromBytes( capturedEvent.getEventId()));
+        assertNotNull(capturedEvent.getUpdatedAt());
+    }
+
+    @Test
+    void updateTicketDetails_WithPartialRequest_ShouldPublishOnlyChangedFields() {
+        // Arrange
+        UUID ticketId = UUID.randomUUID();
+        UUID correlationId = UUID.randomUUID();
+        UUID idempotencyKey = UUID.randomUUID();
+        LocalDate dueDate = LocalDate.of(2026, 1, 31);
+
+        TicketDetailsAPIRequest request = new TicketDetailsAPIRequest();
+        request.setTicketID(ticketId);
+        request.setPriority(TicketPriorityEnum.HIGH.name());
+        request.setDueDate(dueDate);
+        request.setCorrelationID(correlationId);
+        request.setIdempotencyKey(idempotencyKey);
+
+        // Act
+        TicketAPIResponse response = ticketsApiService.updateTicketDetails(request).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(ticketId, response.getTicketID());
+        assertEquals("HIGH", response.getPriority());
+        assertEquals(dueDate, response.getDueDate());
+        assertNotNull(response.getUpdatedAt());
+
+        verify(eventProducer).publishTicketDetailsUpdated(ticketDetailsUpdatedCaptor.capture(), eq(correlationId));
+        TicketDetailsUpdated capturedEvent = ticketDetailsUpdatedCaptor.getValue();
+        assertEquals(ticketId, UUIDCodec.fromBytes(capturedEvent.getTicketId()));
+        assertEquals(idempotencyKey, UUIDCodec.fromBytes(capturedEvent.getEventId()));
+        assertEquals("HIGH", capturedEvent.getPriority());
+        assertEquals(dueDate, capturedEvent.getDueDate());
+        assertNull(capturedEvent.getSubject());
+        assertNull(capturedEvent.getDescription());
+        assertNull(capturedEvent.getNotify());
         assertNotNull(capturedEvent.getUpdatedAt());
     }
 
@@ -178,4 +396,12 @@ public class TicketsApiServiceTest {
 
         verify(eventProducer).publishTicketCreated(any(), any());
     }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SenderResult<T> senderResult(T metadata, Exception exception) {
+        SenderResult<T> result = mock(SenderResult.class);
+        lenient().when(result.correlationMetadata()).thenReturn(metadata);
+        lenient().when(result.exception()).thenReturn(exception);
+        return result;
+    }
 }
@@ -0,0 +1,47 @@
+package com.pleased.ticket.dispatcher.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link Murmur3Hasher}, against the reference MurmurHash3 x64 128-bit vectors.
+ */
+public class Murmur3HasherTest {
+
+    private static final String FOX = "The quick brown fox jumps over the lazy dog";
+
+    @Test
+    void hashHex_ShouldMatchReferenceVectors() {
+        assertEquals("00000000000000000000000000000000", Murmur3Hasher.hashHex(new byte[0]));
+        assertEquals("67f8103e694299624753ebba820bdb92", Murmur3Hasher.hashHex(bytes("hell")));
+        assertEquals("6c1b07bc7bbc4be347939ac4a93c437a", Murmur3Hasher.hashHex(bytes(FOX)));
+    }
+
+    @Test
+    void update_InChunks_ShouldMatchSinglePassHash() {
+        byte[] input = bytes(FOX);
+        Murmur3Hasher hasher = new Murmur3Hasher();
+        for (int offset = 0; offset < input.length; offset += 5) {
+            hasher.update(ByteBuffer.wrap(input, offset, Math.min(5, input.length - offset)));
+        }
+
+        assertEquals(Murmur3Hasher.hashHex(input), hasher.hashHex());
+    }
+
+    @Test
+    void update_ShouldNotMoveBufferPosition() {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes(FOX));
+
+        new Murmur3Hasher().update(buffer);
+
+        assertEquals(0, buffer.position());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
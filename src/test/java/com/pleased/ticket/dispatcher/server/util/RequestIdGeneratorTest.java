@@ -0,0 +1,44 @@
+package com.pleased.ticket.dispatcher.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link RequestIdGenerator}.
+ */
+public class RequestIdGeneratorTest {
+
+    @Test
+    void next_ShouldReturnVersion7Uuid() {
+        String requestId = RequestIdGenerator.next();
+        UUID uuid = UUID.fromString(requestId);
+
+        assertEquals(uuid.toString(), requestId);
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void next_ShouldBeOrderedByCreationTime() throws InterruptedException {
+        String first = RequestIdGenerator.next();
+        Thread.sleep(2);
+        String second = RequestIdGenerator.next();
+
+        assertTrue(first.compareTo(second) < 0);
+    }
+
+    @Test
+    void next_ShouldBeUnique() {
+        Set<String> requestIds = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            requestIds.add(RequestIdGenerator.next());
+        }
+
+        assertEquals(10_000, requestIds.size());
+    }
+}
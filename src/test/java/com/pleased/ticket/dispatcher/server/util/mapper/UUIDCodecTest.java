@@ -0,0 +1,71 @@
+package com.pleased.ticket.dispatcher.server.util.mapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for {@link UUIDCodec}.
+ */
+public class UUIDCodecTest {
+
+    @Test
+    void format_ShouldMatchJdk() {
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = UUID.randomUUID();
+            assertEquals(uuid.toString(), UUIDCodec.format(uuid));
+        }
+        assertEquals("ffffffff-ffff-ffff-ffff-ffffffffffff", UUIDCodec.format(new UUID(-1L, -1L)));
+        assertEquals("00000000-0000-0000-0000-000000000000", UUIDCodec.format(new UUID(0L, 0L)));
+    }
+
+    @Test
+    void parse_CanonicalText_ShouldMatchJdk() {
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = UUID.randomUUID();
+            assertEquals(uuid, UUIDCodec.parse(uuid.toString()));
+            assertEquals(uuid, UUIDCodec.parse(uuid.toString().toUpperCase()));
+        }
+    }
+
+    @Test
+    void parse_InvalidText_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> UUIDCodec.parse("not-a-valid-uuid"));
+        assertThrows(IllegalArgumentException.class, () -> UUIDCodec.parse("00000000-0000-0000-0000-00000000000g"));
+        assertThrows(IllegalArgumentException.class, () -> UUIDCodec.parse("000000000000-0000-0000-0000000000000"));
+        assertThrows(IllegalArgumentException.class, () -> UUIDCodec.parse("0000000é-0000-0000-0000-000000000000"));
+    }
+
+    @Test
+    void bytes_RoundTrip_ShouldBeBigEndian() {
+        UUID uuid = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+
+        byte[] bytes = UUIDCodec.toByteArray(uuid);
+
+        assertEquals(0x00, bytes[0]);
+        assertEquals((byte) 0xff, bytes[15]);
+        assertEquals(uuid, UUIDCodec.fromBytes(bytes));
+        assertEquals(uuid, UUIDCodec.fromBytes(UUIDCodec.toByteBuffer(uuid)));
+    }
+
+    @Test
+    void fromBytes_ShouldNotMoveBufferPosition() {
+        UUID uuid = UUID.randomUUID();
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+        UUIDCodec.write(uuid, buffer, 4);
+        buffer.position(4);
+
+        assertEquals(uuid, UUIDCodec.fromBytes(buffer));
+        assertEquals(uuid, UUIDCodec.fromBytes(buffer));
+        assertEquals(4, buffer.position());
+    }
+
+    @Test
+    void fromBytes_TooShort_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> UUIDCodec.fromBytes(new byte[15]));
+        assertThrows(IllegalArgumentException.class, () -> UUIDCodec.fromBytes(ByteBuffer.allocate(8)));
+    }
+}